@@ -0,0 +1,36 @@
+#!/bin/bash
+# Builds the game and the JMH benchmarks in benchmarks/src, then runs the benchmarks
+# JMH and the libraries it needs are downloaded into benchmarks/lib the first time this is run
+# any arguments are passed on to JMH, for example:
+#   benchmarks/run.sh CollisionBenchmark            (runs only the benchmarks matching a name)
+#   benchmarks/run.sh -prof gc                      (also reports how much each benchmark allocates)
+#   benchmarks/run.sh -rf json -rff before.json     (saves the results so they can be compared after a change)
+set -e
+
+# benchmarks are run from the project's root directory, since that's where the game looks for its map files and resources
+cd "$(dirname "$0")/.."
+
+JMH_VERSION=1.37
+LIB_DIR=benchmarks/lib
+OUT_DIR=benchmarks/out
+MAVEN_CENTRAL=https://repo1.maven.org/maven2
+
+mkdir -p "$LIB_DIR"
+for jar in \
+    "org/openjdk/jmh/jmh-core/$JMH_VERSION/jmh-core-$JMH_VERSION.jar" \
+    "org/openjdk/jmh/jmh-generator-annprocess/$JMH_VERSION/jmh-generator-annprocess-$JMH_VERSION.jar" \
+    "net/sf/jopt-simple/jopt-simple/5.0.4/jopt-simple-5.0.4.jar" \
+    "org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar"; do
+    if [ ! -f "$LIB_DIR/$(basename "$jar")" ]; then
+        echo "Downloading $(basename "$jar")"
+        curl -sSfL -o "$LIB_DIR/$(basename "$jar")" "$MAVEN_CENTRAL/$jar"
+    fi
+done
+
+rm -rf "$OUT_DIR"
+mkdir -p "$OUT_DIR"
+javac -nowarn -d "$OUT_DIR" $(find src -name "*.java")
+# JMH's annotation processor (in jmh-generator-annprocess) generates the code that actually runs each benchmark while these are compiled
+javac -nowarn -cp "$OUT_DIR:$LIB_DIR/*" -d "$OUT_DIR" $(find benchmarks/src -name "*.java")
+
+java -Djava.awt.headless=true -cp "$OUT_DIR:$LIB_DIR/*" org.openjdk.jmh.Main "$@"
@@ -0,0 +1,52 @@
+package Benchmarks;
+
+import Engine.ImageLoader;
+import GameObject.AnimatedSprite;
+import GameObject.SpriteSheet;
+import Players.Joe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Benchmarks AnimatedSprite.update, which every sprite on the map runs once per update to move its animation along
+// the sprite uses the player's real animations: update plays through the walking animation, and updateChangingAnimation
+// switches between standing and walking every call (which is the slower path, since the new animation has to be started over)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class AnimatedSpriteBenchmark {
+    private AnimatedSprite sprite;
+    private boolean isWalking;
+
+    @Setup
+    public void setup() {
+        SpriteSheet spriteSheet = new SpriteSheet(ImageLoader.load("combinedJoe.png"), 24, 24);
+        sprite = new AnimatedSprite(0, 0, new Joe(0, 0).loadAnimations(spriteSheet), "WALK_RIGHT");
+    }
+
+    @Benchmark
+    public int update() {
+        sprite.update();
+        return sprite.getCurrentFrameIndex();
+    }
+
+    @Benchmark
+    public int updateChangingAnimation() {
+        isWalking = !isWalking;
+        sprite.setCurrentAnimationName(isWalking ? "WALK_RIGHT" : "STAND_RIGHT");
+        sprite.update();
+        return sprite.getCurrentFrameIndex();
+    }
+}
@@ -0,0 +1,64 @@
+package Benchmarks;
+
+import Level.Camera;
+import Level.Map;
+import Players.Joe;
+import Utils.Point;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Benchmarks the camera updating the map's entities for one update (finding which ones are near enough to be active and updating each of them),
+// with the map's first wave of enemies spawned and the player standing where it starts
+// the map is reset before each iteration so enemies that wander off or die partway through don't carry over into the next one
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class CameraBenchmark {
+    @Param({ "map1", "map2", "map3", "stress" })
+    public String mapName;
+
+    private Map map;
+    private Camera camera;
+    private Joe player;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Fixtures.initializeScreen();
+        map = Fixtures.loadMap(mapName);
+        camera = map.getCamera();
+        Point playerStartPosition = map.getPlayerStartPosition();
+        player = Fixtures.createPlayerOnGround(map, playerStartPosition.x, playerStartPosition.y);
+    }
+
+    // the map updating once moves the camera over to the player (the stress map's player doesn't start at the left edge of the map like the others)
+    @Setup(Level.Iteration)
+    public void resetMap() {
+        map.reset();
+        map.update(player);
+        camera = map.getCamera();
+    }
+
+    // spawns and removals queued while entities were updating are applied afterwards, the same as Map.update does
+    @Benchmark
+    public int updateMapEntities() {
+        camera.updateMapEntities(player);
+        map.applyPendingChanges();
+        return camera.getActiveEnemies().size();
+    }
+}
@@ -0,0 +1,105 @@
+package Benchmarks;
+
+import Level.Map;
+import Level.MapCollisionCheckResult;
+import Level.MapCollisionHandler;
+import Level.SlopeProximityStatus;
+import Maps.Map2;
+import Players.Joe;
+import Utils.Direction;
+import Utils.Point;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Benchmarks the map collision checks that every moving game object runs once per pixel it moves
+// the MapCollisionHandler checks are each timed on their own, and GameObject's moveXHandleCollision and moveYHandleCollision
+// (which run handleCollisionX and handleCollisionY) are timed moving the player as far as it walks and falls in one update
+// flat ground is on map2 where the player starts, and slopes are on a generated map since none of the game's maps have any
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class CollisionBenchmark {
+    private Map map;
+    private Joe player;
+    private Point groundLocation;
+
+    private Map slopeMap;
+    private Joe slopePlayer;
+    private Point slopeLocation;
+    private Direction downSlopeDirection;
+    private SlopeProximityStatus slopeProximityStatus;
+
+    @Setup
+    public void setup() throws IOException {
+        Fixtures.initializeScreen();
+        map = new Map2();
+        Point playerStartPosition = map.getPlayerStartPosition();
+        player = Fixtures.createPlayerOnGround(map, playerStartPosition.x, playerStartPosition.y);
+        groundLocation = player.getLocation();
+
+        slopeMap = Fixtures.loadSlopeMap();
+        slopePlayer = Fixtures.createPlayerOnGround(slopeMap, 0, 0);
+        downSlopeDirection = Fixtures.placeOnSlope(slopePlayer, slopeMap);
+        slopeLocation = slopePlayer.getLocation();
+        slopeProximityStatus = MapCollisionHandler.getCurrentSlopeProximityStatus(slopePlayer, slopeMap, downSlopeDirection);
+    }
+
+    @Benchmark
+    public MapCollisionCheckResult collisionCheckX() {
+        return MapCollisionHandler.getAdjustedPositionAfterCollisionCheckX(player, map, Direction.RIGHT);
+    }
+
+    @Benchmark
+    public MapCollisionCheckResult collisionCheckY() {
+        return MapCollisionHandler.getAdjustedPositionAfterCollisionCheckY(player, map, Direction.DOWN);
+    }
+
+    @Benchmark
+    public SlopeProximityStatus slopeProximityCheck() {
+        return MapCollisionHandler.getCurrentSlopeProximityStatus(slopePlayer, slopeMap, downSlopeDirection);
+    }
+
+    @Benchmark
+    public MapCollisionCheckResult slopeCheckX() {
+        return MapCollisionHandler.getAdjustedPositionAfterCollisionSlopeCheckX(slopePlayer, slopeMap, slopeProximityStatus);
+    }
+
+    @Benchmark
+    public MapCollisionCheckResult slopeCheckY() {
+        return MapCollisionHandler.getAdjustedPositionAfterCollisionSlopeCheckY(slopePlayer, slopeMap);
+    }
+
+    // the player is put back where it started before each move, so every call does the same amount of work
+    @Benchmark
+    public float handleCollisionX() {
+        player.setLocation(groundLocation.x, groundLocation.y);
+        return player.moveXHandleCollision(3);
+    }
+
+    // falls into the ground, so this includes the collision being found and resolved
+    @Benchmark
+    public float handleCollisionY() {
+        player.setLocation(groundLocation.x, groundLocation.y);
+        return player.moveYHandleCollision(6);
+    }
+
+    @Benchmark
+    public float handleCollisionXOnSlope() {
+        slopePlayer.setLocation(slopeLocation.x, slopeLocation.y);
+        return slopePlayer.moveXHandleCollision(3 * downSlopeDirection.getVelocity());
+    }
+}
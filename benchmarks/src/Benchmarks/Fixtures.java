@@ -0,0 +1,90 @@
+package Benchmarks;
+
+import Engine.Config;
+import Engine.ScreenManager;
+import GameObject.Rectangle;
+import Level.Map;
+import Level.MapCollisionHandler;
+import Level.MapTile;
+import Level.SlopeProximityStatus;
+import Level.TileType;
+import Maps.Map1;
+import Maps.Map2;
+import Maps.Map3;
+import Players.Joe;
+import Stress.StressMap;
+import Stress.StressScenario;
+import Utils.Direction;
+
+import java.io.IOException;
+
+// This class sets up the game objects the benchmarks run against, using the game's real map files (MAP_FILES_PATH) and images (RESOURCES_PATH)
+// benchmarks have to be run from the project's root directory so those paths can be found (run.sh takes care of this)
+final class Fixtures {
+    // prevents Fixtures from being instantiated
+    private Fixtures() { }
+
+    // maps need to know the screen size to set up their camera, so this has to be called before creating one
+    static void initializeScreen() {
+        ScreenManager screenManager = new ScreenManager();
+        screenManager.initialize(new Rectangle(0, 0, Config.GAME_WINDOW_WIDTH, Config.GAME_WINDOW_HEIGHT));
+    }
+
+    // creates one of the game's maps by name
+    // "stress" is a generated map much larger than the game's own, with far more enemies (see StressScenario)
+    static Map loadMap(String mapName) throws IOException {
+        switch (mapName) {
+            case "map1":
+                return new Map1();
+            case "map2":
+                return new Map2();
+            case "map3":
+                return new Map3();
+            case "stress":
+                return StressMap.create(new StressScenario().withSize(200, 30).withEnemies(300, 1).withSeed(1));
+            default:
+                throw new IllegalArgumentException("Unknown map " + mapName);
+        }
+    }
+
+    // none of the game's maps have any slopes that can be walked on, so slope benchmarks use a generated map (which uses the game's CommonTileset image)
+    static Map loadSlopeMap() throws IOException {
+        return StressMap.create(new StressScenario().withSize(34, 14).withEnemies(0, 1).withTileMix(0.3f, 0, 0, 0).withSeed(1));
+    }
+
+    // creates the player at the given location and lets it fall down onto the ground below
+    static Joe createPlayerOnGround(Map map, float x, float y) {
+        Joe player = new Joe(x, y);
+        player.setMap(map);
+        player.moveYHandleCollision(map.getHeightPixels());
+        return player;
+    }
+
+    // puts the player on the first slope in the map it can walk down, at a spot where the slope collision logic kicks in when it walks that way
+    // returns which way the slope goes down
+    static Direction placeOnSlope(Joe player, Map map) {
+        for (int y = 1; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                MapTile tile = map.getMapTile(x, y);
+                if (tile.getTileType() != TileType.SLOPE || map.getMapTile(x, y - 1).getTileType() != TileType.PASSABLE) {
+                    continue;
+                }
+                // a slope laid out to the right goes down going right
+                Direction downSlopeDirection = tile.getLayout().getDirection() == Direction.RIGHT ? Direction.RIGHT : Direction.LEFT;
+
+                // the slope logic looks at the tile under the left side of the player's bounds when walking right, and the right side when walking left
+                float boundsOffsetX = downSlopeDirection == Direction.RIGHT
+                        ? player.getBounds().getX() - player.getX()
+                        : player.getBounds().getX2() - player.getX();
+                for (int offset = 0; offset < map.getTileset().getScaledSpriteWidth(); offset++) {
+                    player.setLocation(tile.getX() + offset - boundsOffsetX, tile.getY() - player.getHeight() * 2);
+                    player.moveYHandleCollision(map.getHeightPixels());
+                    if (MapCollisionHandler.getCurrentSlopeProximityStatus(player, map, downSlopeDirection) != SlopeProximityStatus.NONE) {
+                        return downSlopeDirection;
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("No slope found that the player can walk down");
+    }
+}
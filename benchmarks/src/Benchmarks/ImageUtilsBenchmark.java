@@ -0,0 +1,46 @@
+package Benchmarks;
+
+import Engine.Config;
+import Utils.ImageUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Benchmarks making an image's transparent color see through, which is done to every image the game loads
+// the images are read in from the game's resources once up front, so only the transparency pass is timed
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ImageUtilsBenchmark {
+    @Param({ "combinedJoe.png", "ZombieTrial.png", "CommonTileset.png", "TitleScreen.png" })
+    public String imageFileName;
+
+    private BufferedImage image;
+
+    @Setup
+    public void setup() throws IOException {
+        image = ImageIO.read(new File(Config.RESOURCES_PATH + imageFileName));
+    }
+
+    @Benchmark
+    public BufferedImage transformColorToTransparency() {
+        return ImageUtils.transformColorToTransparency(image, Config.TRANSPARENT_COLOR);
+    }
+}
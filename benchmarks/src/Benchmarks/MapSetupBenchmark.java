@@ -0,0 +1,51 @@
+package Benchmarks;
+
+import Level.Map;
+import Level.MapFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Benchmarks loading the game's maps
+// readMapFile is reading in the map file on its own (what Map.loadMapFile starts with), and setupMap is everything a map does to set itself up
+// from its map file, which is where Map.loadMapFile gets run (it's private, so it can't be timed on its own)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class MapSetupBenchmark {
+    @Param({ "map1", "map2", "map3" })
+    public String mapName;
+
+    private Map map;
+
+    @Setup
+    public void setup() throws IOException {
+        Fixtures.initializeScreen();
+        map = Fixtures.loadMap(mapName);
+    }
+
+    @Benchmark
+    public MapFile readMapFile() throws IOException {
+        return MapFile.load(map.getMapFileName());
+    }
+
+    @Benchmark
+    public Map setupMap() {
+        map.setupMap();
+        return map;
+    }
+}
@@ -0,0 +1,53 @@
+package Benchmarks;
+
+import GameObject.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Benchmarks Rectangle.intersects, which every entity collision check (such as the player against each active enemy) comes down to
+// the rectangles are the size of the player's and a zombie's bounds, and of a map tile
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RectangleBenchmark {
+    private Rectangle playerBounds;
+    private Rectangle overlappingEnemyBounds;
+    private Rectangle farAwayEnemyBounds;
+    private Rectangle tileBounds;
+
+    @Setup
+    public void setup() {
+        playerBounds = new Rectangle(100, 500, 24, 27);
+        overlappingEnemyBounds = new Rectangle(110, 490, 20, 20);
+        farAwayEnemyBounds = new Rectangle(700, 490, 20, 20);
+        tileBounds = new Rectangle(96, 528, 48, 48);
+    }
+
+    @Benchmark
+    public boolean intersecting() {
+        return playerBounds.intersects(overlappingEnemyBounds);
+    }
+
+    @Benchmark
+    public boolean notIntersecting() {
+        return playerBounds.intersects(farAwayEnemyBounds);
+    }
+
+    @Benchmark
+    public boolean touchingTile() {
+        return playerBounds.intersects(tileBounds);
+    }
+}
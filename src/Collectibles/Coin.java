@@ -33,7 +33,7 @@ public class Coin extends NPC {
 
     private void collectCoin(Player player) {
         player.incrementCoinCount();
-        mapPosition.getNPCs().remove(this);
+        mapPosition.removeNPC(this);
     }
 
     @Override
@@ -33,7 +33,7 @@ public class HP extends NPC {
 
     private void collectpowerup(Player player) {
         player.increaseHealth();
-        mapPosition.getNPCs().remove(this);
+        mapPosition.removeNPC(this);
 
     }
 
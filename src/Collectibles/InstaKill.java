@@ -33,7 +33,7 @@ public class InstaKill extends NPC {
 
     private void collectpowerup(Player player) {
         player.activateInstaKill();
-        mapPosition.getNPCs().remove(this);
+        mapPosition.removeNPC(this);
     }
 
     @Override
@@ -33,7 +33,7 @@ public class Invincibility extends NPC {
 
     private void collectpowerup(Player player) {
         //player.activateInvincibility();
-        mapPosition.getNPCs().remove(this);
+        mapPosition.removeNPC(this);
 
     }
 
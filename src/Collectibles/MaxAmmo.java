@@ -35,7 +35,7 @@ public class MaxAmmo extends NPC {
     private void collectpowerup(Player player) {
         //set ammo to full
         WorldOneScreen.finishReload();
-        mapPosition.getNPCs().remove(this);
+        mapPosition.removeNPC(this);
 
     }
 
@@ -33,7 +33,7 @@ public class SpeedBoost extends NPC {
 
     private void collectpowerup(Player player) {
         player.activateSpeedBoost();
-        mapPosition.getNPCs().remove(this);
+        mapPosition.removeNPC(this);
 
     }
 
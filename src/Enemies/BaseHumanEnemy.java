@@ -12,14 +12,12 @@ import Utils.AirGroundState;
 import Utils.Point;
 import Utils.Direction;
 import java.util.HashMap;
-import java.util.Random;
 
 // This class is for the base human enemy that shoots bullets straight in whichever direction it is facing
 public class BaseHumanEnemy extends Enemy {
 
     private float gravity = .5f;
     private float movementSpeed = 1.25f;
-    private Direction startFacingDirection;
     private Direction facingDirection;
     private AirGroundState airGroundState;
     private HumanState currentState;
@@ -56,23 +54,6 @@ public class BaseHumanEnemy extends Enemy {
         }
     }
 
-    public void die() {
-        Random random = new Random();
-        int chance = random.nextInt(10);
-
-        // Write the loot dropping logic here
-        if (map != null) { // Ensure the map is assigned to this enemy
-            if (chance < 9) {
-                // 90% chance enemy drops a coin
-                map.spawnCoin(this.getX(), this.getY());
-            } else {
-                // 10% chance it drops a powerup
-                map.spawnpowerup(this.getX(), this.getY());
-            }
-            map.removeEnemy(this);
-        }
-    }
-
     @Override
     public void initialize() {
         super.initialize();
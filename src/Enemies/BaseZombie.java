@@ -11,8 +11,8 @@ import Level.Player;
 import Utils.AirGroundState;
 import Utils.Point;
 import Utils.Direction;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
-import java.util.Random;
 
 // This class is for the black bug enemy
 // enemy behaves like a Mario goomba -- walks forward until it hits a solid map tile, and then turns around
@@ -21,7 +21,6 @@ public class BaseZombie extends Enemy {
 
     private float gravity = .5f;
     private float movementSpeed = 0.75f;
-    private Direction startFacingDirection;
     private Direction facingDirection;
     private AirGroundState airGroundState;
     private ZombieState currentState;
@@ -47,23 +46,6 @@ public class BaseZombie extends Enemy {
         }
     }
 
-    public void die() {
-        Random random = new Random();
-        int chance = random.nextInt(10);
-
-        // Write the loot dropping logic here
-        if (map != null) { // Ensure the map is assigned to this enemy
-            if (chance < 9) {
-                // 90% chance enemy drops a coin
-                map.spawnCoin(this.getX(), this.getY());
-            } else {
-                // 10% chance it drops a powerup
-                map.spawnpowerup(this.getX(), this.getY());
-            }
-            map.removeEnemy(this);
-        }
-    }
-
     @Override
     public void initialize() {
         super.initialize();
@@ -76,6 +58,25 @@ public class BaseZombie extends Enemy {
         airGroundState = AirGroundState.GROUND;
     }
 
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        super.writeState(buffer);
+        buffer.put((byte) (facingDirection == null ? -1 : facingDirection.ordinal()));
+        buffer.put((byte) airGroundState.ordinal());
+        buffer.put((byte) currentState.ordinal());
+        buffer.putInt(chaseDelayTimer);
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        super.readState(buffer);
+        byte facing = buffer.get();
+        facingDirection = facing < 0 ? null : Direction.values()[facing];
+        airGroundState = AirGroundState.values()[buffer.get()];
+        currentState = ZombieState.values()[buffer.get()];
+        chaseDelayTimer = buffer.getInt();
+    }
+
     @Override
 public void update(Player player) {
     float moveAmountX = 0;
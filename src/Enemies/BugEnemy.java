@@ -20,7 +20,6 @@ public class BugEnemy extends Enemy {
 
     private float gravity = .5f;
     private float movementSpeed = 1.5f;
-    private Direction startFacingDirection;
     private Direction facingDirection;
     private AirGroundState airGroundState;
     private int hitPoints = 1;
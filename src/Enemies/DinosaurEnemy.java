@@ -28,7 +28,6 @@ public class DinosaurEnemy extends Enemy {
     protected Point endLocation;
 
     protected float movementSpeed = 0.5f;
-    private Direction startFacingDirection;
     protected Direction facingDirection;
     protected AirGroundState airGroundState;
 
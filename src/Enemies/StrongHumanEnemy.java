@@ -12,7 +12,6 @@ import Utils.AirGroundState;
 import Utils.Point;
 import Utils.Direction;
 import java.util.HashMap;
-import java.util.Random;
 
 // This class is for the black bug enemy
 // enemy behaves like a Mario goomba -- walks forward until it hits a solid map tile, and then turns around
@@ -21,7 +20,6 @@ public class StrongHumanEnemy extends Enemy {
 
     private float gravity = .5f;
     private float movementSpeed = 1.25f;
-    private Direction startFacingDirection;
     private Direction facingDirection;
     private AirGroundState airGroundState;
 
@@ -44,23 +42,6 @@ public class StrongHumanEnemy extends Enemy {
         }
     }
 
-    public void die() {
-        Random random = new Random();
-        int chance = random.nextInt(10);
-
-        // Write the loot dropping logic here
-        if (map != null) { // Ensure the map is assigned to this enemy
-            if (chance < 9) {
-                // 90% chance enemy drops a coin
-                map.spawnCoin(this.getX(), this.getY());
-            } else {
-                // 10% chance it drops a powerup
-                map.spawnpowerup(this.getX(), this.getY());
-            }
-            map.removeEnemy(this);
-        }
-    }
-
     @Override
     public void initialize() {
         super.initialize();
@@ -0,0 +1,131 @@
+package Engine;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * This class loads the game's assets ahead of time on a pool of background threads, so they are already in memory by the time anything asks for them
+ * Each asset is loaded by a task that puts it wherever the game normally gets it from (such as ImageLoader's cache for images),
+ * so nothing that uses the assets has to know whether they were preloaded or not
+ * Progress can be checked from any thread while the assets are loading, which is what the loading screen shows
+ */
+public class AssetPreloader {
+    private static final int THREAD_COUNT = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private final ArrayList<String> assetNames = new ArrayList<>();
+    private final ArrayList<Runnable> loadTasks = new ArrayList<>();
+    private final AtomicInteger finishedCount = new AtomicInteger();
+    private final AtomicInteger failedCount = new AtomicInteger();
+    private ExecutorService assetLoader;
+    private long startTime;
+    private long finishTime;
+    private volatile boolean isDone;
+
+    // adds an asset to be loaded, which is done by running loadTask
+    // assets have to be added before start is called
+    public void add(String assetName, Runnable loadTask) {
+        if (assetLoader != null) {
+            throw new IllegalStateException("Assets can't be added once preloading has started");
+        }
+        assetNames.add(assetName);
+        loadTasks.add(loadTask);
+    }
+
+    // adds every image file the game has to be loaded into ImageLoader with the default transparent color
+    public void addImages() {
+        for (String imageFileName : findImageFileNames()) {
+            add(imageFileName, () -> ImageLoader.load(imageFileName));
+        }
+    }
+
+    // starts loading every added asset in the background
+    public void start() {
+        if (assetLoader != null) {
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        assetLoader = Executors.newFixedThreadPool(THREAD_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "Asset Preloader " + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        startTime = System.nanoTime();
+        if (loadTasks.isEmpty()) {
+            finishTime = startTime;
+            isDone = true;
+        }
+        for (int i = 0; i < loadTasks.size(); i++) {
+            String assetName = assetNames.get(i);
+            Runnable loadTask = loadTasks.get(i);
+            assetLoader.execute(() -> {
+                try {
+                    loadTask.run();
+                } catch (RuntimeException ex) {
+                    // the game can still try to load the asset again when it's needed, which reports the problem where it happens
+                    failedCount.incrementAndGet();
+                    System.out.println("Unable to preload " + assetName + " (" + ex.getMessage() + ")");
+                }
+                if (finishedCount.incrementAndGet() == loadTasks.size()) {
+                    finishTime = System.nanoTime();
+                    StartupTracer.end("Preload " + loadTasks.size() + " assets", startTime);
+                    isDone = true;
+                    assetLoader.shutdown();
+                }
+            });
+        }
+    }
+
+    public boolean isDone() {
+        return isDone;
+    }
+
+    // how far along preloading is, from 0 to 1
+    public float getProgress() {
+        return loadTasks.isEmpty() ? 1 : finishedCount.get() / (float) loadTasks.size();
+    }
+
+    public int getAssetCount() {
+        return loadTasks.size();
+    }
+
+    public int getFinishedCount() {
+        return finishedCount.get();
+    }
+
+    public int getFailedCount() {
+        return failedCount.get();
+    }
+
+    // how long preloading took from start to finish, in nanoseconds (only valid once done)
+    public long getLoadTime() {
+        return finishTime - startTime;
+    }
+
+    // finds the file name of every image in the RESOURCES_PATH directory (and its subfolders), along with every image in the texture atlas
+    public static TreeSet<String> findImageFileNames() {
+        TreeSet<String> imageFileNames = new TreeSet<>(TextureAtlas.getImageFileNames());
+        findImageFileNames(new File(Config.RESOURCES_PATH), "", imageFileNames);
+        return imageFileNames;
+    }
+
+    private static void findImageFileNames(File directory, String prefix, TreeSet<String> imageFileNames) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                // the atlas pages are only ever read through TextureAtlas
+                if (!(prefix + file.getName() + "/").equals(TextureAtlas.ATLAS_PATH.substring(Config.RESOURCES_PATH.length()))) {
+                    findImageFileNames(file, prefix + file.getName() + "/", imageFileNames);
+                }
+            } else if (file.getName().toLowerCase().endsWith(".png")) {
+                imageFileNames.add(prefix + file.getName());
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ public class Config {
     public static final int TARGET_FPS = 60;
     public static final String RESOURCES_PATH = "Resources/";
     public static final String MAP_FILES_PATH = "MapFiles/";
+    public static final String SAVE_FILES_PATH = "Saves/";
     public static final int GAME_WINDOW_WIDTH = 800;
     public static final int GAME_WINDOW_HEIGHT = 605;
     public static final Color TRANSPARENT_COLOR = Colors.MAGENTA;
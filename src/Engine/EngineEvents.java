@@ -0,0 +1,128 @@
+package Engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * This class holds the Java Flight Recorder (JFR) events the engine records, so hitches in a flight recording can be matched up with what the game was doing at the time
+ * A recording is started by running the game with -XX:StartFlightRecording=filename=game.jfr and can be opened in JDK Mission Control,
+ * where these events show up under the "Platformer" category alongside the JVM's own events (such as garbage collections)
+ *
+ * Events are used the standard JFR way:
+ *   EngineEvents.WaveSpawn event = new EngineEvents.WaveSpawn();
+ *   event.begin();
+ *   ...
+ *   if (event.shouldCommit()) {
+ *       event.waveNumber = ...;
+ *       event.commit();
+ *   }
+ * When JFR isn't recording, shouldCommit is false and the JIT compiler removes creating the event entirely, so leaving them in costs next to nothing
+ * Event fields are only filled in once shouldCommit says the event will be kept, so building strings for them doesn't cost anything when JFR isn't recording
+ */
+public class EngineEvents {
+    // how many collision checks against the map have been done since the current tick started
+    // this is only ever changed from the game loop thread, so it's just a plain counter
+    private static int collisionQueryCount;
+
+    // prevents EngineEvents from being instantiated
+    private EngineEvents() { }
+
+    @Name("Platformer.Tick")
+    @Label("Tick")
+    @Category("Platformer")
+    @Description("One update of the game loop")
+    @StackTrace(false)
+    public static class Tick extends Event {
+        @Label("Tick")
+        @Description("Ticks passed on the game clock when the update started")
+        public long tick;
+
+        @Label("Collision Queries")
+        @Description("How many map collision checks were done during the update")
+        public int collisionQueries;
+    }
+
+    @Name("Platformer.ScreenTransition")
+    @Label("Screen Transition")
+    @Category("Platformer")
+    @Description("Switching the screen being shown to the screen for a new game state")
+    @StackTrace(false)
+    public static class ScreenTransition extends Event {
+        @Label("From")
+        public String fromGameState;
+
+        @Label("To")
+        public String toGameState;
+
+        @Label("Preloaded")
+        @Description("Whether the new screen was already built in the background")
+        public boolean isPreloaded;
+    }
+
+    @Name("Platformer.WaveSpawn")
+    @Label("Wave Spawn")
+    @Category("Platformer")
+    @Description("Creating a wave of enemies and adding them to the map")
+    @StackTrace(false)
+    public static class WaveSpawn extends Event {
+        @Label("Map")
+        public String mapFileName;
+
+        @Label("Wave Number")
+        public int waveNumber;
+
+        @Label("Enemy Count")
+        public int enemyCount;
+    }
+
+    @Name("Platformer.MapLoad")
+    @Label("Map Load")
+    @Category("Platformer")
+    @Description("Reading in a map file")
+    @StackTrace(false)
+    public static class MapLoad extends Event {
+        @Label("Map")
+        public String mapFileName;
+
+        @Label("Binary")
+        @Description("Whether the binary version of the map file was read instead of the text version")
+        public boolean isBinary;
+
+        @Label("Width")
+        public int width;
+
+        @Label("Height")
+        public int height;
+    }
+
+    @Name("Platformer.AssetDecode")
+    @Label("Asset Decode")
+    @Category("Platformer")
+    @Description("Reading in an image file and making its transparent color see through")
+    public static class AssetDecode extends Event {
+        @Label("Asset")
+        public String assetName;
+
+        @Label("Width")
+        public int width;
+
+        @Label("Height")
+        public int height;
+    }
+
+    // called by each map collision check, so the number done each tick can be recorded
+    public static void countCollisionQuery() {
+        collisionQueryCount++;
+    }
+
+    // gets how many collision checks have been done since this was last called, and starts counting over
+    public static int takeCollisionQueryCount() {
+        int count = collisionQueryCount;
+        collisionQueryCount = 0;
+        return count;
+    }
+}
@@ -4,7 +4,7 @@ import java.awt.Graphics;
 import java.awt.Image;
 import javax.swing.ImageIcon;
 
-public class FPistolOverlay {
+public class FPistolOverlay implements WeaponOverlay {
     private Image pistolImage;
     private int x, y;
     private int width, height; 
@@ -0,0 +1,96 @@
+package Engine;
+
+/*
+ * This class keeps track of game time as a count of game ticks (one tick is one call to the game's update cycle)
+ * Gameplay timers (invincibility, power ups, etc.) should use this instead of System.currentTimeMillis so that they
+ * stop while the game is paused, don't drift when frames get dropped, and can be checked with a simple integer compare
+ * It is advanced once per update by the GamePanel
+ *
+ * Callbacks can also be scheduled to run after a number of ticks have passed, which is cheaper than checking a timer every tick
+ * These are run at the start of the tick they go off on, before any screen is updated
+ */
+public class GameClock {
+
+    // number of ticks that have passed since the game started (not counting ticks where the clock was paused)
+    private static long ticks = 0;
+
+    // while paused, ticks do not advance
+    private static boolean isPaused = false;
+
+    // how many ticks pass per update (1 is normal speed, 0.5 is half speed, 2 is double speed)
+    // fractional leftovers are carried over to the next update so slowed down time still advances evenly
+    private static float timeScale = 1f;
+    private static float leftoverTicks = 0;
+
+    // holds callbacks scheduled to run on a later tick
+    private static final TimingWheel timingWheel = new TimingWheel(0);
+
+    // prevents GameClock from being instantiated
+    private GameClock() { }
+
+    // advances the clock by one update's worth of ticks
+    public static void tick() {
+        if (isPaused) {
+            return;
+        }
+        leftoverTicks += timeScale;
+        int wholeTicks = (int) leftoverTicks;
+        ticks += wholeTicks;
+        leftoverTicks -= wholeTicks;
+        timingWheel.advanceTo(ticks);
+    }
+
+    // schedules a callback to run once the given number of ticks have passed
+    public static TimerHandle schedule(long delayInTicks, Runnable callback) {
+        return timingWheel.schedule(ticks + delayInTicks, callback);
+    }
+
+    // cancels every scheduled callback
+    public static void clearScheduledTimers() {
+        timingWheel.clear();
+    }
+
+    public static long getTicks() {
+        return ticks;
+    }
+
+    // returns the tick a timer of the given length started right now will end on
+    public static long ticksFromNow(long durationInTicks) {
+        return ticks + durationInTicks;
+    }
+
+    // returns how many ticks are left before a timer goes off, or -1 if there is no timer or it isn't waiting to go off anymore
+    // this is used to save a timer so it can be scheduled again later
+    public static long ticksLeft(TimerHandle timer) {
+        return timer != null && timer.isPending() ? Math.max(0, timer.getDeadline() - ticks) : -1;
+    }
+
+    // returns true if the given tick has been reached
+    public static boolean hasReached(long tick) {
+        return ticks >= tick;
+    }
+
+    // converts a duration in milliseconds to the number of ticks it takes at the target FPS
+    public static long millisToTicks(long millis) {
+        return millis * Config.TARGET_FPS / 1000;
+    }
+
+    public static boolean isPaused() {
+        return isPaused;
+    }
+
+    public static void setPaused(boolean isPaused) {
+        GameClock.isPaused = isPaused;
+    }
+
+    public static float getTimeScale() {
+        return timeScale;
+    }
+
+    public static void setTimeScale(float timeScale) {
+        if (timeScale < 0) {
+            throw new IllegalArgumentException("Time scale cannot be negative");
+        }
+        GameClock.timeScale = timeScale;
+    }
+}
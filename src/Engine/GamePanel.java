@@ -2,6 +2,7 @@ package Engine;
 
 import GameObject.Rectangle;
 import SpriteFont.SpriteFont;
+import SpriteFont.TextImageCache;
 import Utils.Colors;
 
 import java.awt.image.BufferedImage;
@@ -31,6 +32,8 @@ public class GamePanel extends JPanel {
 
 	private Key showFPSKey = Key.G;
 	private SpriteFont fpsDisplayLabel;
+	private SpriteFont hitchDisplayLabel;
+	private SpriteFont textCacheDisplayLabel;
 	private boolean showFPS = false;
 	private int currentFPS;
 	private boolean doPaint;
@@ -85,6 +88,8 @@ public class GamePanel extends JPanel {
 		menuItemSelected = -1;
 
 		fpsDisplayLabel = new SpriteFont("FPS", 4, 3, "Arial", 12, Color.black);
+		hitchDisplayLabel = new SpriteFont("", 4, 18, "Arial", 12, Color.black);
+		textCacheDisplayLabel = new SpriteFont("", 4, 33, "Arial", 12, Color.black);
 
 		currentFPS = Config.TARGET_FPS;
 
@@ -119,12 +124,30 @@ public class GamePanel extends JPanel {
 	}
 
 	public void update() {
+		// the whole update is recorded as a flight recorder event (see EngineEvents)
+		EngineEvents.Tick tickEvent = new EngineEvents.Tick();
+		tickEvent.begin();
+		long tickStartTime = System.nanoTime();
+		long tick = GameClock.getTicks();
+
+		// key presses and releases since the last update are applied before anything checks the keyboard
+		Keyboard.update();
 		// updatePauseState();
 		updateShowFPSState();
+		GameClock.tick();
 
 		//  if (!isGamePaused) {
 		 	screenManager.update();
 		// }
+
+		int collisionQueries = EngineEvents.takeCollisionQueryCount();
+		tickEvent.end();
+		if (tickEvent.shouldCommit()) {
+			tickEvent.tick = tick;
+			tickEvent.collisionQueries = collisionQueries;
+			tickEvent.commit();
+		}
+		SessionMetrics.tickFinished(System.nanoTime() - tickStartTime);
 		// else {
 		// 	//menuNav();
 		// 		if (Keyboard.isKeyDown(Key.DOWN) && keyPressTimer == 0) {
@@ -185,6 +208,13 @@ public class GamePanel extends JPanel {
 		}
 
 		fpsDisplayLabel.setText("FPS: " + currentFPS);
+
+		// the most recent hitch the profiler caught is shown under the FPS
+		String lastHitch = Profiler.getLastHitch();
+		hitchDisplayLabel.setText(lastHitch != null ? "Last hitch -- " + lastHitch : "");
+
+		// how often outlined text was drawn from an already cached image
+		textCacheDisplayLabel.setText(String.format("Text cache -- %.0f%% hits, %d cached", TextImageCache.getHitRate() * 100, TextImageCache.getSize()));
 	}
 
 	public void draw() {
@@ -204,6 +234,8 @@ public class GamePanel extends JPanel {
 
 		if (showFPS) {
 			fpsDisplayLabel.draw(graphicsHandler);
+			hitchDisplayLabel.draw(graphicsHandler);
+			textCacheDisplayLabel.draw(graphicsHandler);
 		}
 	}
 
@@ -215,6 +247,7 @@ public class GamePanel extends JPanel {
 			// when called, it will setup the graphics handler and then call this class's draw method
 			graphicsHandler.setGraphics((Graphics2D) g);
 			draw();
+			StartupTracer.framePresented();
 		}
 	}
 }
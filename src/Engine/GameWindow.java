@@ -15,7 +15,11 @@ public class GameWindow {
     //private WeaponOverlay weaponOverlay; // Add an instance of WeaponOverlay
 
     public GameWindow() {
+        long startTime = StartupTracer.begin();
         gameWindow = new JFrame("Timeline Assault");
+        StartupTracer.end("Create JFrame", startTime);
+
+        startTime = StartupTracer.begin();
         gamePanel = new GamePanel() {
            // @Override
            // protected void paintComponent(Graphics g) {
@@ -26,7 +30,9 @@ public class GameWindow {
            // } 
            // }
         };
+        StartupTracer.end("Create game panel", startTime);
 
+        startTime = StartupTracer.begin();
         gamePanel.setFocusable(true);
         gamePanel.requestFocusInWindow();
         gameWindow.setContentPane(gamePanel);
@@ -35,11 +41,14 @@ public class GameWindow {
         gameWindow.setLocationRelativeTo(null);
         gameWindow.setVisible(true);
         gameWindow.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE); // it'd be nice if this actually worked more than 1/3rd of the time
+        StartupTracer.end("Show game window", startTime);
 
         // Initialize the weapon overlay
       //  weaponOverlay = new WeaponOverlay();
 
+        startTime = StartupTracer.begin();
         gamePanel.setupGame();
+        StartupTracer.end("Set up game", startTime);
     }
 
     // triggers the game loop to start as defined in the GamePanel class
@@ -7,10 +7,19 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
 
 // contains a bunch of helpful methods for loading images file into the game
+// loaded images are cached, so each image file is only read in once no matter how many things use it
+// images returned from here are shared, so they should not be drawn on or changed
+// images that have been packed into the texture atlas are taken from there instead of being read from their own file (see TextureAtlas)
 public class ImageLoader {
 
+    // loaded images mapped to their file name and transparent color
+    // images can be loaded ahead of time on background threads, so this has to be safe to use from more than one thread at once
+    private static final ConcurrentHashMap<String, BufferedImage> loadedImages = new ConcurrentHashMap<>();
+
     // loads an image and sets its transparent color to the one defined in the Config class
     public static BufferedImage load(String imageFileName) {
         return ImageLoader.load(imageFileName, Config.TRANSPARENT_COLOR);
@@ -19,11 +28,33 @@ public class ImageLoader {
     // loads an image and allows the transparent color to be specified
     public static BufferedImage load(String imageFileName, Color transparentColor) {
         try {
-            BufferedImage initialImage = ImageIO.read(new File(Config.RESOURCES_PATH + imageFileName));
-            return ImageUtils.transformColorToTransparency(initialImage, transparentColor);
-        } catch (IOException e) {
+            return loadedImages.computeIfAbsent(imageFileName + "#" + transparentColor.getRGB(), key -> {
+                BufferedImage atlasImage = TextureAtlas.getImage(imageFileName, transparentColor);
+                if (atlasImage != null) {
+                    return atlasImage;
+                }
+                try {
+                    EngineEvents.AssetDecode decodeEvent = new EngineEvents.AssetDecode();
+                    decodeEvent.begin();
+                    long startTime = StartupTracer.begin();
+                    BufferedImage initialImage = ImageIO.read(new File(Config.RESOURCES_PATH + imageFileName));
+                    BufferedImage image = ImageUtils.transformColorToTransparency(initialImage, transparentColor);
+                    StartupTracer.end("Decode " + imageFileName, startTime);
+                    decodeEvent.end();
+                    if (decodeEvent.shouldCommit()) {
+                        decodeEvent.assetName = imageFileName;
+                        decodeEvent.width = image.getWidth();
+                        decodeEvent.height = image.getHeight();
+                        decodeEvent.commit();
+                    }
+                    return image;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
             System.out.println("Unable to find file " + Config.RESOURCES_PATH + imageFileName);
-            throw new RuntimeException(e);
+            throw new RuntimeException(e.getCause());
         }
     }
 
@@ -34,13 +65,6 @@ public class ImageLoader {
 
     // loads a piece of an image from an image file and allows the transparent color to be specified
     public static BufferedImage loadSubImage(String imageFileName, Color transparentColor, int x, int y, int width, int height) {
-        try {
-            BufferedImage initialImage = ImageIO.read(new File(Config.RESOURCES_PATH + imageFileName));
-            BufferedImage transparentImage = ImageUtils.transformColorToTransparency(initialImage, transparentColor);
-            return transparentImage.getSubimage(x, y, width, height);
-        } catch (IOException e) {
-            System.out.println("Unable to find file " + Config.RESOURCES_PATH + imageFileName);
-            throw new RuntimeException(e);
-        }
+        return ImageLoader.load(imageFileName, transparentColor).getSubimage(x, y, width, height);
     }
 }
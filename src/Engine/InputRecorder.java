@@ -0,0 +1,237 @@
+package Engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/*
+ * This class records the key presses and releases the game applies each update to a file, and can play a recording back in place of the real keyboard
+ * Gameplay only ever changes once per update (see GameClock), so giving the game the exact same keys on the exact same updates
+ * plays out the exact same game, which makes a recorded play session something that can be run over and over again to measure the engine
+ *
+ * Recording and playback both begin on the first update after the menu is shown (see start), since how long the loading screen takes differs from run to run
+ * The game is recorded by running it with --record-input <file>, and played back with --replay-input <file>
+ * A recording can also be played back without a window as fast as possible with ReplayRunner
+ *
+ * A recording file is:
+ *   RECORDING_FILE_ID and RECORDING_FILE_VERSION
+ *   the seed the game's randomness was started with
+ *   for each key event: how many updates since the last key event (as a variable length number), then the key code shifted left one bit with the lowest bit set if it was pressed
+ *   an end marker of how many updates since the last key event and then END_OF_RECORDING
+ */
+public class InputRecorder {
+    private static final int RECORDING_FILE_ID = 0x494E5052; // "INPR"
+    private static final short RECORDING_FILE_VERSION = 1;
+    private static final short END_OF_RECORDING = -1;
+
+    private static String recordFileName;
+    private static String replayFileName;
+    private static DataOutputStream recording;
+    private static DataInputStream replay;
+
+    private static long seed = System.nanoTime();
+    private static boolean isStarted = false;
+    private static boolean isReplaying = false;
+
+    // how many updates have happened since recording or playback began, and on which update the last key event was recorded or played back
+    private static long tick = 0;
+    private static long lastEventTick = 0;
+
+    // the next key event to play back, which is read ahead of time so it's known which update it goes on
+    private static long nextEventTick;
+    private static int nextEvent;
+
+    // prevents InputRecorder from being instantiated
+    private InputRecorder() { }
+
+    // sets whether the game is recorded or played back based on the game's command line arguments
+    public static void configure(String[] args) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--record-input")) {
+                recordFileName = args[i + 1];
+            } else if (args[i].equals("--replay-input")) {
+                replayFileName = args[i + 1];
+            }
+        }
+        if (recordFileName != null && replayFileName != null) {
+            throw new IllegalArgumentException("The game can't be recorded and played back at the same time");
+        }
+        if (replayFileName != null) {
+            openReplay(replayFileName);
+        }
+    }
+
+    // plays back the given recording file once start is called
+    public static void openReplay(String fileName) {
+        try {
+            replay = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)));
+            if (replay.readInt() != RECORDING_FILE_ID) {
+                throw new IOException("not an input recording");
+            }
+            short version = replay.readShort();
+            if (version != RECORDING_FILE_VERSION) {
+                throw new IOException("unsupported recording version " + version);
+            }
+            seed = replay.readLong();
+            replayFileName = fileName;
+        } catch (IOException ex) {
+            throw new RuntimeException("Unable to read input recording " + fileName + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    // begins recording or playing back, counting updates from the next one
+    // this is called when the menu is first shown, and does nothing after that
+    public static void start() {
+        if (isStarted) {
+            return;
+        }
+        isStarted = true;
+        if (recordFileName != null) {
+            try {
+                recording = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(recordFileName)));
+                recording.writeInt(RECORDING_FILE_ID);
+                recording.writeShort(RECORDING_FILE_VERSION);
+                recording.writeLong(seed);
+            } catch (IOException ex) {
+                System.out.println("Unable to record input to " + recordFileName + ": " + ex.getMessage());
+                recording = null;
+                return;
+            }
+            // the recording is finished off when the game closes
+            Runtime.getRuntime().addShutdownHook(new Thread(InputRecorder::stop, "Input Recorder Shutdown"));
+            System.out.println("Recording input to " + recordFileName);
+        } else if (replay != null) {
+            isReplaying = true;
+            readNextEvent();
+            System.out.println("Replaying input from " + replayFileName);
+            if (isReplaying && nextEventTick == 0 && nextEvent == (END_OF_RECORDING & 0xFFFF)) {
+                finishReplay();
+            }
+        }
+    }
+
+    // stops recording or playing back, finishing off the recording file if there is one
+    public static synchronized void stop() {
+        if (recording != null) {
+            try {
+                writeVarLong(recording, tick - lastEventTick);
+                recording.writeShort(END_OF_RECORDING);
+                recording.close();
+                System.out.println("Recorded " + tick + " updates of input to " + recordFileName);
+            } catch (IOException ex) {
+                System.out.println("Unable to finish input recording " + recordFileName + ": " + ex.getMessage());
+            }
+            recording = null;
+        }
+        if (replay != null) {
+            try {
+                replay.close();
+            } catch (IOException ex) { }
+            replay = null;
+            isReplaying = false;
+        }
+    }
+
+    // true once recording or playing back has begun, even if the recording being played back has already finished
+    public static boolean isStarted() {
+        return isStarted;
+    }
+
+    // true while key events are coming from a recording instead of the keyboard
+    public static boolean isReplaying() {
+        return isReplaying;
+    }
+
+    public static boolean isRecording() {
+        return recording != null;
+    }
+
+    // the seed the game's randomness should start with, which is stored in recordings so playback gets the same random results
+    public static long getSeed() {
+        return seed;
+    }
+
+    // how many updates have happened since recording or playback began
+    public static long getTick() {
+        return tick;
+    }
+
+    // records a key event applied by Keyboard during the current update
+    static synchronized void record(int keyCode, boolean isPressed) {
+        if (recording == null) {
+            return;
+        }
+        try {
+            writeVarLong(recording, tick - lastEventTick);
+            recording.writeShort((keyCode << 1) | (isPressed ? 1 : 0));
+            lastEventTick = tick;
+        } catch (IOException ex) {
+            System.out.println("Unable to record input to " + recordFileName + ": " + ex.getMessage());
+            recording = null;
+        }
+    }
+
+    // gives Keyboard every recorded key event for the current update
+    static void replayTick(KeyEventQueue.Consumer consumer) {
+        while (isReplaying && nextEventTick == tick && nextEvent != (END_OF_RECORDING & 0xFFFF)) {
+            consumer.accept(nextEvent >>> 1, (nextEvent & 1) == 1, System.nanoTime());
+            readNextEvent();
+        }
+    }
+
+    // called by Keyboard once the current update's key events have all been applied
+    // playback is over as soon as the last recorded update has had its key events applied
+    static void endTick() {
+        if (isStarted) {
+            tick++;
+            if (isReplaying && nextEventTick == tick && nextEvent == (END_OF_RECORDING & 0xFFFF)) {
+                finishReplay();
+            }
+        }
+    }
+
+    private static void readNextEvent() {
+        try {
+            nextEventTick = lastEventTick + readVarLong(replay);
+            lastEventTick = nextEventTick;
+            nextEvent = replay.readUnsignedShort();
+        } catch (EOFException ex) {
+            System.out.println("Input recording " + replayFileName + " ended early");
+            finishReplay();
+        } catch (IOException ex) {
+            System.out.println("Unable to read input recording " + replayFileName + ": " + ex.getMessage());
+            finishReplay();
+        }
+    }
+
+    // the keyboard goes back to normal once a recording has been played back
+    private static void finishReplay() {
+        System.out.println("Finished replaying " + tick + " updates of input from " + replayFileName);
+        stop();
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
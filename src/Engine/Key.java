@@ -45,5 +45,7 @@ public enum Key {
     NINE,
     ZERO,
     SPACE,
-    ESC
+    ESC,
+    F5,
+    F9
 }
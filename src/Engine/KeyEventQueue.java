@@ -0,0 +1,80 @@
+package Engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// This class passes key presses and releases from the AWT event thread (where Java reports them) over to the game loop thread
+// It's a fixed size ring buffer that one thread adds to and one other thread takes from, so neither thread ever has to wait on a lock
+// and nothing is allocated per event (each event is just a key code, whether it was a press or release, and when it happened)
+// If the game loop falls so far behind that the buffer fills up, new events are dropped (and counted) rather than overwriting ones that haven't been read yet
+class KeyEventQueue {
+    private final int mask;
+    private final int[] events; // key code shifted left one bit, with the lowest bit set if the key was pressed
+    private final long[] eventTimes;
+
+    // next position to be written to (only changed by the adding thread) and next position to be read from (only changed by the taking thread)
+    // positions only ever count up, and are wrapped around the buffer using mask
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    // each thread's last look at the other thread's position, so the shared positions don't have to be read on every event
+    private long cachedTail;
+    private long cachedHead;
+
+    private volatile int droppedCount;
+
+    // handles one key event taken off of the queue
+    interface Consumer {
+        void accept(int keyCode, boolean isPressed, long eventTime);
+    }
+
+    // capacity has to be a power of two
+    KeyEventQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Key event queue capacity must be a power of two, not " + capacity);
+        }
+        mask = capacity - 1;
+        events = new int[capacity];
+        eventTimes = new long[capacity];
+    }
+
+    // adds a key event to the queue, returning false if it was full
+    // this must only ever be called from one thread (the AWT event thread)
+    boolean offer(int keyCode, boolean isPressed, long eventTime) {
+        long position = head.get();
+        if (position - cachedTail > mask) {
+            cachedTail = tail.get();
+            if (position - cachedTail > mask) {
+                droppedCount++;
+                return false;
+            }
+        }
+        int index = (int) position & mask;
+        events[index] = (keyCode << 1) | (isPressed ? 1 : 0);
+        eventTimes[index] = eventTime;
+        // the event is written before the new head position is, so the taking thread never sees a position for an event that isn't there yet
+        head.lazySet(position + 1);
+        return true;
+    }
+
+    // takes every event currently in the queue, oldest first, returning how many there were
+    // this must only ever be called from one thread (the game loop thread)
+    int drain(Consumer consumer) {
+        long position = tail.get();
+        cachedHead = head.get();
+        int count = 0;
+        while (position < cachedHead) {
+            int index = (int) position & mask;
+            int event = events[index];
+            consumer.accept(event >>> 1, (event & 1) == 1, eventTimes[index]);
+            position++;
+            count++;
+        }
+        tail.lazySet(position);
+        return count;
+    }
+
+    // how many events were dropped because the queue was full
+    int getDroppedCount() {
+        return droppedCount;
+    }
+}
@@ -1,13 +1,13 @@
 package Engine;
 
-import java.util.HashSet;
+import java.util.EnumSet;
 
 // This class can be used to keep track of "locked" and "unlocked" keys based on the class
 // For example, it's often useful to "lock" a key if pressed down until its been released, since holding down a key will continually count as a "key press".
 // This way, that "key press" will only be counted once per press.
 // This class does NOT do anything to the keyboard class to prevent a key from actually being detected -- that is not advisable as multiple classes may be detecting key presses separately
 public class KeyLocker {
-    private HashSet<Key> lockedKeys = new HashSet<>();
+    private EnumSet<Key> lockedKeys = EnumSet.noneOf(Key.class);
 
     // lock a key
     public void lockKey(Key key) {
@@ -3,21 +3,63 @@ package Engine;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.util.EnumMap;
-import java.util.HashMap;
 
 /*
  * This class is used throughout the engine for detecting keyboard state
  * This includes if a key is pressed, if a key is not pressed, and if multiple keys are pressed/not pressed at the same time
+ *
+ * Java reports key presses and releases on the AWT event thread, while the game checks keys on the game loop thread
+ * Each press or release is put in a queue as it happens, and update (called at the start of every game update) takes them all off of it
+ * and applies them in order, so the keyboard state can't change partway through an update and every class sees the same state during it
+ * Key presses and releases that happened since the last update are kept too, so a key that was tapped quickly between two updates still counts as pressed for one update
  */
 public class Keyboard {
 
-	// hashmaps keep track of if a key is currently down or up
-	private static final HashMap<Integer, Boolean> keyDown = new HashMap<>();
-	private static final HashMap<Integer, Boolean> keyUp = new HashMap<>();
+	// java key codes go up to around 65000, but only the ones below this are tracked (every key in the Key enum is well under it)
+	private static final int KEY_CODE_COUNT = 1024;
+
+	// bitsets of which keys are currently down, which went down since the last update, and which went up since the last update
+	private static final long[] keysHeld = new long[KEY_CODE_COUNT / 64];
+	private static final long[] keysPressed = new long[KEY_CODE_COUNT / 64];
+	private static final long[] keysReleased = new long[KEY_CODE_COUNT / 64];
+
+	// key presses and releases waiting to be applied by the next update
+	private static final KeyEventQueue keyEvents = new KeyEventQueue(1024);
+
+	// how many key events had been dropped by the queue as of the last update
+	private static int lastDroppedCount;
+
+	// how long the most recent key event waited in the queue before an update applied it, in nanoseconds
+	private static long lastInputLatency;
 
 	// maps a Key enum type to its key code
 	private static final EnumMap<Key, Integer> keyMap = buildKeyMap();
 
+	// the same key codes indexed by each Key's ordinal, so looking one up doesn't have to unbox anything
+	private static final int[] keyCodes = buildKeyCodes();
+
+	private static final KeyEventQueue.Consumer applyKeyEvent = (keyCode, isPressed, eventTime) -> {
+		if (keyCode >= KEY_CODE_COUNT) {
+			return;
+		}
+		int index = keyCode >>> 6;
+		long bit = 1L << keyCode;
+		if (isPressed) {
+			// holding a key down makes the OS repeat its press, which shouldn't count as it being pressed again
+			if ((keysHeld[index] & bit) == 0) {
+				keysPressed[index] |= bit;
+			}
+			keysHeld[index] |= bit;
+		} else {
+			keysReleased[index] |= bit;
+			keysHeld[index] &= ~bit;
+		}
+		lastInputLatency = System.nanoTime() - eventTime;
+		InputRecorder.record(keyCode, isPressed);
+	};
+
+	private static final KeyEventQueue.Consumer ignoreKeyEvent = (keyCode, isPressed, eventTime) -> { };
+
 	private static final KeyListener keyListener = new KeyListener() {
 		@Override
 		public void keyTyped(KeyEvent e) {
@@ -25,20 +67,12 @@ public class Keyboard {
 
 		@Override
 		public void keyPressed(KeyEvent e) {
-			// when key is pressed, set its keyDown state to true and its keyUp state to
-			// false
-			int keyCode = e.getKeyCode();
-			keyDown.put(keyCode, true);
-			keyUp.put(keyCode, false);
+			keyEvents.offer(e.getKeyCode(), true, System.nanoTime());
 		}
 
 		@Override
 		public void keyReleased(KeyEvent e) {
-			// when key is released, set its keyDown state to false and its keyUp state to
-			// true
-			int keyCode = e.getKeyCode();
-			keyDown.put(keyCode, false);
-			keyUp.put(keyCode, true);
+			keyEvents.offer(e.getKeyCode(), false, System.nanoTime());
 		}
 	};
 
@@ -51,20 +85,75 @@ public class Keyboard {
 		return keyListener;
 	}
 
+	// applies every key press and release that happened since the last update
+	// this is called once at the start of each game update, before anything checks the keyboard
+	// while a recording is being played back (see InputRecorder), the recorded key events are applied instead and the real keyboard is ignored
+	public static void update() {
+		for (int i = 0; i < keysHeld.length; i++) {
+			keysPressed[i] = 0;
+			keysReleased[i] = 0;
+		}
+
+		if (InputRecorder.isReplaying()) {
+			keyEvents.drain(ignoreKeyEvent);
+			InputRecorder.replayTick(applyKeyEvent);
+		} else {
+			keyEvents.drain(applyKeyEvent);
+
+			// if the queue was full and had to drop events, a key release may have been lost, which would leave that key stuck down
+			// so every key is let go of instead -- a key that's still being held gets picked back up once the OS repeats its press
+			int droppedCount = keyEvents.getDroppedCount();
+			if (droppedCount != lastDroppedCount) {
+				lastDroppedCount = droppedCount;
+				releaseAllKeys();
+			}
+		}
+		InputRecorder.endTick();
+	}
+
+	// lets go of every key that's down, the same as if each one had been released
+	private static void releaseAllKeys() {
+		for (int i = 0; i < keysHeld.length; i++) {
+			while (keysHeld[i] != 0) {
+				int keyCode = i * 64 + Long.numberOfTrailingZeros(keysHeld[i]);
+				applyKeyEvent.accept(keyCode, false, System.nanoTime());
+			}
+		}
+	}
+
 	// returns if a key is currently being pressed
+	// a key that was pressed and released again since the last update still counts as being pressed for this update
 	public static boolean isKeyDown(Key key) {
-		return keyDown.getOrDefault(keyMap.get(key), false);
+		int keyCode = keyCodes[key.ordinal()];
+		return isSet(keysHeld, keyCode) || isSet(keysPressed, keyCode);
 	}
 
 	// returns if a key is currently not being pressed
+	// a key that was released and pressed again since the last update still counts as not being pressed for this update
 	public static boolean isKeyUp(Key key) {
-		return keyUp.getOrDefault(keyMap.get(key), true);
+		int keyCode = keyCodes[key.ordinal()];
+		return !isSet(keysHeld, keyCode) || isSet(keysReleased, keyCode);
+	}
+
+	// returns if a key went down since the last update (holding a key down only counts once)
+	public static boolean wasKeyPressed(Key key) {
+		return isSet(keysPressed, keyCodes[key.ordinal()]);
+	}
+
+	// returns if a key went up since the last update
+	public static boolean wasKeyReleased(Key key) {
+		return isSet(keysReleased, keyCodes[key.ordinal()]);
+	}
+
+	// returns if a key is still down after applying every key press and release since the last update
+	public static boolean isKeyHeld(Key key) {
+		return isSet(keysHeld, keyCodes[key.ordinal()]);
 	}
 
 	// checks if multiple keys are being pressed at the same time
 	public static boolean areKeysDown(Key[] keys) {
 		for (Key key : keys) {
-			if (!keyDown.getOrDefault(keyMap.get(key), false)) {
+			if (!isKeyDown(key)) {
 				return false;
 			}
 		}
@@ -74,7 +163,7 @@ public class Keyboard {
 	// checks if multiple keys are not being pressed at the same time
 	public static boolean areKeysUp(Key[] keys) {
 		for (Key key : keys) {
-			if (!keyUp.getOrDefault(keyMap.get(key), false)) {
+			if (!isKeyUp(key)) {
 				return false;
 			}
 		}
@@ -86,6 +175,28 @@ public class Keyboard {
 		return Keyboard.isKeyDown(Key.DOWN);
 	}
 
+	// how long the most recent key press or release took to be applied after it happened, in nanoseconds
+	public static long getLastInputLatency() {
+		return lastInputLatency;
+	}
+
+	// how many key presses and releases were lost because the game fell too far behind to apply them
+	public static int getDroppedEventCount() {
+		return keyEvents.getDroppedCount();
+	}
+
+	private static boolean isSet(long[] keys, int keyCode) {
+		return (keys[keyCode >>> 6] & (1L << keyCode)) != 0;
+	}
+
+	private static int[] buildKeyCodes() {
+		int[] keyCodes = new int[Key.values().length];
+		for (Key key : Key.values()) {
+			keyCodes[key.ordinal()] = keyMap.get(key);
+		}
+		return keyCodes;
+	}
+
 	// maps a Key enum type to its keycode
 	// Java keycodes were found here: https://stackoverflow.com/a/31637206
 	private static EnumMap<Key, Integer> buildKeyMap() {
@@ -135,6 +246,8 @@ public class Keyboard {
 				put(Key.ZERO, 48);
 				put(Key.SPACE, 32);
 				put(Key.ESC, 27);
+				put(Key.F5, 116);
+				put(Key.F9, 120);
 			}
 		};
 	}
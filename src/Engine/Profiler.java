@@ -0,0 +1,71 @@
+package Engine;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * This class keeps track of how long named sections of the game take to run (such as switching between screens)
+ * Anything that takes longer than one frame at the target FPS is a hitch -- the game loop was stalled long enough for a frame to be dropped
+ * Hitches are printed out, and the most recent one is shown along with the FPS display (toggled with the G key)
+ */
+public class Profiler {
+    // how long one frame lasts at the target FPS, in nanoseconds
+    public static final long FRAME_NANOS = 1000000000L / Config.TARGET_FPS;
+
+    // times recorded so far mapped to the name of their section
+    private static final ConcurrentHashMap<String, Section> sections = new ConcurrentHashMap<>();
+
+    // description of the most recent hitch, or null if there hasn't been one
+    private static volatile String lastHitch;
+
+    // prevents Profiler from being instantiated
+    private Profiler() { }
+
+    // the times recorded for one named section
+    public static class Section {
+        private int count;
+        private long totalNanos;
+        private long maxNanos;
+        private long lastNanos;
+
+        private synchronized void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            lastNanos = nanos;
+        }
+
+        public synchronized int getCount() {
+            return count;
+        }
+
+        public synchronized long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public synchronized long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public synchronized long getLastNanos() {
+            return lastNanos;
+        }
+    }
+
+    // records how long a section took to run, and reports it if it was a hitch
+    public static void record(String name, long nanos) {
+        sections.computeIfAbsent(name, key -> new Section()).add(nanos);
+        if (nanos > FRAME_NANOS) {
+            lastHitch = String.format("%s: %.1f ms", name, nanos / 1000000.0);
+            System.out.println("Hitch -- " + lastHitch);
+        }
+    }
+
+    // returns the times recorded for a section, or null if nothing has been recorded for it
+    public static Section getSection(String name) {
+        return sections.get(name);
+    }
+
+    public static String getLastHitch() {
+        return lastHitch;
+    }
+}
@@ -7,4 +7,8 @@ public abstract class Screen {
     public abstract void initialize();
     public abstract void update();
     public abstract void draw(GraphicsHandler graphicsHandler);
+
+    // loads anything the screen needs ahead of time so that initialize is quick
+    // this is called on a background thread before initialize (if the screen is preloaded at all), so it must not touch the current screen's state
+    public void preload() { }
 }
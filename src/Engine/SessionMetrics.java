@@ -0,0 +1,240 @@
+package Engine;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * This class writes a summary of how the game has been running to a file every so often (every second by default), one JSON object per line,
+ * so long play sessions can be looked at afterwards (such as seeing if FPS drops the longer the game runs) without having to attach a profiler
+ * Each line has how fast the game updated, how long updates took (median, 95th and 99th percentile, and longest), how many enemies, npcs and projectiles the map had,
+ * how quickly the game loop was allocating memory, how much of the heap was in use, and which game state and wave the game was on
+ *
+ * The game is run with --session-metrics <file> to write a line every second, and --session-metrics-ticks <n> to write one every n updates instead
+ * Lines are written out by a background thread, so the game loop never waits on the file -- if the writer somehow falls behind, lines are dropped rather than the game stalling
+ */
+public class SessionMetrics {
+    private static final int QUEUE_SIZE = 64;
+
+    // how long the game waits for the writer thread to finish writing out the last lines when it closes
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 1000;
+
+    // put in the queue when the game closes to tell the writer thread there are no more lines coming (compared by reference, so it can't be mistaken for a real line)
+    private static final String END_OF_LINES = new String("end of lines");
+
+    private static boolean isEnabled = false;
+    private static String metricsFileName;
+    private static int intervalTicks = 0;
+
+    // lines waiting to be written to the file
+    private static final ArrayBlockingQueue<String> lines = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private static BufferedWriter writer;
+    private static Thread writerThread;
+    private static int droppedLineCount;
+
+    // how long each update in the current interval took, in nanoseconds
+    private static long[] tickNanos = new long[Config.TARGET_FPS * 2];
+    private static int tickCount;
+    private static long totalTicks;
+    private static long sessionStartNanos;
+    private static long intervalStartNanos;
+    private static long intervalStartAllocatedBytes;
+
+    // the game loop thread's allocations can be measured on HotSpot virtual machines
+    private static final com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+
+    // what the game is doing, given to this class by the screen coordinator and the map as it changes
+    private static String gameState = "";
+    private static int waveNumber;
+    private static int enemyCount;
+    private static int npcCount;
+    private static int projectileCount;
+
+    // prevents SessionMetrics from being instantiated
+    private SessionMetrics() { }
+
+    // turns on writing metrics based on the game's command line arguments
+    public static void configure(String[] args) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--session-metrics")) {
+                metricsFileName = args[i + 1];
+            } else if (args[i].equals("--session-metrics-ticks")) {
+                try {
+                    intervalTicks = Integer.parseInt(args[i + 1]);
+                } catch (NumberFormatException ex) {
+                    System.out.println("Ignoring --session-metrics-ticks " + args[i + 1] + " since it isn't a whole number, metrics will be written every second instead");
+                }
+            }
+        }
+        if (metricsFileName != null) {
+            start(metricsFileName);
+        }
+    }
+
+    // starts writing metrics to the given file
+    public static void start(String fileName) {
+        if (isEnabled) {
+            return;
+        }
+        try {
+            writer = new BufferedWriter(new FileWriter(fileName));
+        } catch (IOException ex) {
+            System.out.println("Unable to write session metrics to " + fileName + ": " + ex.getMessage());
+            return;
+        }
+        metricsFileName = fileName;
+        isEnabled = true;
+
+        writerThread = new Thread(SessionMetrics::writeLines, "Session Metrics Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        // any lines still waiting to be written are written out when the game closes
+        Runtime.getRuntime().addShutdownHook(new Thread(SessionMetrics::stop, "Session Metrics Shutdown"));
+        System.out.println("Writing session metrics to " + fileName);
+    }
+
+    // called by the game loop once each update is done with how long it took
+    public static void tickFinished(long nanos) {
+        if (!isEnabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (totalTicks == 0) {
+            sessionStartNanos = now - nanos;
+            startInterval(sessionStartNanos);
+        }
+        if (tickCount == tickNanos.length) {
+            tickNanos = Arrays.copyOf(tickNanos, tickNanos.length * 2);
+        }
+        tickNanos[tickCount++] = nanos;
+        totalTicks++;
+
+        boolean isIntervalOver = intervalTicks > 0 ? tickCount >= intervalTicks : now - intervalStartNanos >= 1000000000L;
+        if (isIntervalOver) {
+            if (!lines.offer(createLine(now))) {
+                droppedLineCount++;
+            }
+            startInterval(now);
+        }
+    }
+
+    public static void setGameState(String gameState) {
+        SessionMetrics.gameState = gameState;
+        // the map that was being played isn't anymore, so its counts no longer apply
+        waveNumber = 0;
+        enemyCount = 0;
+        npcCount = 0;
+        projectileCount = 0;
+    }
+
+    // called by the map being played each update
+    public static void setMapStats(int waveNumber, int enemyCount, int npcCount, int projectileCount) {
+        SessionMetrics.waveNumber = waveNumber;
+        SessionMetrics.enemyCount = enemyCount;
+        SessionMetrics.npcCount = npcCount;
+        SessionMetrics.projectileCount = projectileCount;
+    }
+
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    // how many lines were thrown away because the writer thread fell behind
+    public static int getDroppedLineCount() {
+        return droppedLineCount;
+    }
+
+    private static void startInterval(long now) {
+        tickCount = 0;
+        intervalStartNanos = now;
+        intervalStartAllocatedBytes = getAllocatedBytes();
+    }
+
+    private static String createLine(long now) {
+        double intervalSeconds = (now - intervalStartNanos) / 1000000000.0;
+        long allocatedBytes = getAllocatedBytes();
+        Arrays.sort(tickNanos, 0, tickCount);
+        Runtime runtime = Runtime.getRuntime();
+
+        StringBuilder line = new StringBuilder(320);
+        line.append("{\"timeMs\":").append((now - sessionStartNanos) / 1000000);
+        line.append(",\"ticks\":").append(totalTicks);
+        line.append(",\"fps\":").append(round(tickCount / intervalSeconds));
+        line.append(",\"tickMsP50\":").append(round(percentile(0.50) / 1000000.0));
+        line.append(",\"tickMsP95\":").append(round(percentile(0.95) / 1000000.0));
+        line.append(",\"tickMsP99\":").append(round(percentile(0.99) / 1000000.0));
+        line.append(",\"tickMsMax\":").append(round(tickNanos[tickCount - 1] / 1000000.0));
+        line.append(",\"enemies\":").append(enemyCount);
+        line.append(",\"npcs\":").append(npcCount);
+        line.append(",\"projectiles\":").append(projectileCount);
+        if (allocatedBytes >= 0) {
+            line.append(",\"allocMBPerSec\":").append(round((allocatedBytes - intervalStartAllocatedBytes) / intervalSeconds / (1024 * 1024)));
+        }
+        line.append(",\"heapUsedMB\":").append(round((runtime.totalMemory() - runtime.freeMemory()) / (1024.0 * 1024)));
+        line.append(",\"gameState\":\"").append(gameState).append('"');
+        line.append(",\"wave\":").append(waveNumber);
+        line.append('}');
+        return line.toString();
+    }
+
+    // the tick time that the given fraction of this interval's ticks took at most (tick times have to be sorted first)
+    private static long percentile(double fraction) {
+        int index = (int) Math.ceil(fraction * tickCount) - 1;
+        return tickNanos[Math.max(0, Math.min(tickCount - 1, index))];
+    }
+
+    // rounds to two decimal places so lines don't fill up with meaningless digits
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    // how many bytes the game loop thread has allocated in total, or -1 if that can't be measured
+    private static long getAllocatedBytes() {
+        return threadMXBean != null ? threadMXBean.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+            return (com.sun.management.ThreadMXBean) threadMXBean;
+        }
+        return null;
+    }
+
+    // runs on the writer thread, writing out each line as it comes in until it's told there are no more
+    // only this thread ever writes to the file, so lines always end up in it in the order they were made
+    private static void writeLines() {
+        try {
+            String line;
+            while ((line = lines.take()) != END_OF_LINES) {
+                writer.write(line);
+                writer.newLine();
+                if (lines.isEmpty()) {
+                    writer.flush();
+                }
+            }
+            writer.close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            System.out.println("Unable to write session metrics to " + metricsFileName + ": " + ex.getMessage());
+        }
+    }
+
+    // runs when the game closes, letting the writer thread write out the lines still waiting in the queue and waiting for it to finish
+    // (the lines are left to the writer thread rather than written from here, since it may be partway through writing one)
+    private static void stop() {
+        try {
+            if (lines.offer(END_OF_LINES, SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package Engine;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/*
+ * This class times each phase of the game starting up, from the Java virtual machine starting to the menu first being shown on screen
+ * Anything that happens while the game is starting up can be timed the same way sections are timed with the Profiler:
+ *   long startTime = StartupTracer.begin();
+ *   ...
+ *   StartupTracer.end("Build CommonTileset", startTime);
+ * Phases can run at the same time on different threads (such as images being preloaded), so each one records which thread it ran on
+ * Startup is over once the first frame of the menu has been drawn, after which begin and end do nothing
+ *
+ * If the game is run with --trace-startup, the phases are printed out and written to STARTUP_TRACE_FILE once startup is over
+ * If it's run with --exit-after-first-frame, the same happens and then the game exits, so how long the game takes to start can be measured over and over again
+ */
+public class StartupTracer {
+    public static final String STARTUP_TRACE_FILE = "startup_trace.txt";
+
+    // when the virtual machine started, which all phases are timed from
+    private static final long ORIGIN_NANOS = System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1000000L;
+
+    // phases can finish on any thread
+    private static final ConcurrentLinkedQueue<Phase> phases = new ConcurrentLinkedQueue<>();
+
+    private static volatile boolean isTracing = true;
+    private static volatile boolean isMenuShown = false;
+    private static boolean hasPresentedFrame = false;
+    private static boolean isReportEnabled = false;
+    private static boolean exitAfterFirstFrame = false;
+
+    // prevents StartupTracer from being instantiated
+    private StartupTracer() { }
+
+    // one timed phase of starting up
+    private static class Phase {
+        private final String name;
+        private final String threadName;
+        private final long startNanos;
+        private final long endNanos;
+
+        private Phase(String name, String threadName, long startNanos, long endNanos) {
+            this.name = name;
+            this.threadName = threadName;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+    }
+
+    // sets what happens once startup is over based on the game's command line arguments
+    public static void configure(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--trace-startup")) {
+                isReportEnabled = true;
+            } else if (arg.equals("--exit-after-first-frame")) {
+                isReportEnabled = true;
+                exitAfterFirstFrame = true;
+            }
+        }
+        // everything before the game's code started running is loading the virtual machine and the game's main class
+        end("Start virtual machine", ORIGIN_NANOS);
+    }
+
+    // gets the start time of a phase, which is passed to end once the phase is done
+    public static long begin() {
+        return System.nanoTime();
+    }
+
+    // records a phase that started at startNanos (from begin) and is done now
+    public static void end(String name, long startNanos) {
+        if (isTracing) {
+            phases.add(new Phase(name, Thread.currentThread().getName(), startNanos, System.nanoTime()));
+        }
+    }
+
+    // records that something happened right now, as a phase that takes no time
+    public static void mark(String name) {
+        end(name, System.nanoTime());
+    }
+
+    // called when the menu is switched to, so startup ends once the menu has been drawn
+    public static void menuShown() {
+        isMenuShown = true;
+    }
+
+    // called each time a frame is drawn to the screen
+    public static void framePresented() {
+        if (!isTracing) {
+            return;
+        }
+        if (!hasPresentedFrame) {
+            hasPresentedFrame = true;
+            mark("First frame presented");
+        }
+        if (isMenuShown) {
+            mark("First menu frame presented");
+            isTracing = false;
+            if (isReportEnabled) {
+                writeReport();
+            }
+            if (exitAfterFirstFrame) {
+                System.exit(0);
+            }
+        }
+    }
+
+    // how long it took from the virtual machine starting to the first frame of the menu being drawn, in nanoseconds (or -1 if that hasn't happened yet)
+    public static long getStartupTime() {
+        if (isTracing) {
+            return -1;
+        }
+        long endNanos = ORIGIN_NANOS;
+        for (Phase phase : phases) {
+            endNanos = Math.max(endNanos, phase.endNanos);
+        }
+        return endNanos - ORIGIN_NANOS;
+    }
+
+    private static void writeReport() {
+        ArrayList<Phase> sortedPhases = new ArrayList<>(phases);
+        sortedPhases.sort(Comparator.comparingLong((Phase phase) -> phase.startNanos).thenComparingLong(phase -> phase.endNanos));
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Startup took %.1f ms%n", getStartupTime() / 1000000.0));
+        report.append(String.format("%10s %10s  %-40s %s%n", "start ms", "took ms", "phase", "thread"));
+        for (Phase phase : sortedPhases) {
+            report.append(String.format("%10.1f %10.1f  %-40s %s%n", (phase.startNanos - ORIGIN_NANOS) / 1000000.0,
+                    (phase.endNanos - phase.startNanos) / 1000000.0, phase.name, phase.threadName));
+        }
+
+        System.out.print(report);
+        try (FileWriter writer = new FileWriter(STARTUP_TRACE_FILE)) {
+            writer.write(report.toString());
+        } catch (IOException ex) {
+            System.out.println("Unable to write " + STARTUP_TRACE_FILE + ": " + ex.getMessage());
+        }
+    }
+}
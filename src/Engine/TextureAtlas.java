@@ -0,0 +1,200 @@
+package Engine;
+
+import Utils.ImageUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/*
+ * This class reads image files out of the texture atlas, which is a few large images (pages) that most of the small images in the RESOURCES_PATH directory have been packed into
+ * Reading one page in place of dozens of separate image files means far fewer files are opened and decoded when the game starts up,
+ * and images that are drawn one after another (such as every sprite sheet used by a level) sit next to each other in memory
+ * The atlas is built by running MapEditor.TextureAtlasPacker, which writes the pages and an index file into the ATLAS_PATH directory
+ *
+ * The index file is a text file laid out like this:
+ *   first line: number of pages
+ *   then one line per packed image: page number, x, y, width, height, size of the original image file in bytes, CRC32 of the original image file,
+ *   image file name (relative to RESOURCES_PATH)
+ * The original file's size and CRC32 are used to notice an image file that was changed after the atlas was built, in which case the image file is read instead
+ * (the CRC32 catches changes that keep the file the same size, such as recoloring an image without changing its palette)
+ * If there is no atlas at all, every image is read from its own file like before
+ */
+public class TextureAtlas {
+    public static final String ATLAS_PATH = Config.RESOURCES_PATH + "Atlas/";
+    public static final String INDEX_FILE_NAME = "atlas.txt";
+
+    // where each packed image is in the atlas, by its image file name
+    // read in the first time an image is asked for
+    private static HashMap<String, Entry> entries;
+
+    // pages that have been read in, mapped to their page number and transparent color
+    private static final ConcurrentHashMap<String, BufferedImage> loadedPages = new ConcurrentHashMap<>();
+
+    // where an image was packed into the atlas
+    public static class Entry {
+        private final int page;
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+        private final long fileSize;
+        private final long fileChecksum;
+
+        public Entry(int page, int x, int y, int width, int height, long fileSize, long fileChecksum) {
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.fileSize = fileSize;
+            this.fileChecksum = fileChecksum;
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public long getFileSize() {
+            return fileSize;
+        }
+
+        public long getFileChecksum() {
+            return fileChecksum;
+        }
+    }
+
+    // prevents TextureAtlas from being instantiated
+    private TextureAtlas() { }
+
+    // gets the file a page of the atlas is saved to
+    public static File getPageFile(int page) {
+        return new File(ATLAS_PATH + "atlas" + page + ".png");
+    }
+
+    // gets an image file out of the atlas with its transparent color applied, or null if it isn't in the atlas (or has changed since the atlas was built)
+    // the returned image shares its pixels with the rest of its page, so like any image from ImageLoader it must not be drawn on or changed
+    static BufferedImage getImage(String imageFileName, Color transparentColor) {
+        Entry entry = getEntries().get(imageFileName);
+        if (entry == null) {
+            return null;
+        }
+        File imageFile = new File(Config.RESOURCES_PATH + imageFileName);
+        if (imageFile.exists() && (imageFile.length() != entry.getFileSize() || getFileChecksum(imageFile) != entry.getFileChecksum())) {
+            System.out.println(imageFileName + " has changed since the texture atlas was built, run TextureAtlasPacker again to update it");
+            return null;
+        }
+        BufferedImage page;
+        try {
+            page = loadedPages.computeIfAbsent(entry.getPage() + "#" + transparentColor.getRGB(), key -> {
+                try {
+                    EngineEvents.AssetDecode decodeEvent = new EngineEvents.AssetDecode();
+                    decodeEvent.begin();
+                    long startTime = StartupTracer.begin();
+                    BufferedImage pageImage = ImageIO.read(getPageFile(entry.getPage()));
+                    if (pageImage == null) {
+                        throw new IOException("not a readable image");
+                    }
+                    BufferedImage transparentPageImage = ImageUtils.transformColorToTransparency(pageImage, transparentColor);
+                    StartupTracer.end("Decode " + getPageFile(entry.getPage()).getName(), startTime);
+                    decodeEvent.end();
+                    if (decodeEvent.shouldCommit()) {
+                        decodeEvent.assetName = getPageFile(entry.getPage()).getName();
+                        decodeEvent.width = transparentPageImage.getWidth();
+                        decodeEvent.height = transparentPageImage.getHeight();
+                        decodeEvent.commit();
+                    }
+                    return transparentPageImage;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            System.out.println("Unable to read texture atlas page " + getPageFile(entry.getPage()) + " (" + e.getCause().getMessage() + "), reading " + imageFileName + " separately");
+            return null;
+        }
+        return page.getSubimage(entry.getX(), entry.getY(), entry.getWidth(), entry.getHeight());
+    }
+
+    // gets the CRC32 of a file's contents, or -1 if it can't be read
+    // the file still has to be read to check it against the atlas, but that's far cheaper than decoding it as an image
+    public static long getFileChecksum(File file) {
+        try (FileInputStream input = new FileInputStream(file)) {
+            CRC32 crc = new CRC32();
+            crc.update(input.readAllBytes());
+            return crc.getValue();
+        } catch (IOException ex) {
+            return -1;
+        }
+    }
+
+    // gets the file name of every image in the atlas
+    static Set<String> getImageFileNames() {
+        return getEntries().keySet();
+    }
+
+    private static synchronized HashMap<String, Entry> getEntries() {
+        if (entries == null) {
+            entries = readIndexFile(new File(ATLAS_PATH + INDEX_FILE_NAME));
+        }
+        return entries;
+    }
+
+    // reads in an atlas index file, returning no entries if there isn't one
+    public static HashMap<String, Entry> readIndexFile(File indexFile) {
+        HashMap<String, Entry> entries = new HashMap<>();
+        if (!indexFile.exists()) {
+            return entries;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(indexFile))) {
+            int pageCount = Integer.parseInt(reader.readLine().trim());
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] values = line.split(" ", 8);
+                if (values.length < 8) {
+                    throw new IOException("line \"" + line + "\" is missing values (the atlas may have been built by an older version of TextureAtlasPacker)");
+                }
+                Entry entry = new Entry(Integer.parseInt(values[0]), Integer.parseInt(values[1]), Integer.parseInt(values[2]),
+                        Integer.parseInt(values[3]), Integer.parseInt(values[4]), Long.parseLong(values[5]), Long.parseLong(values[6]));
+                if (entry.getPage() < 0 || entry.getPage() >= pageCount) {
+                    throw new IOException("image " + values[7] + " is on page " + entry.getPage() + " but there are only " + pageCount + " pages");
+                }
+                entries.put(values[7], entry);
+            }
+        } catch (IOException | RuntimeException ex) {
+            // the images are all still there as separate files, so the game can still run without the atlas
+            System.out.println("Unable to read texture atlas index " + indexFile + " (" + ex.getMessage() + "), image files will be read separately");
+            entries.clear();
+        }
+        return entries;
+    }
+}
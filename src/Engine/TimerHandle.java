@@ -0,0 +1,39 @@
+package Engine;
+
+/*
+ * This class represents a callback that has been scheduled to run on a later game tick (see GameClock.schedule)
+ * It can be used to check if the callback is still waiting to run, or to cancel it before it does
+ */
+public class TimerHandle {
+    private final long deadline;
+    private final Runnable callback;
+    private boolean isPending = true;
+
+    TimerHandle(long deadline, Runnable callback) {
+        this.deadline = deadline;
+        this.callback = callback;
+    }
+
+    // the game tick this timer will go off on
+    public long getDeadline() {
+        return deadline;
+    }
+
+    // returns true if this timer has not gone off or been cancelled yet
+    public boolean isPending() {
+        return isPending;
+    }
+
+    // stops this timer from going off -- does nothing if it already has
+    // the timer is left where it is in the timing wheel and just skipped over when its slot comes up
+    public void cancel() {
+        isPending = false;
+    }
+
+    void fire() {
+        if (isPending) {
+            isPending = false;
+            callback.run();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package Engine;
+
+import java.util.ArrayList;
+
+/*
+ * This class schedules callbacks to run on a later game tick
+ * Instead of every timer being checked each tick, timers are sorted into slots by the tick they go off on,
+ * so advancing a tick only has to look at the one slot for that tick
+ *
+ * The wheel is hierarchical: level 0 has a slot for each of the next 64 ticks, level 1 has a slot for each of the next 64 blocks of 64 ticks, and so on
+ * A timer far in the future starts off in a higher level, and gets moved down a level each time the wheel reaches the block it is in,
+ * until it ends up in level 0 and goes off on its exact tick
+ * Timers further out than the top level can cover are kept in an overflow list and moved into the wheel once they're close enough
+ */
+public class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS_PER_LEVEL = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+    private static final int LEVELS = 4;
+
+    private final ArrayList<TimerHandle>[][] slots;
+    private final ArrayList<TimerHandle> overflow = new ArrayList<>();
+
+    // timers are moved into this list before being fired or moved down a level, so that a callback can safely schedule new timers
+    private final ArrayList<TimerHandle> processing = new ArrayList<>();
+
+    // last tick the wheel was advanced to
+    private long currentTick;
+
+    // generic arrays can't be created directly, so the slots are created as raw lists
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        slots = new ArrayList[LEVELS][SLOTS_PER_LEVEL];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS_PER_LEVEL; slot++) {
+                slots[level][slot] = new ArrayList<>();
+            }
+        }
+    }
+
+    // schedules a callback to run on the given tick
+    // if that tick has already been reached, the callback runs on the next tick instead
+    public TimerHandle schedule(long deadline, Runnable callback) {
+        TimerHandle timer = new TimerHandle(Math.max(deadline, currentTick + 1), callback);
+        place(timer);
+        return timer;
+    }
+
+    // moves the wheel forward one tick at a time up to the given tick, running every timer that goes off along the way
+    public void advanceTo(long tick) {
+        while (currentTick < tick) {
+            currentTick++;
+
+            // on a block boundary, timers in the block that was just reached get moved down, starting with the highest level
+            // so that timers moved down from a higher level get moved down again if they need to be
+            if ((currentTick & SLOT_MASK) == 0) {
+                if ((currentTick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+                    cascade(overflow);
+                }
+                for (int level = LEVELS - 1; level > 0; level--) {
+                    if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                        cascade(slots[level][slotIndex(currentTick, level)]);
+                    }
+                }
+            }
+
+            ArrayList<TimerHandle> slot = slots[0][slotIndex(currentTick, 0)];
+            if (!slot.isEmpty()) {
+                processing.addAll(slot);
+                slot.clear();
+                for (TimerHandle timer : processing) {
+                    timer.fire();
+                }
+                processing.clear();
+            }
+        }
+    }
+
+    // cancels every scheduled timer
+    public void clear() {
+        for (ArrayList<TimerHandle>[] level : slots) {
+            for (ArrayList<TimerHandle> slot : level) {
+                for (TimerHandle timer : slot) {
+                    timer.cancel();
+                }
+                slot.clear();
+            }
+        }
+        for (TimerHandle timer : overflow) {
+            timer.cancel();
+        }
+        overflow.clear();
+    }
+
+    // re-places every pending timer in a slot now that the wheel has moved closer to them
+    private void cascade(ArrayList<TimerHandle> slot) {
+        if (slot.isEmpty()) {
+            return;
+        }
+        processing.addAll(slot);
+        slot.clear();
+        for (TimerHandle timer : processing) {
+            if (timer.isPending()) {
+                place(timer);
+            }
+        }
+        processing.clear();
+    }
+
+    // a timer goes in the lowest level where its deadline is in the same block as the current tick
+    private void place(TimerHandle timer) {
+        long deadline = timer.getDeadline();
+        for (int level = 0; level < LEVELS; level++) {
+            if ((deadline >> (SLOT_BITS * (level + 1))) == (currentTick >> (SLOT_BITS * (level + 1)))) {
+                slots[level][slotIndex(deadline, level)].add(timer);
+                return;
+            }
+        }
+        overflow.add(timer);
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+}
@@ -0,0 +1,13 @@
+package Engine;
+
+import java.awt.Graphics;
+
+// The weapon overlays (such as FPistolOverlay) each show the picture of the weapon the player is holding in the corner of the screen
+// this lets the HUD draw whichever one is being shown without needing to know which weapon it is
+public interface WeaponOverlay {
+    void draw(Graphics g);
+    int getX();
+    int getY();
+    int getWidth();
+    int getHeight();
+}
@@ -1,7 +1,11 @@
 package Game;
 
 import Engine.GameWindow;
+import Engine.InputRecorder;
 import Engine.ScreenManager;
+import Engine.SessionMetrics;
+import Engine.StartupTracer;
+import Level.MapFileWatcher;
 
 /*
  * The game starts here,
@@ -10,14 +14,32 @@ import Engine.ScreenManager;
  */
 public class Game {
 
+    // passing --trace-startup or --exit-after-first-frame reports how long each part of starting up took (see StartupTracer)
+    // passing --record-input <file> records the keys pressed while playing, and --replay-input <file> plays them back (see InputRecorder)
+    // passing --session-metrics <file> writes how the game is running to a file every second (see SessionMetrics)
     public static void main(String[] args) {
+        StartupTracer.configure(args);
+        InputRecorder.configure(args);
+        SessionMetrics.configure(args);
         new Game();
     }
 
     public Game() {
+        long startTime = StartupTracer.begin();
         GameWindow gameWindow = new GameWindow();
+        StartupTracer.end("Create game window", startTime);
+
+        startTime = StartupTracer.begin();
         ScreenManager screenManager = gameWindow.getScreenManager();
         screenManager.setCurrentScreen(new ScreenCoordinator());
+        StartupTracer.end("Create screen coordinator", startTime);
+
+        // maps pick up changes to their map files (such as from the map editor) without the game having to be restarted
+        startTime = StartupTracer.begin();
+        MapFileWatcher.start();
+        StartupTracer.end("Start map file watcher", startTime);
+
         gameWindow.startGame();
+        StartupTracer.mark("Start game loop");
     }
 }
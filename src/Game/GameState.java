@@ -2,7 +2,8 @@ package Game;
 
 /*
  * This is used by the ScreenCoordinator class to determine which "state" the game is currently in
+ * New game states go on the end, since quick saves store the game state by its position in this list
  */
 public enum GameState {
-    MENU, LEVEL, WORLDONE, WORLDTWO, WORLDTHREE, CREDITS, GAMECOMPLETE
+    MENU, LEVEL, WORLDONE, WORLDTWO, WORLDTHREE, CREDITS, GAMECOMPLETE, LOADING
 }
@@ -0,0 +1,71 @@
+package Game;
+
+import Engine.Config;
+import Engine.EngineEvents;
+import Engine.GameClock;
+import Engine.InputRecorder;
+import Engine.Keyboard;
+import Engine.ScreenManager;
+import Engine.SessionMetrics;
+import GameObject.Rectangle;
+
+// Plays back an input recording (see InputRecorder) without a window, updating the game as fast as it can instead of at the target FPS
+// Nothing is drawn, so this measures just the game's updates, and the same recording always plays out the exact same game,
+// which makes it a repeatable workload for comparing engine changes
+// It records the same flight recorder events as the game does, so it can be run with -XX:StartFlightRecording to see where the time goes
+// usage: ReplayRunner <recording file> [--session-metrics <file> [--session-metrics-ticks <n>]]
+public class ReplayRunner {
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("usage: ReplayRunner <recording file>");
+            return;
+        }
+        InputRecorder.openReplay(args[0]);
+        SessionMetrics.configure(args);
+
+        ScreenManager screenManager = new ScreenManager();
+        screenManager.initialize(new Rectangle(0, 0, Config.GAME_WINDOW_WIDTH, Config.GAME_WINDOW_HEIGHT));
+        ScreenCoordinator screenCoordinator = new ScreenCoordinator();
+        screenManager.setCurrentScreen(screenCoordinator);
+
+        // the game loads until the menu shows up, which is when the recording starts playing back
+        // (a recording with no updates in it is finished as soon as it starts, so this waits for it to start rather than for it to be playing)
+        long loadStartTime = System.nanoTime();
+        while (!InputRecorder.isStarted()) {
+            update(screenManager);
+        }
+        long loadTime = System.nanoTime() - loadStartTime;
+
+        long replayStartTime = System.nanoTime();
+        while (InputRecorder.isReplaying()) {
+            update(screenManager);
+        }
+        long replayTime = System.nanoTime() - replayStartTime;
+
+        long ticks = InputRecorder.getTick();
+        System.out.printf("Loading took %.1f ms%n", loadTime / 1000000.0);
+        System.out.printf("Replayed %d updates in %.1f ms (%.0f updates per second, %.3f ms per update), ended on %s%n",
+                ticks, replayTime / 1000000.0, ticks / (replayTime / 1000000000.0), replayTime / 1000000.0 / Math.max(1, ticks), screenCoordinator.getGameState());
+    }
+
+    // the same steps GamePanel takes each update, minus the FPS display
+    private static void update(ScreenManager screenManager) {
+        EngineEvents.Tick tickEvent = new EngineEvents.Tick();
+        tickEvent.begin();
+        long tickStartTime = System.nanoTime();
+        long tick = GameClock.getTicks();
+
+        Keyboard.update();
+        GameClock.tick();
+        screenManager.update();
+
+        int collisionQueries = EngineEvents.takeCollisionQueryCount();
+        tickEvent.end();
+        if (tickEvent.shouldCommit()) {
+            tickEvent.tick = tick;
+            tickEvent.collisionQueries = collisionQueries;
+            tickEvent.commit();
+        }
+        SessionMetrics.tickFinished(System.nanoTime() - tickStartTime);
+    }
+}
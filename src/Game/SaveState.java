@@ -0,0 +1,104 @@
+package Game;
+
+import Engine.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+
+/*
+ * This class quick saves the game being played to a file and quick loads it back, using a compact binary format
+ * Every value is written by hand into one buffer that is allocated up front and reused for every save and load,
+ * so saving and loading don't create garbage and only take a few milliseconds
+ *
+ * Save files are laid out like this (numbers are big endian):
+ *   header: magic number "TASV" (int), format version (short), game state that was being played (byte), length of the screen's state in bytes (int)
+ *   the screen's state, which is whatever the screen's writeState method writes
+ *   (for the world screens that's their weapon state, followed by the player (see Player.writeState) and the map (see Map.writeState))
+ * FORMAT_VERSION has to be bumped whenever anything that gets written changes, since saves from before the change can't be read anymore
+ */
+public class SaveState {
+    public static final int MAGIC_NUMBER = 0x54415356; // "TASV"
+    public static final short FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 11;
+    private static final int MAX_SAVE_SIZE = 1 << 20;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(MAX_SAVE_SIZE);
+
+    // gets the file a quick save slot is saved to
+    public static File getSlotFile(int slot) {
+        return new File(Config.SAVE_FILES_PATH + "quicksave" + slot + ".sav");
+    }
+
+    // saves a screen's state to a file, and returns how many bytes were written
+    public int save(File file, GameState gameState, SaveableScreen screen) throws IOException {
+        buffer.clear();
+        try {
+            buffer.putInt(MAGIC_NUMBER);
+            buffer.putShort(FORMAT_VERSION);
+            buffer.put((byte) gameState.ordinal());
+            buffer.putInt(0); // filled in once the screen's state has been written
+            screen.writeState(buffer);
+        } catch (BufferOverflowException ex) {
+            throw new IOException("Save is larger than " + MAX_SAVE_SIZE + " bytes");
+        }
+        buffer.putInt(HEADER_SIZE - Integer.BYTES, buffer.position() - HEADER_SIZE);
+        buffer.flip();
+
+        File saveDirectory = file.getParentFile();
+        if (saveDirectory != null) {
+            saveDirectory.mkdirs();
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return buffer.limit();
+    }
+
+    // loads a save file back into a screen
+    // screenForGameState is given the game state the save was made in, and has to return that game state's screen (already initialized) to read the save into
+    public void load(File file, Function<GameState, SaveableScreen> screenForGameState) throws IOException {
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > MAX_SAVE_SIZE) {
+                throw new IOException(file + " is larger than " + MAX_SAVE_SIZE + " bytes");
+            }
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+        }
+        buffer.flip();
+
+        // the whole header is checked before anything is changed, so a bad save file doesn't leave the game half loaded
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC_NUMBER) {
+            throw new IOException(file + " is not a save file");
+        }
+        short version = buffer.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException(file + " has unsupported save file version " + version);
+        }
+        byte gameState = buffer.get();
+        int screenStateLength = buffer.getInt();
+        if (gameState < 0 || gameState >= GameState.values().length || screenStateLength != buffer.remaining()) {
+            throw new IOException(file + " is damaged");
+        }
+
+        try {
+            screenForGameState.apply(GameState.values()[gameState]).readState(buffer);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new IOException(file + " is damaged", ex);
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException(file + " has " + buffer.remaining() + " bytes that weren't read");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package Game;
+
+import java.nio.ByteBuffer;
+
+/*
+ * Screens that can be quick saved and quick loaded implement this (see SaveState)
+ * A screen writes everything it needs to put the game back the way it is right now, and reads it back in the same order
+ */
+public interface SaveableScreen {
+    void writeState(ByteBuffer buffer);
+
+    // this is called on a screen that has already been initialized
+    void readState(ByteBuffer buffer);
+}
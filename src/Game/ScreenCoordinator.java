@@ -1,10 +1,21 @@
 package Game;
 
 import Engine.DefaultScreen;
+import Engine.EngineEvents;
 import Engine.GraphicsHandler;
+import Engine.InputRecorder;
+import Engine.Key;
+import Engine.KeyLocker;
+import Engine.Keyboard;
+import Engine.Profiler;
 import Engine.Screen;
+import Engine.SessionMetrics;
+import Engine.StartupTracer;
 import Screens.*;
 
+import java.io.File;
+import java.io.IOException;
+
 /*
  * Based on the current game state, this class determines which Screen should be shown
  * There can only be one "currentScreen", although screens can have "nested" screens
@@ -17,6 +28,16 @@ public class ScreenCoordinator extends Screen {
 	protected GameState gameState;
 	protected GameState previousGameState;
 
+	// builds Screens for upcoming gameStates ahead of time
+	private final ScreenPreloader screenPreloader = new ScreenPreloader();
+
+	// quick save writes the game to a save slot, and quick load puts the game back to what's in it
+	private static final int QUICK_SAVE_SLOT = 1;
+	private final SaveState saveState = new SaveState();
+	private final KeyLocker keyLocker = new KeyLocker();
+	private final Key quickSaveKey = Key.F5;
+	private final Key quickLoadKey = Key.F9;
+
    private boolean showFPistolOverlay = false;
    private boolean showFAssaultRifleOverlay = false;
    private boolean showFShotgunOverlay = false;
@@ -51,43 +72,42 @@ public class ScreenCoordinator extends Screen {
 
 	@Override
 	public void initialize() {
-		// start game off with Menu Screen
-		gameState = GameState.MENU;
+		// start game off with the Loading Screen, which moves on to the Menu Screen once everything is loaded
+		gameState = GameState.LOADING;
 	}
 
 	@Override
 	public void update() {
+		// saving and loading happen before the current screen updates, so the game is never saved or loaded partway through an update
+		updateQuickSaveKeys();
+
 		do {
 			// if previousGameState does not equal gameState, it means there was a change in gameState
 			// this triggers ScreenCoordinator to bring up a new Screen based on what the gameState is
+			// the new Screen is taken from the preloader if it was built ahead of time
 			if (previousGameState != gameState) {
-				switch(gameState) {
-					case MENU:
-						currentScreen = new MenuScreen(this);
-						resetOverlays();
-						break;
-					case LEVEL:
-						currentScreen = new WorldOneScreen(this);
-						resetOverlays();
-						break;
-					case WORLDTWO:
-						currentScreen = new WorldTwoScreen(this);
-						resetOverlays();
-						break;
-					case WORLDTHREE:
-						currentScreen = new WorldThreeScreen(this);
-						resetOverlays();
-						break;
-					case GAMECOMPLETE:
-						currentScreen = new GameCompleteScreen(this);
-						resetOverlays();
-						break;
-					case CREDITS:
-						currentScreen = new CreditsScreen(this);
-						resetOverlays();
-						break;
-				}
+				EngineEvents.ScreenTransition transitionEvent = new EngineEvents.ScreenTransition();
+				transitionEvent.begin();
+				long switchStartTime = System.nanoTime();
+				Screen preloadedScreen = screenPreloader.take(gameState);
+				currentScreen = preloadedScreen != null ? preloadedScreen : createScreen(gameState);
+				resetOverlays();
 				currentScreen.initialize();
+				transitionEvent.end();
+				if (transitionEvent.shouldCommit()) {
+					transitionEvent.fromGameState = previousGameState != null ? previousGameState.name() : null;
+					transitionEvent.toGameState = gameState.name();
+					transitionEvent.isPreloaded = preloadedScreen != null;
+					transitionEvent.commit();
+				}
+				SessionMetrics.setGameState(gameState.name());
+				Profiler.record("Switch to " + gameState + (preloadedScreen != null ? " (preloaded)" : ""), System.nanoTime() - switchStartTime);
+				StartupTracer.end("Switch to " + gameState, switchStartTime);
+				if (gameState == GameState.MENU) {
+					StartupTracer.menuShown();
+					// input is recorded or played back from the first time the menu shows up, after loading is over
+					InputRecorder.start();
+				}
 			}
 			previousGameState = gameState;
 
@@ -96,6 +116,105 @@ public class ScreenCoordinator extends Screen {
 		} while (previousGameState != gameState);
 	}
 
+	private void updateQuickSaveKeys() {
+		if (Keyboard.isKeyDown(quickSaveKey) && !keyLocker.isKeyLocked(quickSaveKey)) {
+			keyLocker.lockKey(quickSaveKey);
+			quickSave(SaveState.getSlotFile(QUICK_SAVE_SLOT));
+		}
+		if (Keyboard.isKeyUp(quickSaveKey)) {
+			keyLocker.unlockKey(quickSaveKey);
+		}
+
+		if (Keyboard.isKeyDown(quickLoadKey) && !keyLocker.isKeyLocked(quickLoadKey)) {
+			keyLocker.lockKey(quickLoadKey);
+			quickLoad(SaveState.getSlotFile(QUICK_SAVE_SLOT));
+		}
+		if (Keyboard.isKeyUp(quickLoadKey)) {
+			keyLocker.unlockKey(quickLoadKey);
+		}
+	}
+
+	// saves the current screen to a save file, if it is a screen that can be saved (such as a world screen)
+	public boolean quickSave(File saveFile) {
+		if (!(currentScreen instanceof SaveableScreen) || previousGameState != gameState) {
+			return false;
+		}
+		long saveStartTime = System.nanoTime();
+		try {
+			int saveSize = saveState.save(saveFile, gameState, (SaveableScreen) currentScreen);
+			long saveTime = System.nanoTime() - saveStartTime;
+			Profiler.record("Quick save", saveTime);
+			System.out.println("Saved " + saveFile + " (" + saveSize + " bytes) in " + String.format("%.2f", saveTime / 1000000.0) + " ms");
+			return true;
+		} catch (IOException | RuntimeException ex) {
+			ex.printStackTrace();
+			System.out.println("Failed to save " + saveFile + "!");
+			return false;
+		}
+	}
+
+	// puts the game back to what's in a save file
+	// if the save was made in a different game state than the current one, that game state's screen is switched to first
+	public boolean quickLoad(File saveFile) {
+		if (!saveFile.exists()) {
+			System.out.println("There is no save file " + saveFile + " to load");
+			return false;
+		}
+		long loadStartTime = System.nanoTime();
+		try {
+			saveState.load(saveFile, savedGameState -> {
+				if (savedGameState != gameState || !(currentScreen instanceof SaveableScreen)) {
+					Screen savedScreen = createScreen(savedGameState);
+					if (!(savedScreen instanceof SaveableScreen)) {
+						throw new IllegalStateException("Game state " + savedGameState + " can't be loaded");
+					}
+					currentScreen = savedScreen;
+					resetOverlays();
+					currentScreen.initialize();
+					gameState = savedGameState;
+					previousGameState = savedGameState;
+				}
+				return (SaveableScreen) currentScreen;
+			});
+			long loadTime = System.nanoTime() - loadStartTime;
+			Profiler.record("Quick load", loadTime);
+			System.out.println("Loaded " + saveFile + " in " + String.format("%.2f", loadTime / 1000000.0) + " ms");
+			return true;
+		} catch (IOException | RuntimeException ex) {
+			ex.printStackTrace();
+			System.out.println("Failed to load " + saveFile + "!");
+			return false;
+		}
+	}
+
+	// creates the Screen for a gameState
+	private Screen createScreen(GameState gameState) {
+		switch(gameState) {
+			case LOADING:
+				return new LoadingScreen(this);
+			case MENU:
+				return new MenuScreen(this);
+			case LEVEL:
+				return new WorldOneScreen(this);
+			case WORLDTWO:
+				return new WorldTwoScreen(this);
+			case WORLDTHREE:
+				return new WorldThreeScreen(this);
+			case GAMECOMPLETE:
+				return new GameCompleteScreen(this);
+			case CREDITS:
+				return new CreditsScreen(this);
+			default:
+				return currentScreen;
+		}
+	}
+
+	// starts building the Screen for an upcoming gameState in the background, so switching to it later doesn't stall the game
+	// Screens call this once they know which gameState comes next (such as a world's last wave starting)
+	public void preloadScreen(GameState gameState) {
+		screenPreloader.preload(gameState, () -> createScreen(gameState));
+	}
+
 	@Override
 	public void draw(GraphicsHandler graphicsHandler) {
 		// call the draw method for the currentScreen
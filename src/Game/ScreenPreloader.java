@@ -0,0 +1,72 @@
+package Game;
+
+import Engine.Screen;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/*
+ * Builds the screen for an upcoming game state on a background thread, so that switching to it doesn't stall the game loop
+ * The screen is created and has its preload method called on the background thread,
+ * and is only handed over (fully built) once the game actually switches to that game state
+ * Only one screen is preloaded at a time -- asking for a different one throws away the last one
+ */
+public class ScreenPreloader {
+    // one background thread preloads screens
+    private static final ExecutorService screenLoader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Screen Preloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private GameState preloadingGameState;
+    private Future<Screen> preloadingScreen;
+
+    // starts building the screen for a game state in the background, if it isn't already being built
+    public void preload(GameState gameState, Supplier<Screen> screenFactory) {
+        if (gameState == preloadingGameState) {
+            return;
+        }
+        cancel();
+        preloadingGameState = gameState;
+        preloadingScreen = screenLoader.submit(() -> {
+            Screen screen = screenFactory.get();
+            screen.preload();
+            return screen;
+        });
+    }
+
+    // hands over the preloaded screen for a game state, waiting for it to finish being built if it isn't done yet
+    // returns null if that game state's screen wasn't being preloaded (or failed to), in which case it should be created normally
+    public Screen take(GameState gameState) {
+        if (gameState != preloadingGameState) {
+            cancel();
+            return null;
+        }
+        Future<Screen> screen = preloadingScreen;
+        preloadingGameState = null;
+        preloadingScreen = null;
+        try {
+            return screen.get();
+        } catch (ExecutionException ex) {
+            ex.getCause().printStackTrace();
+            System.out.println("Failed to preload screen for " + gameState + ", loading it now instead");
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // throws away the screen being preloaded, if there is one
+    public void cancel() {
+        if (preloadingScreen != null) {
+            preloadingScreen.cancel(false);
+        }
+        preloadingGameState = null;
+        preloadingScreen = null;
+    }
+}
@@ -278,6 +278,15 @@ public class GameObject extends AnimatedSprite {
     public void onEndCollisionCheckY(boolean hasCollided, Direction direction, MapEntity entityCollidedWith) {
     }
 
+    // gets the location the game object started at (where it goes back to when it is initialized)
+    public float getStartPositionX() {
+        return startPositionX;
+    }
+
+    public float getStartPositionY() {
+        return startPositionY;
+    }
+
     // gets x location taking into account map camera position
     public float getCalibratedXLocation() {
         if (map != null) {
@@ -30,10 +30,18 @@ public class Camera extends Rectangle {
 
 
    // current map entities that are to be included in this frame's update/draw cycle
+   // these lists persist between frames -- entities are only added or removed when they enter or leave the camera's range
    private ArrayList<Enemy> activeEnemies = new ArrayList<>();
    private ArrayList<EnhancedMapTile> activeEnhancedMapTiles = new ArrayList<>();
    private ArrayList<NPC> activeNPCs = new ArrayList<>();
 
+   // tile index the camera was on last frame -- when this changes, every entity's active status is rechecked
+   private int lastTileIndexX = Integer.MIN_VALUE;
+   private int lastTileIndexY = Integer.MIN_VALUE;
+
+   // classes that listen to entities entering/leaving the active set can be added to this list
+   private ArrayList<CameraListener> listeners = new ArrayList<>();
+
 
    // determines how many tiles off screen an entity can be before it will be deemed inactive and not included in the update/draw cycles until it comes back in range
    private final int UPDATE_OFF_SCREEN_RANGE = 4;
@@ -73,11 +81,9 @@ public class Camera extends Rectangle {
 
 
    // update map entities currently a part of the update/draw cycle
-   // active entities are calculated each frame using the loadActiveEntity methods below
+   // active entities are brought up to date each frame using the refreshActiveEntities methods below
    public void updateMapEntities(Player player) {
-       activeEnemies = loadActiveEnemies();
-       activeEnhancedMapTiles = loadActiveEnhancedMapTiles();
-       activeNPCs = loadActiveNPCs();
+       refreshActiveEntities();
 
 
        for (Enemy enemy : activeEnemies) {
@@ -96,67 +102,102 @@ public class Camera extends Rectangle {
    }
 
 
-   // determine which enemies are active (exist and are within range of the camera)
-   private ArrayList<Enemy> loadActiveEnemies() {
-    ArrayList<Enemy> activeEnemies = new ArrayList<>();
-    for (int i = map.getEnemies().size() - 1; i >= 0; i--) {
-        Enemy enemy = map.getEnemies().get(i);
-        if (enemy.getMapEntityStatus() == MapEntityStatus.REMOVED) {
-            map.getEnemies().remove(i); // Remove defeated enemies
-        } else if (isMapEntityActive(enemy)) {
-            activeEnemies.add(enemy);
-            if (enemy.getMapEntityStatus() == MapEntityStatus.INACTIVE) {
-                enemy.setMapEntityStatus(MapEntityStatus.ACTIVE); // Mark as active
-            }
-        } else if (enemy.getMapEntityStatus() == MapEntityStatus.ACTIVE) {
-            enemy.setMapEntityStatus(MapEntityStatus.INACTIVE); // Mark as inactive
-        }
-    }
-    return activeEnemies;
-}
+   // if the camera has moved onto a new tile since last frame, every entity is rechecked
+   // otherwise only entities that have moved onto a new tile (or are brand new to the map) are rechecked
+   private void refreshActiveEntities() {
+       int tileIndexX = Math.floorDiv(Math.round(getX()), tileWidth);
+       int tileIndexY = Math.floorDiv(Math.round(getY()), tileHeight);
+       boolean recheckAll = tileIndexX != lastTileIndexX || tileIndexY != lastTileIndexY;
+       lastTileIndexX = tileIndexX;
+       lastTileIndexY = tileIndexY;
 
+       refreshActiveEntities(map.getEnemies(), activeEnemies, map.getEnemyCommands(), recheckAll);
+       refreshActiveEntities(map.getEnhancedMapTiles(), activeEnhancedMapTiles, map.getEnhancedMapTileCommands(), recheckAll);
+       refreshActiveEntities(map.getNPCs(), activeNPCs, map.getNPCCommands(), recheckAll);
+   }
 
-   // determine which enhanced map tiles are active (exist and are within range of the camera)
-   private ArrayList<EnhancedMapTile> loadActiveEnhancedMapTiles() {
-       ArrayList<EnhancedMapTile> activeEnhancedMapTiles = new ArrayList<>();
-       for (int i = map.getEnhancedMapTiles().size() - 1; i >= 0; i--) {
-           EnhancedMapTile enhancedMapTile = map.getEnhancedMapTiles().get(i);
 
+   // determine which entities of one type are active (exist and are within range of the camera)
+   // removed entities are dropped from the active list using a swap with the last element, so nothing gets shifted
+   // (taking them out of the map's list is left to the map's command buffers)
+   private <T extends MapEntity> void refreshActiveEntities(ArrayList<T> mapEntities, ArrayList<T> activeEntities, MapEntityCommandBuffer<T> commands, boolean recheckAll) {
+       for (int i = mapEntities.size() - 1; i >= 0; i--) {
+           T mapEntity = mapEntities.get(i);
+
+           if (mapEntity.getMapEntityStatus() == MapEntityStatus.REMOVED) {
+               // some entities (such as enemy projectiles) mark themselves as removed instead of going through the map's remove methods,
+               // so their removal from the map's list gets queued here (once it's been applied, their list index is -1 and they aren't queued again)
+               if (mapEntity.listIndex >= 0) {
+                   commands.queueRemoval(mapEntity);
+               }
+               continue;
+           }
+
+           int cellX = Math.floorDiv(Math.round(mapEntity.getX()), tileWidth);
+           int cellY = Math.floorDiv(Math.round(mapEntity.getY()), tileHeight);
+           if (!recheckAll && cellX == mapEntity.cellX && cellY == mapEntity.cellY) {
+               continue;
+           }
+           mapEntity.cellX = cellX;
+           mapEntity.cellY = cellY;
 
-           if (isMapEntityActive(enhancedMapTile)) {
-               activeEnhancedMapTiles.add(enhancedMapTile);
-               if (enhancedMapTile.mapEntityStatus == MapEntityStatus.INACTIVE) {
-                   enhancedMapTile.setMapEntityStatus(MapEntityStatus.ACTIVE);
+           if (isMapEntityActive(mapEntity)) {
+               if (mapEntity.getMapEntityStatus() == MapEntityStatus.INACTIVE) {
+                   mapEntity.setMapEntityStatus(MapEntityStatus.ACTIVE);
+               }
+               if (!isInActiveEntities(activeEntities, mapEntity)) {
+                   mapEntity.activeIndex = activeEntities.size();
+                   activeEntities.add(mapEntity);
+                   for (CameraListener listener : listeners) {
+                       listener.onMapEntityActivated(mapEntity);
+                   }
+               }
+           } else {
+               if (mapEntity.getMapEntityStatus() == MapEntityStatus.ACTIVE) {
+                   mapEntity.setMapEntityStatus(MapEntityStatus.INACTIVE);
+               }
+               if (removeFromActiveEntities(activeEntities, mapEntity)) {
+                   for (CameraListener listener : listeners) {
+                       listener.onMapEntityDeactivated(mapEntity);
+                   }
+               }
+           }
+       }
+
+       // drops entities that have been marked as removed (such as by Map.removeEnemy)
+       for (int i = activeEntities.size() - 1; i >= 0; i--) {
+           T mapEntity = activeEntities.get(i);
+           if (mapEntity.getMapEntityStatus() == MapEntityStatus.REMOVED) {
+               removeFromActiveEntities(activeEntities, mapEntity);
+               for (CameraListener listener : listeners) {
+                   listener.onMapEntityRemoved(mapEntity);
                }
-           } else if (enhancedMapTile.getMapEntityStatus() == MapEntityStatus.ACTIVE) {
-               enhancedMapTile.setMapEntityStatus(MapEntityStatus.INACTIVE);
-           } else if (enhancedMapTile.getMapEntityStatus() == MapEntityStatus.REMOVED) {
-               map.getEnhancedMapTiles().remove(i);
            }
        }
-       return activeEnhancedMapTiles;
    }
 
 
-   // determine which npcs are active (exist and are within range of the camera)
-   private ArrayList<NPC> loadActiveNPCs() {
-       ArrayList<NPC> activeNPCs = new ArrayList<>();
-       for (int i = map.getNPCs().size() - 1; i >= 0; i--) {
-           NPC npc = map.getNPCs().get(i);
+   // an entity remembers its slot in the active list, this double checks that slot still belongs to it
+   private <T extends MapEntity> boolean isInActiveEntities(ArrayList<T> activeEntities, T mapEntity) {
+       int index = mapEntity.activeIndex;
+       return index >= 0 && index < activeEntities.size() && activeEntities.get(index) == mapEntity;
+   }
 
 
-           if (isMapEntityActive(npc)) {
-               activeNPCs.add(npc);
-               if (npc.mapEntityStatus == MapEntityStatus.INACTIVE) {
-                   npc.setMapEntityStatus(MapEntityStatus.ACTIVE);
-               }
-           } else if (npc.getMapEntityStatus() == MapEntityStatus.ACTIVE) {
-               npc.setMapEntityStatus(MapEntityStatus.INACTIVE);
-           } else if (npc.getMapEntityStatus() == MapEntityStatus.REMOVED) {
-               map.getNPCs().remove(i);
-           }
+   // removes an entity from the active list by moving the last active entity into its slot
+   // returns false if the entity was not in the active list to begin with
+   private <T extends MapEntity> boolean removeFromActiveEntities(ArrayList<T> activeEntities, T mapEntity) {
+       if (!isInActiveEntities(activeEntities, mapEntity)) {
+           return false;
        }
-       return activeNPCs;
+       int index = mapEntity.activeIndex;
+       int lastIndex = activeEntities.size() - 1;
+       T lastEntity = activeEntities.get(lastIndex);
+       activeEntities.set(index, lastEntity);
+       lastEntity.activeIndex = index;
+       activeEntities.remove(lastIndex);
+       mapEntity.activeIndex = -1;
+       return true;
    }
 
 
@@ -186,10 +227,7 @@ public class Camera extends Rectangle {
        Point tileIndex = getTileIndexByCameraPosition();
        for (int i = tileIndex.y - 1; i <= tileIndex.y + height + 1; i++) {
            for (int j = tileIndex.x - 1; j <= tileIndex.x + width + 1; j++) {
-               MapTile tile = map.getMapTile(j, i);
-               if (tile != null) {
-                   tile.draw(graphicsHandler);
-               }
+               map.drawMapTile(graphicsHandler, j, i);
            }
        }
    }
@@ -232,6 +270,23 @@ public class Camera extends Rectangle {
    }
 
 
+   // moves the camera back to the top left of the map and empties its active entities (used when the map is reset)
+   // listeners stay attached
+   public void reset() {
+       setLocation(0, 0);
+       activeEnemies.clear();
+       activeEnhancedMapTiles.clear();
+       activeNPCs.clear();
+       lastTileIndexX = Integer.MIN_VALUE;
+       lastTileIndexY = Integer.MIN_VALUE;
+   }
+
+
+   public void addListener(CameraListener listener) {
+       listeners.add(listener);
+   }
+
+
    public ArrayList<Enemy> getActiveEnemies() {
        return activeEnemies;
    }
@@ -0,0 +1,9 @@
+package Level;
+
+// Other classes can use this interface to listen for map entities entering or leaving a Camera's active set
+// these are the same ACTIVE/INACTIVE/REMOVED transitions the Camera applies to each entity's MapEntityStatus
+public interface CameraListener {
+    void onMapEntityActivated(MapEntity mapEntity);
+    void onMapEntityDeactivated(MapEntity mapEntity);
+    void onMapEntityRemoved(MapEntity mapEntity);
+}
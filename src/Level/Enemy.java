@@ -1,9 +1,11 @@
 package Level;
 
+import Engine.GameClock;
+import Engine.TimerHandle;
 import GameObject.Frame;
 import GameObject.SpriteSheet;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
-import java.util.Random;
 import Utils.Direction;
 
 
@@ -13,10 +15,16 @@ public class Enemy extends MapEntity {
     public int hitPoints = 1; // Default hitpoints
 
     protected boolean isInvincible = false;
-    private long invincibilityStartTime;
-    private static final long INVINCIBILITY_DURATION = 1000;
+    private TimerHandle invincibilityTimer;
+    private static final long INVINCIBILITY_DURATION = GameClock.millisToTicks(1000);
     private static final float SPEED = 0;
     protected Direction facingDirection;
+    protected Direction startFacingDirection; // direction the enemy faces when it spawns
+
+    // which of the map's enemy waves (and which spawn in that wave) this enemy was created from, or -1 if it didn't come from one
+    // a quick save uses this to create the enemy again when it is loaded
+    int waveIndex = -1;
+    int waveSpawnIndex = -1;
 
     public Enemy(float x, float y, SpriteSheet spriteSheet, String startingAnimation) {
         super(x, y, spriteSheet, startingAnimation);
@@ -44,16 +52,17 @@ public class Enemy extends MapEntity {
         super.initialize();
     }
 
+    // true if this enemy was spawned by one of the map's enemy waves (enemy projectiles and other enemies spawned during play aren't)
+    public boolean isWaveEnemy() {
+        return waveIndex >= 0;
+    }
+
     public void update(Player player) {
         super.update();
         if (intersects(player)) {
             touchedPlayer(player);
         }
 
-        if (isInvincible && (System.currentTimeMillis() - invincibilityStartTime) >= INVINCIBILITY_DURATION) {
-            isInvincible = false;
-        }
-
         moveTowardsPlayer(player);
 
     }
@@ -67,6 +76,32 @@ public class Enemy extends MapEntity {
         }
     }
 
+    @Override
+    public void writeState(ByteBuffer buffer) {
+        super.writeState(buffer);
+        buffer.putInt(hitPoints);
+        buffer.put((byte) (facingDirection == null ? -1 : facingDirection.ordinal()));
+        buffer.putLong(GameClock.ticksLeft(invincibilityTimer));
+    }
+
+    @Override
+    public void readState(ByteBuffer buffer) {
+        super.readState(buffer);
+        hitPoints = buffer.getInt();
+        byte facing = buffer.get();
+        facingDirection = facing < 0 ? null : Direction.values()[facing];
+        if (invincibilityTimer != null) {
+            invincibilityTimer.cancel();
+        }
+        long invincibilityTicksLeft = buffer.getLong();
+        isInvincible = invincibilityTicksLeft >= 0;
+        invincibilityTimer = isInvincible ? GameClock.schedule(invincibilityTicksLeft, () -> isInvincible = false) : null;
+    }
+
+    public Direction getStartFacingDirection() {
+        return startFacingDirection;
+    }
+
     public void takeDamage() {
         hitPoints--;
 
@@ -74,16 +109,14 @@ public class Enemy extends MapEntity {
             die();
         } else {
             isInvincible = true;
-            invincibilityStartTime = System.currentTimeMillis();
+            invincibilityTimer = GameClock.schedule(INVINCIBILITY_DURATION, () -> isInvincible = false);
         }
     }
 
     public void die() {
-        Random random = new Random();
-        int chance = random.nextInt(10);
-
         // Write the loot dropping logic here
         if (map != null) { // Ensure the map is assigned to this enemy
+            int chance = map.getRandom().nextInt(MapRandom.Stream.LOOT, 10);
             if (chance < 9) {
                 // 90% chance enemy drops a coin
                 map.spawnCoin(this.getX(), this.getY());
@@ -0,0 +1,10 @@
+package Level;
+
+import Utils.Direction;
+import Utils.Point;
+
+// Creates an enemy of a specific type at a location, facing a direction
+// every enemy type's constructor fits this, so a constructor reference can be used as one (e.g. BaseZombie::new)
+public interface EnemyFactory {
+    Enemy create(Point location, Direction facingDirection);
+}
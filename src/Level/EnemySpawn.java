@@ -0,0 +1,38 @@
+package Level;
+
+import Utils.Direction;
+import Utils.Point;
+
+// This class describes one enemy in an enemy wave -- what type of enemy it is, where it spawns, and which way it faces
+// it only holds data, the enemy itself isn't created until the wave it's in spawns
+public class EnemySpawn {
+    private final EnemyFactory enemyFactory;
+    private final Point location;
+    private final Direction facingDirection;
+
+    public EnemySpawn(EnemyFactory enemyFactory, Point location, Direction facingDirection) {
+        if (enemyFactory == null) {
+            throw new IllegalArgumentException("Enemy factory cannot be null");
+        }
+        this.enemyFactory = enemyFactory;
+        this.location = location;
+        this.facingDirection = facingDirection;
+    }
+
+    // creates a new enemy from this spawn
+    public Enemy create() {
+        return enemyFactory.create(location, facingDirection);
+    }
+
+    public EnemyFactory getEnemyFactory() {
+        return enemyFactory;
+    }
+
+    public Point getLocation() {
+        return location;
+    }
+
+    public Direction getFacingDirection() {
+        return facingDirection;
+    }
+}
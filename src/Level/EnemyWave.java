@@ -1,25 +1,67 @@
 package Level;
+import Utils.Direction;
+import Utils.Point;
+
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Describes a wave of enemies that a map spawns in all at once
+// a wave only holds which enemies to spawn and where, the enemies themselves aren't created until the wave is spawned
+// so defining a map's waves doesn't load any enemy sprites
 public class EnemyWave {
-    private final ArrayList<Enemy> enemies = new ArrayList<>();
+    // one background thread prefetches upcoming waves for every map
+    private static final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Enemy Wave Prefetcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ArrayList<EnemySpawn> enemySpawns = new ArrayList<>();
     private int waveId;
-    private int spawnDelay; // in milliseconds
+    private int spawnDelay; // in milliseconds, how long after the previous wave is cleared before this wave spawns
+    private boolean isPrefetched = false;
     public EnemyWave(int waveId, int spawnDelay) {
         this.waveId = waveId;
         this.spawnDelay = spawnDelay;
     }
-    public EnemyWave addEnemy(Enemy enemy) {
-        if (enemy == null) {
-            throw new IllegalArgumentException("Enemy cannot be null");
-        }
-        enemies.add(enemy);
+    // adds an enemy to the wave, e.g. addEnemy(BaseZombie::new, new Point(100, 523), Direction.LEFT)
+    public EnemyWave addEnemy(EnemyFactory enemyFactory, Point location, Direction facingDirection) {
+        enemySpawns.add(new EnemySpawn(enemyFactory, location, facingDirection));
         return this;
     }
-    public ArrayList<Enemy> getEnemies() {
+    public ArrayList<EnemySpawn> getEnemySpawns() {
+        return enemySpawns;
+    }
+    // creates the wave's enemies
+    public ArrayList<Enemy> createEnemies() {
+        ArrayList<Enemy> enemies = new ArrayList<>(enemySpawns.size());
+        for (EnemySpawn enemySpawn : enemySpawns) {
+            enemies.add(enemySpawn.create());
+        }
         return enemies;
     }
-    public boolean isComplete() {
-        return enemies.stream().allMatch(Enemy::isDefeated);
+    // gets the wave's enemies ready to be created quickly by loading their images on a background thread
+    // images are cached by the ImageLoader once loaded, so creating (and throwing away) one enemy of each type in the wave is enough
+    public void prefetch() {
+        if (isPrefetched) {
+            return;
+        }
+        isPrefetched = true;
+        prefetcher.execute(() -> {
+            HashSet<EnemyFactory> prefetchedFactories = new HashSet<>();
+            for (EnemySpawn enemySpawn : enemySpawns) {
+                if (prefetchedFactories.add(enemySpawn.getEnemyFactory())) {
+                    try {
+                        enemySpawn.create();
+                    } catch (RuntimeException ex) {
+                        // the enemy will just be loaded when the wave spawns instead
+                        System.out.println("Unable to prefetch wave " + waveId + " enemy: " + ex.getMessage());
+                    }
+                }
+            }
+        });
     }
     public int getWaveId() {
         return waveId;
@@ -27,4 +69,4 @@ public class EnemyWave {
     public int getSpawnDelay() {
         return spawnDelay;
     }
-}
\ No newline at end of file
+}
@@ -4,24 +4,28 @@ package Level;
 import Collectibles.Coin;
 import Collectibles.HP;
 import Collectibles.InstaKill;
-import Collectibles.Invincibility;
 import Collectibles.SpeedBoost;
 import Collectibles.MaxAmmo;
 import Engine.Config;
+import Engine.EngineEvents;
+import Engine.GameClock;
 import Engine.GraphicsHandler;
+import Engine.InputRecorder;
 import Engine.ScreenManager;
+import Engine.SessionMetrics;
+import Engine.TimerHandle;
 import Maps.*;
 import Utils.Point;
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 
 
-import java.util.Random;
 
 
 
@@ -40,13 +44,60 @@ import java.util.Random;
 
 
 public abstract class Map {
-   // the tile map (map tiles that make up the entire map image)
+   // the tile map, stored as the tileset tile index of each tile (this is a standard array, NOT a 2D array)
+   // tiles aren't kept as their own MapTile objects -- every tile with the same index is drawn using one shared tile definition from the tileset,
+   // and a tile's position is worked out from where it is in the array
+   protected short[] tileIndexes;
+
+   // true while tileIndexes is still the map file's own array (which the map's snapshot uses as well)
+   // the map makes its own copy of it the first time a tile is changed
+   private boolean isTileIndexesShared;
+
+   // the tile map as MapTile objects (map tiles that make up the entire map image)
+   // this is only created if something asks for every map tile at once (such as the map editor), after which the map uses it instead of tileIndexes
    protected MapTile[] mapTiles;
+
+   // shared tile definitions for the tile indexes used by the tile map, indexed by tile index
+   private MapTile[] tileDefinitions;
+   private MapTile defaultTileDefinition;
+
+   // MapTile objects handed out by getMapTile are created when first asked for and kept in a small cache, since collision checks ask for the same tiles over and over
+   // each tile has one slot it can go in (picked from its index in the tile map), and replaces whichever tile was in that slot before,
+   // so the cache never grows past CACHED_MAP_TILE_SLOTS tiles no matter how big the map is
+   private static final int CACHED_MAP_TILE_SLOTS = 4096; // has to be a power of two
+   private final MapTile[] cachedMapTiles = new MapTile[CACHED_MAP_TILE_SLOTS];
+   private final int[] cachedMapTileIndexes = new int[CACHED_MAP_TILE_SLOTS]; // index in the tile map of the tile in each slot, -1 if the slot is empty
+
+   // tiles placed into the tile map with setMapTile, which are used instead of the tile definition for their spot
+   // these are read while drawing as well, which happens on a different thread than updating
+   private final ConcurrentHashMap<Integer, MapTile> placedMapTiles = new ConcurrentHashMap<>();
+
+   // the contents of the map file the tile map was built from (includes the spawn table and waves if it was a binary map file)
+   protected MapFile mapFile;
+
+   // when the map file was last read in, used to tell if the MapFileWatcher has read in a newer version of it
+   private long mapFileReadTime;
+
+   // if set, the tile map is streamed in chunks instead of being fully created up front (tileIndexes and mapTiles are left null)
+   // this is meant for very large maps, the map editor still needs maps to be fully loaded
+   protected MapStreamingSettings streamingSettings;
+   protected MapChunkStreamer chunkStreamer;
    protected ArrayList<EnemyWave> enemyWaves = new ArrayList<>();
    private int currentWaveIndex = 0;
 
+   // what the map looked like right after it was set up, which reset puts it back to
+   // streamed maps don't have one, since their tiles aren't all kept around
+   private MapSnapshot snapshot;
+
+   // types of items enemies can drop (see createDroppedItem), which is how they are written in a quick save
+   private static final int DROPPED_COIN = 0;
+   private static final int DROPPED_HP = 1;
+   private static final int DROPPED_INSTA_KILL = 2;
+   private static final int DROPPED_MAX_AMMO = 3;
+   private static final int DROPPED_SPEED_BOOST = 4;
 
-   private List<MapEntity> projectiles = new ArrayList<>();
+
+   private ArrayList<MapEntity> projectiles = new ArrayList<>();
 
 
    // width and height of the map in terms of the number of tiles width-wise and
@@ -91,6 +142,13 @@ public abstract class Map {
    protected ArrayList<EnhancedMapTile> enhancedMapTiles;
    protected ArrayList<NPC> npcs;
 
+   // spawns and removals for the above lists (and projectiles) are queued here during the update cycle
+   // and applied all at once by applyPendingChanges so a list is never changed while it is being looped through
+   private final MapEntityCommandBuffer<Enemy> enemyCommands = new MapEntityCommandBuffer<>();
+   private final MapEntityCommandBuffer<EnhancedMapTile> enhancedMapTileCommands = new MapEntityCommandBuffer<>();
+   private final MapEntityCommandBuffer<NPC> npcCommands = new MapEntityCommandBuffer<>();
+   private final MapEntityCommandBuffer<MapEntity> projectileCommands = new MapEntityCommandBuffer<>();
+
 
    // if set to false, camera will not move as player moves
    protected boolean adjustCamera = true;
@@ -108,9 +166,23 @@ public abstract class Map {
    public int mapId = 0;
    private boolean waveActive = false;
 
+   // spawns the next wave once the current wave's been cleared and the next wave's spawn delay has passed
+   private TimerHandle nextWaveTimer;
+
+   // where the map's random choices (such as enemy loot) come from
+   // it's seeded from the game's seed and the map file's name, so each map gets its own random numbers that come out the same whenever the game's seed is the same
+   protected MapRandom random;
+
    public Map(String mapFileName, Tileset tileset) {
+       this(mapFileName, tileset, null);
+   }
+
+   // maps that are too large to keep entirely in memory can pass in settings to have their tiles streamed in chunks
+   public Map(String mapFileName, Tileset tileset, MapStreamingSettings streamingSettings) {
        this.mapFileName = mapFileName;
        this.tileset = tileset;
+       this.streamingSettings = streamingSettings;
+       this.random = new MapRandom(InputRecorder.getSeed() * 31 + mapFileName.hashCode());
        setupMap();
        this.startBoundX = 0;
        this.startBoundY = 0;
@@ -119,20 +191,40 @@ public abstract class Map {
        this.xMidPoint = ScreenManager.getScreenWidth() / 2;
        this.yMidPoint = (ScreenManager.getScreenHeight() / 2);
        this.playerStartPosition = new Point(0, 0);
-       enemyWaves = loadEnemyWaves();
        spawnNextWave();
-       
+       applyPendingChanges();
    }
   
+   // list of enemy waves defined to be a part of the map, in the order they spawn
+   // a wave's enemies aren't created until it spawns, so this is cheap to call
    protected abstract ArrayList<EnemyWave> loadEnemyWaves();
 
+   // creates the next wave's enemies and adds them to the map
+   // the wave after it starts loading in the background while this one is being fought
    private void spawnNextWave() {
     if (currentWaveIndex < enemyWaves.size()) {
         System.out.println("Spawning wave " + (currentWaveIndex + 1));
-        EnemyWave wave = enemyWaves.get(currentWaveIndex++);
-        for (Enemy enemy : wave.getEnemies()) {
+        EngineEvents.WaveSpawn waveSpawnEvent = new EngineEvents.WaveSpawn();
+        waveSpawnEvent.begin();
+        EnemyWave wave = enemyWaves.get(currentWaveIndex);
+        ArrayList<Enemy> waveEnemies = wave.createEnemies();
+        for (int i = 0; i < waveEnemies.size(); i++) {
+            Enemy enemy = waveEnemies.get(i);
+            enemy.waveIndex = currentWaveIndex;
+            enemy.waveSpawnIndex = i;
             addEnemy(enemy);
         }
+        waveSpawnEvent.end();
+        if (waveSpawnEvent.shouldCommit()) {
+            waveSpawnEvent.mapFileName = mapFileName;
+            waveSpawnEvent.waveNumber = currentWaveIndex + 1;
+            waveSpawnEvent.enemyCount = waveEnemies.size();
+            waveSpawnEvent.commit();
+        }
+        currentWaveIndex++;
+        if (currentWaveIndex < enemyWaves.size()) {
+            enemyWaves.get(currentWaveIndex).prefetch();
+        }
         waveActive = true;
     } else {
         waveActive = false;
@@ -141,11 +233,21 @@ public abstract class Map {
 }
 
 
+   private void scheduleNextWave() {
+       int spawnDelay = enemyWaves.get(currentWaveIndex).getSpawnDelay();
+       nextWaveTimer = GameClock.schedule(GameClock.millisToTicks(spawnDelay), this::spawnNextWave);
+   }
+
    // sets up map by reading in the map file to create the tile map
    // loads in enemies, enhanced map tiles, and npcs
    // and instantiates a Camera
    public void setupMap() {
+       clearPendingChanges();
+       if (nextWaveTimer != null) {
+           nextWaveTimer.cancel();
+       }
        this.enemies = loadEnemies();
+       MapEntityCommandBuffer.indexMapEntities(this.enemies);
        this.enemyWaves = loadEnemyWaves();
        this.animatedMapTiles = new ArrayList<>();
        /*
@@ -167,15 +269,19 @@ public abstract class Map {
        for (EnhancedMapTile enhancedMapTile : this.enhancedMapTiles) {
            enhancedMapTile.setMap(this);
        }
+       MapEntityCommandBuffer.indexMapEntities(this.enhancedMapTiles);
 
 
        this.npcs = loadNPCs();
        for (NPC npc : this.npcs) {
            npc.setMap(this);
        }
+       MapEntityCommandBuffer.indexMapEntities(this.npcs);
 
 
        this.camera = new Camera(0, 0, tileset.getScaledSpriteWidth(), tileset.getScaledSpriteHeight(), this);
+
+       this.snapshot = chunkStreamer == null ? new MapSnapshot(tileIndexes, enemies, enhancedMapTiles, npcs) : null;
    }
 
 
@@ -186,18 +292,20 @@ public abstract class Map {
 }
 
    // Check if all active enemies are dead
+   // while the next wave is waiting out its spawn delay the map is not considered clear yet
    public boolean isWaveComplete() {
-        boolean complete = getEnemies().isEmpty();
+        boolean complete = getEnemies().isEmpty() && (nextWaveTimer == null || !nextWaveTimer.isPending());
         return complete; 
    }
 
 
    // reads in a map file to create the map's tilemap
+   // the binary version of the map file is used if there is an up to date one, otherwise the text version is read in
    private void loadMapFile() {
-       Scanner fileInput;
        try {
            // open map file that is located in the MAP_FILES_PATH directory
-           fileInput = new Scanner(new File(Config.MAP_FILES_PATH + this.mapFileName));
+           this.mapFileReadTime = System.nanoTime();
+           this.mapFile = readMapFile();
        } catch (FileNotFoundException ex) {
            // if map file does not exist, create a new one for this map (the map editor
            // uses this)
@@ -207,46 +315,92 @@ public abstract class Map {
 
            try {
                createEmptyMapFile();
-               fileInput = new Scanner(new File(Config.MAP_FILES_PATH + this.mapFileName));
+               this.mapFile = MapFile.load(this.mapFileName);
            } catch (IOException ex2) {
                ex2.printStackTrace();
                System.out.println("Failed to create an empty map file!");
                throw new RuntimeException();
            }
+       } catch (IOException ex) {
+           ex.printStackTrace();
+           System.out.println("Failed to read map file " + this.mapFileName + "!");
+           throw new RuntimeException(ex);
        }
 
 
-       // read in map width and height from the first line of map file
-       this.width = fileInput.nextInt();
-       this.height = fileInput.nextInt();
+       // map width and height come from the map file's header
+       this.width = mapFile.getWidth();
+       this.height = mapFile.getHeight();
 
 
-       // define array size for map tiles, which is width * height (this is a standard
-       // array, NOT a 2D array)
-       this.mapTiles = new MapTile[this.height * this.width];
-       fileInput.nextLine();
+       this.mapTiles = null;
+       clearCachedMapTiles();
+       this.placedMapTiles.clear();
 
 
-       // read in each tile index from the map file, use the defined tileset to get the
-       // associated MapTile to that tileset, and place it in the array
-       for (int i = 0; i < height; i++) {
-           for (int j = 0; j < width; j++) {
-               int tileIndex = fileInput.nextInt();
-               int xLocation = j * tileset.getScaledSpriteWidth();
-               int yLocation = i * tileset.getScaledSpriteHeight();
-               MapTile tile = tileset.getTile(tileIndex).build(xLocation, yLocation);
-               tile.setMap(this);
-               setMapTile(j, i, tile);
+       // a streamed map creates its tiles as the camera gets near them instead
+       if (streamingSettings != null) {
+           this.tileIndexes = null;
+           this.chunkStreamer = new MapChunkStreamer(this, mapFile, streamingSettings);
+           return;
+       }
+       this.chunkStreamer = null;
 
 
-               if (tile.isAnimated()) {
-                   animatedMapTiles.add(tile);
-               }
+       // look up the shared tile definition for each tile index the tile map uses
+       // animated tile definitions are updated once per frame, which animates every tile that uses them
+       this.tileDefinitions = new MapTile[tileset.getTileCount()];
+       this.defaultTileDefinition = tileset.getTileDefinition(-1);
+       for (short tileIndex : mapFile.getTileIndexes()) {
+           loadTileDefinition(tileIndex);
+       }
+
+
+       // the tile map starts out as the map file's tile indexes, and is only copied once a tile is changed so changing a tile doesn't change the map file
+       // it is set last since tiles can be drawn as soon as it is
+       this.isTileIndexesShared = true;
+       this.tileIndexes = mapFile.getTileIndexes();
+   }
+
+   // gives the map its own copy of the tile map if it is still sharing the map file's, so a tile in it can be changed
+   private void copySharedTileIndexes() {
+       if (isTileIndexesShared) {
+           tileIndexes = tileIndexes.clone();
+           isTileIndexesShared = false;
+       }
+   }
+
+
+   // gets the shared tile definition for a tile index, and adds it to the animated map tiles if it is new to this map and animated
+   // tile indexes the tileset doesn't have use the default tile
+   private MapTile loadTileDefinition(int tileIndex) {
+       if (tileIndex < 0 || tileIndex >= tileDefinitions.length) {
+           return defaultTileDefinition;
+       }
+       MapTile tileDefinition = tileDefinitions[tileIndex];
+       if (tileDefinition == null) {
+           tileDefinition = tileset.getTileDefinition(tileIndex);
+           tileDefinitions[tileIndex] = tileDefinition;
+           if (tileDefinition.isAnimated()) {
+               animatedMapTiles.add(tileDefinition);
            }
        }
+       return tileDefinition;
+   }
+
+
+   // creates a MapTile for a spot in the tile map
+   private MapTile createMapTile(int x, int y, int tileIndex) {
+       MapTile tile = tileset.getTile(tileIndex).build(x * tileset.getScaledSpriteWidth(), y * tileset.getScaledSpriteHeight());
+       tile.setMap(this);
+       return tile;
+   }
 
 
-       fileInput.close();
+   // reads in the map's map file from the MAP_FILES_PATH directory
+   // a map whose map file is kept somewhere else (such as a generated stress test map) can override this to read it from there instead
+   protected MapFile readMapFile() throws IOException {
+       return MapFile.load(mapFileName);
    }
 
 
@@ -269,8 +423,7 @@ public abstract class Map {
 
    // get position on the map based on a specfic tile index
    public Point getPositionByTileIndex(int xIndex, int yIndex) {
-       MapTile tile = getMapTile(xIndex, yIndex);
-       return new Point(tile.getX(), tile.getY());
+       return new Point(xIndex * tileset.getScaledSpriteWidth(), yIndex * tileset.getScaledSpriteHeight());
    }
 
 
@@ -278,53 +431,51 @@ public abstract class Map {
        return tileset;
    }
 
+   public MapRandom getRandom() {
+       return random;
+   }
+
 
    public void spawnCoin(float x, float y) {
-       Coin coin = new Coin(new Point((int) x, (int) y), this);
-       coin.setMap(this);
-       getNPCs().add(coin);
+       addNPC(createDroppedItem(DROPPED_COIN, new Point((int) x, (int) y)));
    }
 
 
+   // only the power up that gets picked is created
    public void spawnpowerup(float x, float y) {
-       HP hp = new HP(new Point((int) x, (int) y), this);
-       InstaKill instakill = new InstaKill(new Point((int) x, (int) y), this);
-       MaxAmmo maxammo = new MaxAmmo(new Point((int) x, (int) y), this);
-       SpeedBoost speedboost = new SpeedBoost(new Point((int) x, (int) y), this);
+       Point location = new Point((int) x, (int) y);
 
 
-       Random random = new Random();
-       int chance = random.nextInt(10);
+       int chance = random.nextInt(MapRandom.Stream.LOOT, 10);
        if ( chance >= 0 && chance <= 2) {
            //25% Chance of HP
-           hp.setMap(this);
-           getNPCs().add(hp);
+           addNPC(createDroppedItem(DROPPED_HP, location));
        
        } else if (chance >= 3 && chance <= 5) {
            //25% chance of speed boost
-           speedboost.setMap(this);
-           getNPCs().add(speedboost);
+           addNPC(createDroppedItem(DROPPED_SPEED_BOOST, location));
        } else if (chance >= 6 && chance <= 7) {
           //20% chance of maxammo
-           maxammo.setMap(this);
-           getNPCs().add(maxammo);
+           addNPC(createDroppedItem(DROPPED_MAX_AMMO, location));
        } else { 
           //20% chance of instakill
-           instakill.setMap(this);
-           getNPCs().add(instakill);
+           addNPC(createDroppedItem(DROPPED_INSTA_KILL, location));
        }   
    }
 
 
    // Method to add a projectile to the map
+   // the projectile is added once pending changes are applied
    public void addProjectile(MapEntity projectile) {
-       projectiles.add(projectile);
+       projectileCommands.queueSpawn(projectile);
    }
 
 
    // Method to remove a projectile from the map
+   // the projectile is taken out once pending changes are applied
    public void removeProjectile(MapEntity projectile) {
-       projectiles.remove(projectile);
+       projectile.setMapEntityStatus(MapEntityStatus.REMOVED);
+       projectileCommands.queueRemoval(projectile);
    }
 
 
@@ -335,8 +486,63 @@ public abstract class Map {
 
 
    // Method to remove the enemies from the map
+   // the enemy is marked as removed right away so the camera drops it from its active enemies,
+   // and is taken out of the enemies list once pending changes are applied
    public void removeEnemy(Enemy enemy) {
-       enemies.remove(enemy);
+       enemy.setMapEntityStatus(MapEntityStatus.REMOVED);
+       enemyCommands.queueRemoval(enemy);
+   }
+
+
+   // Method to remove an npc (collectibles, weapon pickups, etc.) from the map
+   // the npc is marked as removed right away so the camera drops it from its active npcs,
+   // and is taken out of the npcs list once pending changes are applied
+   public void removeNPC(NPC npc) {
+       npc.setMapEntityStatus(MapEntityStatus.REMOVED);
+       npcCommands.queueRemoval(npc);
+   }
+
+
+   // the camera queues removals for entities that marked themselves as removed without going through removeEnemy or removeNPC
+   MapEntityCommandBuffer<Enemy> getEnemyCommands() {
+       return enemyCommands;
+   }
+
+   MapEntityCommandBuffer<EnhancedMapTile> getEnhancedMapTileCommands() {
+       return enhancedMapTileCommands;
+   }
+
+   MapEntityCommandBuffer<NPC> getNPCCommands() {
+       return npcCommands;
+   }
+
+
+   // applies all spawns and removals queued up since the last time this was called
+   public void applyPendingChanges() {
+       if (enemyCommands.hasPendingChanges()) {
+           if (enemies == null) {
+               enemies = new ArrayList<>();
+           }
+           enemyCommands.apply(enemies);
+       }
+       if (enhancedMapTileCommands.hasPendingChanges()) {
+           enhancedMapTileCommands.apply(enhancedMapTiles);
+       }
+       if (npcCommands.hasPendingChanges()) {
+           npcCommands.apply(npcs);
+       }
+       if (projectileCommands.hasPendingChanges()) {
+           projectileCommands.apply(projectiles);
+       }
+   }
+
+
+   // throws away any queued spawns and removals (used when the map's entity lists are being reloaded)
+   private void clearPendingChanges() {
+       enemyCommands.clear();
+       enhancedMapTileCommands.clear();
+       npcCommands.clear();
+       projectileCommands.clear();
    }
 
 
@@ -345,6 +551,21 @@ public abstract class Map {
    }
 
 
+   public MapFile getMapFile() {
+       return mapFile;
+   }
+
+
+   public MapChunkStreamer getChunkStreamer() {
+       return chunkStreamer;
+   }
+
+
+   public ArrayList<EnemyWave> getEnemyWaves() {
+       return enemyWaves;
+   }
+
+
    public int getWidth() {
        return width;
    }
@@ -375,32 +596,212 @@ public abstract class Map {
    }
 
 
+   // returns every tile in the tile map as a MapTile
+   // the first time this is called, a MapTile is created for every tile and the map uses those from then on,
+   // so changes made to the returned array (such as by the map editor) show up in the map
+   // returns null for a streamed map, since it never has all of its tiles loaded at once
    public MapTile[] getMapTiles() {
+       if (mapTiles == null && tileIndexes != null) {
+           MapTile[] mapTiles = new MapTile[tileIndexes.length];
+           animatedMapTiles.clear();
+           for (int i = 0; i < height; i++) {
+               for (int j = 0; j < width; j++) {
+                   int index = getConvertedIndex(j, i);
+                   MapTile tile = placedMapTiles.get(index);
+                   if (tile == null) {
+                       tile = createMapTile(j, i, tileIndexes[index]);
+                   }
+                   mapTiles[index] = tile;
+                   if (tile.isAnimated()) {
+                       animatedMapTiles.add(tile);
+                   }
+               }
+           }
+           setMapTiles(mapTiles);
+       }
        return mapTiles;
    }
 
 
    public void setMapTiles(MapTile[] mapTiles) {
        this.mapTiles = mapTiles;
+       this.tileIndexes = null;
+       clearCachedMapTiles();
+       this.placedMapTiles.clear();
    }
 
 
    // get specific map tile from tile map
+   // unless it was placed with setMapTile, the tile is created from the tile map the first time it is asked for
    public MapTile getMapTile(int x, int y) {
        if (isInBounds(x, y)) {
-           return mapTiles[getConvertedIndex(x, y)];
+           if (chunkStreamer != null) {
+               return chunkStreamer.getMapTile(x, y);
+           }
+           int index = getConvertedIndex(x, y);
+           if (mapTiles != null) {
+               return mapTiles[index];
+           }
+           // most maps never have tiles placed into them, so the (boxed) placed tile lookup is skipped when there are none
+           MapTile tile = placedMapTiles.isEmpty() ? null : placedMapTiles.get(index);
+           if (tile == null) {
+               int slot = index & (CACHED_MAP_TILE_SLOTS - 1);
+               if (cachedMapTileIndexes[slot] == index) {
+                   tile = cachedMapTiles[slot];
+               } else {
+                   tile = createMapTile(x, y, tileIndexes[index]);
+                   cachedMapTiles[slot] = tile;
+                   cachedMapTileIndexes[slot] = index;
+               }
+           }
+           return tile;
        } else {
            return null;
        }
    }
 
+   private void removeCachedMapTile(int index) {
+       int slot = index & (CACHED_MAP_TILE_SLOTS - 1);
+       if (cachedMapTileIndexes[slot] == index) {
+           cachedMapTiles[slot] = null;
+           cachedMapTileIndexes[slot] = -1;
+       }
+   }
+
+   private void clearCachedMapTiles() {
+       Arrays.fill(cachedMapTiles, null);
+       Arrays.fill(cachedMapTileIndexes, -1);
+   }
+
+
+   // applies a newer version of the map file if the MapFileWatcher has read one in
+   // only tiles that are different in the new map file are changed, so tiles changed during play and every entity (including the player) are left alone
+   private void applyReloadedMapFile() {
+       MapFileWatcher.ReloadedMapFile reloadedMapFile = MapFileWatcher.getReloadedMapFile(mapFileName);
+       if (reloadedMapFile == null || reloadedMapFile.getReadTime() <= mapFileReadTime) {
+           return;
+       }
+       mapFileReadTime = reloadedMapFile.getReadTime();
+       MapFile newMapFile = reloadedMapFile.getMapFile();
+       if (newMapFile.getWidth() != width || newMapFile.getHeight() != height) {
+           System.out.println("Map file " + mapFileName + " changed size, the map has to be loaded again to see it");
+           return;
+       }
+
+       boolean wasTileIndexesShared = isTileIndexesShared;
+       short[] oldTileIndexes = mapFile.getTileIndexes();
+       short[] newTileIndexes = newMapFile.getTileIndexes();
+       int changedTileCount = 0;
+       for (int i = 0; i < newTileIndexes.length; i++) {
+           if (newTileIndexes[i] != oldTileIndexes[i]) {
+               setTileIndex(i % width, i / width, newTileIndexes[i]);
+               changedTileCount++;
+           }
+       }
+
+       this.mapFile = newMapFile;
+       if (snapshot != null) {
+           snapshot.setTileIndexes(newTileIndexes);
+       }
+       // if no tiles had been changed during play, the tile map now matches the new map file exactly and can share it again
+       if (wasTileIndexesShared && tileIndexes != null) {
+           isTileIndexesShared = true;
+           tileIndexes = newTileIndexes;
+       }
+       System.out.println("Applied " + changedTileCount + " changed tiles from map file " + mapFileName);
+   }
+
+
+   // get the tileset tile index of a specific tile in the tile map
+   public int getTileIndex(int x, int y) {
+       if (tileIndexes != null && isInBounds(x, y)) {
+           return tileIndexes[getConvertedIndex(x, y)];
+       }
+       MapTile tile = getMapTile(x, y);
+       return tile != null ? tile.getTileIndex() : -1;
+   }
+
+
+   // set specific tile in the tile map to a different tileset tile
+   // unlike setMapTile, this doesn't need a MapTile to be created for the tile
+   public void setTileIndex(int x, int y, int tileIndex) {
+       if (isInBounds(x, y)) {
+           if (tileIndexes == null) {
+               setMapTile(x, y, createMapTile(x, y, tileIndex));
+               return;
+           }
+           int index = getConvertedIndex(x, y);
+           MapTile placedMapTile = placedMapTiles.remove(index);
+           if (placedMapTile != null) {
+               animatedMapTiles.remove(placedMapTile);
+           }
+           removeCachedMapTile(index);
+           loadTileDefinition(tileIndex);
+           copySharedTileIndexes();
+           tileIndexes[index] = (short) tileIndex;
+       }
+   }
+
+
+   // get specific map tile from tile map only if it is currently loaded (always the case unless the map is streamed)
+   // drawing should never cause a chunk of a streamed map to be loaded
+   public MapTile getLoadedMapTile(int x, int y) {
+       if (chunkStreamer != null) {
+           return isInBounds(x, y) ? chunkStreamer.getLoadedMapTile(x, y) : null;
+       }
+       return getMapTile(x, y);
+   }
+
+
+   // draws a specific tile from the tile map
+   // tiles that haven't been placed with setMapTile are drawn using their shared tile definition, so no MapTile needs to exist for them
+   public void drawMapTile(GraphicsHandler graphicsHandler, int x, int y) {
+       if (!isInBounds(x, y)) {
+           return;
+       }
+       short[] tileIndexes = this.tileIndexes;
+       if (tileIndexes == null) {
+           MapTile tile = mapTiles != null || chunkStreamer != null ? getLoadedMapTile(x, y) : null;
+           if (tile != null) {
+               tile.draw(graphicsHandler);
+           }
+           return;
+       }
+       int index = getConvertedIndex(x, y);
+       if (!placedMapTiles.isEmpty()) {
+           MapTile placedMapTile = placedMapTiles.get(index);
+           if (placedMapTile != null) {
+               placedMapTile.draw(graphicsHandler);
+               return;
+           }
+       }
+       int tileIndex = tileIndexes[index];
+       MapTile tileDefinition = tileIndex >= 0 && tileIndex < tileDefinitions.length ? tileDefinitions[tileIndex] : defaultTileDefinition;
+       if (tileDefinition != null) {
+           tileDefinition.drawAt(graphicsHandler,
+                   Math.round(x * tileset.getScaledSpriteWidth() - camera.getX()),
+                   Math.round(y * tileset.getScaledSpriteHeight() - camera.getY()));
+       }
+   }
+
 
    // set specific map tile from tile map to a new map tile
    public void setMapTile(int x, int y, MapTile tile) {
        if (isInBounds(x, y)) {
-           MapTile oldMapTile = getMapTile(x, y);
+           MapTile oldMapTile;
+           int index = getConvertedIndex(x, y);
+           if (chunkStreamer != null) {
+               oldMapTile = chunkStreamer.setMapTile(x, y, tile);
+           } else if (mapTiles != null) {
+               oldMapTile = mapTiles[index];
+               mapTiles[index] = tile;
+           } else {
+               oldMapTile = placedMapTiles.put(index, tile);
+               removeCachedMapTile(index);
+               copySharedTileIndexes();
+               tileIndexes[index] = (short) tile.getTileIndex();
+           }
            animatedMapTiles.remove(oldMapTile);
-           mapTiles[getConvertedIndex(x, y)] = tile;
            if (tile.isAnimated()) {
                animatedMapTiles.add(tile);
            }
@@ -517,24 +918,24 @@ public abstract class Map {
 
 
    // add an enemy to the map's list of enemies
+   // the enemy is added once pending changes are applied
    public void addEnemy(Enemy enemy) {
-    if (enemies == null) {
-        enemies = new ArrayList<>();
-    }
-    enemies.add(enemy);
     enemy.setMap(this);
+    enemyCommands.queueSpawn(enemy);
    }
    // add an enhanced map tile to the map's list of enhanced map tiles
+   // the enhanced map tile is added once pending changes are applied
    public void addEnhancedMapTile(EnhancedMapTile enhancedMapTile) {
        enhancedMapTile.setMap(this);
-       this.enhancedMapTiles.add(enhancedMapTile);
+       enhancedMapTileCommands.queueSpawn(enhancedMapTile);
    }
 
 
    // add an npc to the map's list of npcs
+   // the npc is added once pending changes are applied
    public void addNPC(NPC npc) {
        npc.setMap(this);
-       this.npcs.add(npc);
+       npcCommands.queueSpawn(npc);
    }
 
 
@@ -546,6 +947,12 @@ public abstract class Map {
 
 
    public void update(Player player) {
+       // anything queued since the map last updated (such as by the level screen after the map updated last frame) is applied first
+       applyPendingChanges();
+
+       // if the map file was changed while the map is being played (such as by saving in the map editor), its changes are applied here between updates
+       applyReloadedMapFile();
+
        if (adjustCamera) {
            adjustMovementY(player);
            adjustMovementX(player);
@@ -556,14 +963,24 @@ public abstract class Map {
         System.out.println("Wave " + currentWaveIndex + " completed.");
         waveActive = false;
         if (!isLastWave()) {
-            spawnNextWave();
+            scheduleNextWave();
         } else {
             System.out.println("Final wave completed. Preparing to finish level.");
             onAllWavesComplete();
         }
     }
 
+       // loads in chunks of a streamed map that the camera is getting close to, and evicts ones it's far away from
+       if (chunkStreamer != null) {
+           chunkStreamer.update(camera);
+       }
+
        camera.update(player);
+
+       // spawns and removals that happened while the camera was updating entities are applied once it's done looping through them
+       applyPendingChanges();
+
+       SessionMetrics.setMapStats(currentWaveIndex, enemies.size(), npcs.size(), projectiles.size());
    }
 
    private boolean isCurrentWaveComplete() {
@@ -574,6 +991,11 @@ private boolean isLastWave() {
     return currentWaveIndex == enemyWaves.size(); // Check if on the last wave
 }
 
+// Check if the last wave has spawned and is still being fought
+public boolean isFinalWaveActive() {
+    return waveActive && currentWaveIndex == enemyWaves.size();
+}
+
 public boolean isLastWaveComplete() {
     // Check if we're on the last wave and all enemies are defeated
     return currentWaveIndex == enemyWaves.size() && getEnemies().isEmpty();
@@ -661,9 +1083,183 @@ protected void onAllWavesComplete() {
    }
 
 
+   // puts the map back the way it was when it was first set up (such as when a level is retried) and starts its first wave again
+   // the tile map and entities are restored from the map's snapshot instead of reading in the map file and creating everything again
+   // streamed maps and maps that have had every map tile created (such as in the map editor) are set up from scratch instead
    public void reset() {
-       setupMap();
-        waveActive = false;
+       if (snapshot == null || chunkStreamer != null || mapTiles != null) {
+           setupMap();
+       } else {
+           restoreSnapshot();
+       }
+       projectiles.clear();
+       random.reset();
+       currentWaveIndex = 0;
+       waveActive = false;
+       spawnNextWave();
+       applyPendingChanges();
+   }
+
+   private void restoreSnapshot() {
+       clearPendingChanges();
+       if (nextWaveTimer != null) {
+           nextWaveTimer.cancel();
+       }
+
+       // tiles placed since the snapshot are thrown away, and the tile map goes back to sharing the snapshot's
+       for (MapTile placedMapTile : placedMapTiles.values()) {
+           animatedMapTiles.remove(placedMapTile);
+       }
+       placedMapTiles.clear();
+       clearCachedMapTiles();
+       isTileIndexesShared = true;
+       tileIndexes = snapshot.getTileIndexes();
+
+       snapshot.restoreMapEntities(enemies, enhancedMapTiles, npcs);
+       camera.reset();
+   }
+
+
+   // writes the map's state for a quick save (see Game.SaveState):
+   //   wave progress: current wave index (int), whether a wave is active (byte), ticks left before the next wave spawns (long, -1 if not waiting)
+   //   camera position: x and y (float)
+   //   random number streams (see MapRandom.writeState)
+   //   changed tiles: number of tiles that differ from the map file (int), followed by each one's position in the tile map (int) and tile index (short)
+   //   the state of every entity the map started with, in the order they were loaded (see MapSnapshot.writeMapEntities)
+   //   wave enemies: how many there are (int), followed by each one's wave and spawn in that wave (short each) and its state
+   //   dropped items: how many there are (int), followed by each one's type (byte) and its state
+   // projectiles and other entities that don't come from the map, a wave, or an enemy's drop aren't saved
+   // only maps that can be reset from a snapshot can be saved
+   public void writeState(ByteBuffer buffer) {
+       if (snapshot == null || chunkStreamer != null || mapTiles != null) {
+           throw new IllegalStateException("Map " + mapFileName + " can't be saved since it doesn't have a snapshot to save changes against");
+       }
+       // a wave that just spawned (or an item that just dropped) is still queued up until the next update, so it's put on the map first to be saved with it
+       applyPendingChanges();
+       buffer.putInt(currentWaveIndex);
+       buffer.put((byte) (waveActive ? 1 : 0));
+       buffer.putLong(GameClock.ticksLeft(nextWaveTimer));
+       buffer.putFloat(camera.getX());
+       buffer.putFloat(camera.getY());
+       random.writeState(buffer);
+
+       // only tiles that have been changed since the map was loaded are written
+       int changedTileCountPosition = buffer.position();
+       int changedTileCount = 0;
+       buffer.putInt(0);
+       if (!isTileIndexesShared) {
+           short[] startingTileIndexes = snapshot.getTileIndexes();
+           for (int i = 0; i < tileIndexes.length; i++) {
+               if (tileIndexes[i] != startingTileIndexes[i]) {
+                   buffer.putInt(i);
+                   buffer.putShort(tileIndexes[i]);
+                   changedTileCount++;
+               }
+           }
+       }
+       buffer.putInt(changedTileCountPosition, changedTileCount);
+
+       snapshot.writeMapEntities(buffer);
+
+       int waveEnemyCountPosition = buffer.position();
+       int waveEnemyCount = 0;
+       buffer.putInt(0);
+       for (Enemy enemy : enemies) {
+           if (enemy.waveIndex >= 0) {
+               buffer.putShort((short) enemy.waveIndex);
+               buffer.putShort((short) enemy.waveSpawnIndex);
+               enemy.writeState(buffer);
+               waveEnemyCount++;
+           }
+       }
+       buffer.putInt(waveEnemyCountPosition, waveEnemyCount);
+
+       int droppedItemCountPosition = buffer.position();
+       int droppedItemCount = 0;
+       buffer.putInt(0);
+       for (NPC npc : npcs) {
+           if (npc.droppedItemType >= 0) {
+               buffer.put((byte) npc.droppedItemType);
+               npc.writeState(buffer);
+               droppedItemCount++;
+           }
+       }
+       buffer.putInt(droppedItemCountPosition, droppedItemCount);
+   }
+
+   // reads back the state written by writeState
+   // the map is first restored from its snapshot, and then the saved changes are applied on top of it
+   public void readState(ByteBuffer buffer) {
+       if (snapshot == null || chunkStreamer != null || mapTiles != null) {
+           throw new IllegalStateException("Map " + mapFileName + " can't be loaded since it doesn't have a snapshot to load changes onto");
+       }
+       restoreSnapshot();
+       projectiles.clear();
+
+       currentWaveIndex = buffer.getInt();
+       waveActive = buffer.get() == 1;
+       long nextWaveTicksLeft = buffer.getLong();
+       nextWaveTimer = nextWaveTicksLeft >= 0 ? GameClock.schedule(nextWaveTicksLeft, this::spawnNextWave) : null;
+       if (currentWaveIndex < enemyWaves.size()) {
+           enemyWaves.get(currentWaveIndex).prefetch();
+       }
+       camera.setLocation(buffer.getFloat(), buffer.getFloat());
+       random.readState(buffer);
+
+       int changedTileCount = buffer.getInt();
+       for (int i = 0; i < changedTileCount; i++) {
+           int index = buffer.getInt();
+           setTileIndex(index % width, index / width, buffer.getShort());
+       }
+
+       snapshot.readMapEntities(buffer, enemies, enhancedMapTiles, npcs);
+
+       int waveEnemyCount = buffer.getInt();
+       for (int i = 0; i < waveEnemyCount; i++) {
+           int waveIndex = buffer.getShort();
+           int waveSpawnIndex = buffer.getShort();
+           Enemy enemy = enemyWaves.get(waveIndex).getEnemySpawns().get(waveSpawnIndex).create();
+           enemy.waveIndex = waveIndex;
+           enemy.waveSpawnIndex = waveSpawnIndex;
+           enemy.readState(buffer);
+           addEnemy(enemy);
+       }
+
+       int droppedItemCount = buffer.getInt();
+       for (int i = 0; i < droppedItemCount; i++) {
+           NPC droppedItem = createDroppedItem(buffer.get(), new Point(0, 0));
+           droppedItem.readState(buffer);
+           addNPC(droppedItem);
+       }
+
+       applyPendingChanges();
+   }
+
+   // creates an item dropped by an enemy
+   // the npc remembers which type of item it is, so a quick save can create it again
+   private NPC createDroppedItem(int droppedItemType, Point location) {
+       NPC droppedItem;
+       switch (droppedItemType) {
+           case DROPPED_COIN:
+               droppedItem = new Coin(location, this);
+               break;
+           case DROPPED_HP:
+               droppedItem = new HP(location, this);
+               break;
+           case DROPPED_INSTA_KILL:
+               droppedItem = new InstaKill(location, this);
+               break;
+           case DROPPED_MAX_AMMO:
+               droppedItem = new MaxAmmo(location, this);
+               break;
+           case DROPPED_SPEED_BOOST:
+               droppedItem = new SpeedBoost(location, this);
+               break;
+           default:
+               throw new IllegalArgumentException("Unknown dropped item type " + droppedItemType);
+       }
+       droppedItem.droppedItemType = droppedItemType;
+       return droppedItem;
    }
 
 
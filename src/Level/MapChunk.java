@@ -0,0 +1,65 @@
+package Level;
+
+import java.util.ArrayList;
+
+// This class holds the map tiles for one square section of a streamed map (see MapChunkStreamer)
+public class MapChunk {
+    private final int chunkX;
+    private final int chunkY;
+
+    // index of the chunk's top left tile on the map, and how many tiles wide/tall the chunk is (chunks on the map's right and bottom edges can be smaller)
+    private final int startX;
+    private final int startY;
+    private final int width;
+    private final int height;
+
+    private final MapTile[] mapTiles;
+    private final ArrayList<MapTile> animatedMapTiles = new ArrayList<>();
+
+    // the last update the chunk was needed on, used to pick which chunk to evict when over the memory budget
+    long lastUsedFrame;
+
+    // a chunk that has had a tile changed can't be evicted, otherwise the change would be lost when it gets loaded back in from the map file
+    boolean isModified = false;
+
+    public MapChunk(int chunkX, int chunkY, int startX, int startY, int width, int height) {
+        this.chunkX = chunkX;
+        this.chunkY = chunkY;
+        this.startX = startX;
+        this.startY = startY;
+        this.width = width;
+        this.height = height;
+        this.mapTiles = new MapTile[width * height];
+    }
+
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    public int getChunkY() {
+        return chunkY;
+    }
+
+    // x and y are tile indexes on the map, not within the chunk
+    public MapTile getMapTile(int x, int y) {
+        return mapTiles[(x - startX) + width * (y - startY)];
+    }
+
+    // sets a tile in the chunk and returns the tile it replaced
+    public MapTile setMapTile(int x, int y, MapTile mapTile) {
+        int index = (x - startX) + width * (y - startY);
+        MapTile oldMapTile = mapTiles[index];
+        if (oldMapTile != null && oldMapTile.isAnimated()) {
+            animatedMapTiles.remove(oldMapTile);
+        }
+        mapTiles[index] = mapTile;
+        if (mapTile.isAnimated()) {
+            animatedMapTiles.add(mapTile);
+        }
+        return oldMapTile;
+    }
+
+    public ArrayList<MapTile> getAnimatedMapTiles() {
+        return animatedMapTiles;
+    }
+}
@@ -0,0 +1,201 @@
+package Level;
+
+import java.awt.Point;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// This class streams a large map's tiles in and out of memory in square chunks, so that the whole map never has to exist as MapTile objects at once
+// Each update, chunks around the camera (plus the map's prefetch distance) that aren't loaded yet are built on a background thread ahead of when they are needed
+// Finished chunks are only handed over to the map at the start of an update, so the game never sees a half built chunk
+// Once more chunks are loaded than the map's budget allows, the chunks that were used least recently are evicted
+// If the game asks for a tile in a chunk that isn't loaded yet (such as for a collision check far from the camera), that chunk is built right away instead
+public class MapChunkStreamer {
+    // one background thread builds chunks for every streamed map
+    private static final ExecutorService chunkLoader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Map Chunk Loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map map;
+    private final MapFile mapFile;
+    private final MapStreamingSettings settings;
+    private final int chunksWide;
+    private final int chunksHigh;
+
+    // loaded chunks are read while drawing as well, which happens on a different thread than updating
+    private final ConcurrentHashMap<Integer, MapChunk> loadedChunks = new ConcurrentHashMap<>();
+    private final HashSet<Integer> requestedChunks = new HashSet<>();
+    private final ConcurrentLinkedQueue<MapChunk> finishedChunks = new ConcurrentLinkedQueue<>();
+
+    // chunk that was last looked up, since tiles tend to be asked for one after another from the same chunk
+    private MapChunk lastChunk;
+
+    private long currentFrame = 0;
+
+    // how many chunks had to be built on the game thread because they weren't loaded in time
+    private int synchronousLoads = 0;
+
+    public MapChunkStreamer(Map map, MapFile mapFile, MapStreamingSettings settings) {
+        this.map = map;
+        this.mapFile = mapFile;
+        this.settings = settings;
+        this.chunksWide = (mapFile.getWidth() + settings.getChunkSize() - 1) / settings.getChunkSize();
+        this.chunksHigh = (mapFile.getHeight() + settings.getChunkSize() - 1) / settings.getChunkSize();
+    }
+
+    // gets a map tile, loading its chunk right away if it isn't loaded
+    // x and y must be in the map's bounds
+    public MapTile getMapTile(int x, int y) {
+        MapChunk chunk = getChunk(x / settings.getChunkSize(), y / settings.getChunkSize());
+        chunk.lastUsedFrame = currentFrame;
+        return chunk.getMapTile(x, y);
+    }
+
+    // gets a map tile only if its chunk is already loaded, otherwise returns null
+    // this is safe to call while drawing
+    public MapTile getLoadedMapTile(int x, int y) {
+        MapChunk chunk = loadedChunks.get(getChunkKey(x / settings.getChunkSize(), y / settings.getChunkSize()));
+        return chunk != null ? chunk.getMapTile(x, y) : null;
+    }
+
+    // sets a map tile and returns the tile it replaced
+    // the tile's chunk is kept loaded from then on so the change isn't lost
+    public MapTile setMapTile(int x, int y, MapTile mapTile) {
+        MapChunk chunk = getChunk(x / settings.getChunkSize(), y / settings.getChunkSize());
+        chunk.isModified = true;
+        return chunk.setMapTile(x, y, mapTile);
+    }
+
+    // hands over chunks that finished loading, requests chunks around the camera, and evicts chunks if over budget
+    public void update(Camera camera) {
+        currentFrame++;
+
+        MapChunk finishedChunk;
+        while ((finishedChunk = finishedChunks.poll()) != null) {
+            int key = getChunkKey(finishedChunk.getChunkX(), finishedChunk.getChunkY());
+            requestedChunks.remove(key);
+            // the chunk may have already been built on the game thread while it was waiting to be loaded
+            if (!loadedChunks.containsKey(key)) {
+                installChunk(key, finishedChunk);
+            }
+        }
+
+        // chunks the camera can see (and the chunks around them out to the prefetch distance) are marked as used this frame, so they won't be evicted
+        // if only the visible chunks were protected, prefetched chunks could be evicted right after loading and then requested again every frame
+        Point cameraTileIndex = camera.getTileIndexByCameraPosition();
+        int chunkSize = settings.getChunkSize();
+        int startChunkX = Math.max(0, Math.floorDiv(cameraTileIndex.x - 1, chunkSize));
+        int startChunkY = Math.max(0, Math.floorDiv(cameraTileIndex.y - 1, chunkSize));
+        int endChunkX = Math.min(chunksWide - 1, (cameraTileIndex.x + camera.getWidth() + 1) / chunkSize);
+        int endChunkY = Math.min(chunksHigh - 1, (cameraTileIndex.y + camera.getHeight() + 1) / chunkSize);
+
+        int prefetchDistance = settings.getPrefetchDistance();
+        for (int chunkY = Math.max(0, startChunkY - prefetchDistance); chunkY <= Math.min(chunksHigh - 1, endChunkY + prefetchDistance); chunkY++) {
+            for (int chunkX = Math.max(0, startChunkX - prefetchDistance); chunkX <= Math.min(chunksWide - 1, endChunkX + prefetchDistance); chunkX++) {
+                int key = getChunkKey(chunkX, chunkY);
+                MapChunk chunk = loadedChunks.get(key);
+                if (chunk != null) {
+                    chunk.lastUsedFrame = currentFrame;
+                } else if (requestedChunks.add(key)) {
+                    int requestedChunkX = chunkX;
+                    int requestedChunkY = chunkY;
+                    chunkLoader.execute(() -> finishedChunks.add(buildChunk(requestedChunkX, requestedChunkY)));
+                }
+            }
+        }
+
+        evictChunks();
+    }
+
+    // evicts the least recently used chunks until the number of loaded chunks is within budget
+    // chunks used this frame and chunks with changed tiles are never evicted, so the budget can be temporarily exceeded if it's set too low
+    private void evictChunks() {
+        // evicted chunks' animated tiles are all taken out of the map's list in one pass at the end, rather than searching the list once per chunk
+        HashSet<MapTile> evictedAnimatedMapTiles = null;
+        while (loadedChunks.size() > settings.getMaxLoadedChunks()) {
+            Integer oldestKey = null;
+            MapChunk oldestChunk = null;
+            for (java.util.Map.Entry<Integer, MapChunk> entry : loadedChunks.entrySet()) {
+                MapChunk chunk = entry.getValue();
+                if (chunk.lastUsedFrame < currentFrame && !chunk.isModified && (oldestChunk == null || chunk.lastUsedFrame < oldestChunk.lastUsedFrame)) {
+                    oldestKey = entry.getKey();
+                    oldestChunk = chunk;
+                }
+            }
+            if (oldestChunk == null) {
+                break;
+            }
+            loadedChunks.remove(oldestKey);
+            if (!oldestChunk.getAnimatedMapTiles().isEmpty()) {
+                if (evictedAnimatedMapTiles == null) {
+                    evictedAnimatedMapTiles = new HashSet<>();
+                }
+                evictedAnimatedMapTiles.addAll(oldestChunk.getAnimatedMapTiles());
+            }
+            if (lastChunk == oldestChunk) {
+                lastChunk = null;
+            }
+        }
+        if (evictedAnimatedMapTiles != null) {
+            map.animatedMapTiles.removeIf(evictedAnimatedMapTiles::contains);
+        }
+    }
+
+    private MapChunk getChunk(int chunkX, int chunkY) {
+        if (lastChunk != null && lastChunk.getChunkX() == chunkX && lastChunk.getChunkY() == chunkY) {
+            return lastChunk;
+        }
+        int key = getChunkKey(chunkX, chunkY);
+        MapChunk chunk = loadedChunks.get(key);
+        if (chunk == null) {
+            chunk = buildChunk(chunkX, chunkY);
+            installChunk(key, chunk);
+            synchronousLoads++;
+        }
+        lastChunk = chunk;
+        return chunk;
+    }
+
+    private void installChunk(int key, MapChunk chunk) {
+        chunk.lastUsedFrame = currentFrame;
+        loadedChunks.put(key, chunk);
+        map.animatedMapTiles.addAll(chunk.getAnimatedMapTiles());
+    }
+
+    // creates the map tiles for a chunk from the map file's tile indexes
+    // this runs on the chunk loader thread, so it must not touch anything the game thread changes
+    private MapChunk buildChunk(int chunkX, int chunkY) {
+        int chunkSize = settings.getChunkSize();
+        int startX = chunkX * chunkSize;
+        int startY = chunkY * chunkSize;
+        int width = Math.min(chunkSize, mapFile.getWidth() - startX);
+        int height = Math.min(chunkSize, mapFile.getHeight() - startY);
+        MapChunk chunk = new MapChunk(chunkX, chunkY, startX, startY, width, height);
+
+        Tileset tileset = map.getTileset();
+        for (int y = startY; y < startY + height; y++) {
+            for (int x = startX; x < startX + width; x++) {
+                MapTile tile = tileset.getTile(mapFile.getTileIndex(x, y)).build(x * tileset.getScaledSpriteWidth(), y * tileset.getScaledSpriteHeight());
+                tile.setMap(map);
+                chunk.setMapTile(x, y, tile);
+            }
+        }
+        return chunk;
+    }
+
+    private int getChunkKey(int chunkX, int chunkY) {
+        return chunkX + chunkY * chunksWide;
+    }
+
+    public int getLoadedChunkCount() {
+        return loadedChunks.size();
+    }
+
+    public int getSynchronousLoads() {
+        return synchronousLoads;
+    }
+}
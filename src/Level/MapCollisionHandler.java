@@ -1,5 +1,6 @@
 package Level;
 
+import Engine.EngineEvents;
 import Engine.Key;
 import Engine.Keyboard;
 import GameObject.GameObject;
@@ -15,6 +16,7 @@ public class MapCollisionHandler {
     // calculates where gameobject should be placed to resolve the collision
     public static MapCollisionCheckResult getAdjustedPositionAfterCollisionCheckX(GameObject gameObject, Map map,
             Direction direction) {
+        EngineEvents.countCollisionQuery();
         // check map tiles in surrounding radius for potential collision
         int numberOfTilesToCheck = Math
                 .max(gameObject.getBounds().getHeight() / map.getTileset().getScaledSpriteHeight(), 1);
@@ -65,6 +67,7 @@ public class MapCollisionHandler {
     // calculates where gameobject should be placed to resolve the collision
     public static MapCollisionCheckResult getAdjustedPositionAfterCollisionCheckY(GameObject gameObject, Map map,
             Direction direction) {
+        EngineEvents.countCollisionQuery();
         // check map tiles in surrounding radius for potential collision
         int numberOfTilesToCheck = Math.max(gameObject.getBounds().getWidth() / map.getTileset().getScaledSpriteWidth(),
                 1);
@@ -159,6 +162,7 @@ public class MapCollisionHandler {
     // special collision logic handling for detecting collision with slopes in the y
     // direction
     public static MapCollisionCheckResult getAdjustedPositionAfterCollisionSlopeCheckY(GameObject gameObject, Map map) {
+        EngineEvents.countCollisionQuery();
         int numberOfTilesToCheck = Math.max(gameObject.getBounds().getWidth() / map.getTileset().getScaledSpriteWidth(),
                 1);
         boolean needsSlopeCheck = false;
@@ -208,6 +212,7 @@ public class MapCollisionHandler {
     // get proximity status to where game object is in relation to a slope
     public static SlopeProximityStatus getCurrentSlopeProximityStatus(GameObject gameObject, Map map,
             Direction xDirection) {
+        EngineEvents.countCollisionQuery();
         SlopeProximityStatus slopeProximityStatus = SlopeProximityStatus.NONE;
 
         // check for left side slopes
@@ -268,6 +273,7 @@ public class MapCollisionHandler {
     // special logic for adjusting game object location when going down a slope
     public static MapCollisionCheckResult getAdjustedPositionAfterCollisionSlopeCheckX(GameObject gameObject, Map map,
             SlopeProximityStatus slopeProximityStatus) {
+        EngineEvents.countCollisionQuery();
         // adjust y position if moving down a slope
         if (slopeProximityStatus == SlopeProximityStatus.IN_SLOPE_LEFT) {
             MapTile slopeTile = map.getTileByPosition(gameObject.getBounds().getX2(), gameObject.getBounds().getY2());
@@ -302,6 +308,9 @@ public class MapCollisionHandler {
         } else if (slopeProximityStatus == SlopeProximityStatus.ON_TOP_OF_SLOPE_LEFT) {
             MapTile slopeTile = map.getTileByPosition(gameObject.getBounds().getX2(),
                     gameObject.getBounds().getY2() + 1);
+            if (slopeTile == null || slopeTile.getLayout() == null) { // this means you've moved off of the slope with this newest x update
+                return new MapCollisionCheckResult(null, null);
+            }
 
             int xLocationInTile = Math.round(gameObject.getBounds().getX2()) - Math.round(slopeTile.getX());
             int yLocationInTile = Math.round(gameObject.getBounds().getY2() + 1) - Math.round(slopeTile.getY());
@@ -356,6 +365,9 @@ public class MapCollisionHandler {
         } else if (slopeProximityStatus == SlopeProximityStatus.ON_TOP_OF_SLOPE_RIGHT) {
             MapTile slopeTile = map.getTileByPosition(gameObject.getBounds().getX(),
                     gameObject.getBounds().getY2() + 1);
+            if (slopeTile == null || slopeTile.getLayout() == null) { // this means you've moved off of the slope with this newest x update
+                return new MapCollisionCheckResult(null, null);
+            }
 
             int xLocationInTile = Math.round(gameObject.getBounds().getX()) - Math.round(slopeTile.getX());
             int yLocationInTile = Math.round(gameObject.getBounds().getY2() + 1) - Math.round(slopeTile.getY());
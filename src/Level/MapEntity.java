@@ -4,6 +4,7 @@ import GameObject.Frame;
 import GameObject.GameObject;
 import GameObject.SpriteSheet;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 
 // This class represents a map entity, which is any "entity" on a map besides the player
@@ -14,6 +15,15 @@ public class MapEntity extends GameObject {
     // if true, entity will continue to be updated even if off camera
     protected boolean isUpdateOffScreen = false;
 
+    // bookkeeping used by the Camera to track this entity in its active set without rechecking it every frame
+    // cellX and cellY are the tile index the entity was last seen on, activeIndex is its slot in the camera's active list (-1 if not in it)
+    int cellX = Integer.MIN_VALUE;
+    int cellY = Integer.MIN_VALUE;
+    int activeIndex = -1;
+
+    // this entity's slot in the map's entity list it belongs to (-1 if not in one), used by MapEntityCommandBuffer to remove it without searching
+    int listIndex = -1;
+
     public MapEntity(float x, float y, SpriteSheet spriteSheet, String startingAnimation) {
         super(spriteSheet, x, y, startingAnimation);
     }
@@ -44,6 +54,24 @@ public class MapEntity extends GameObject {
         updateCurrentFrame();
     }
 
+    // writes this entity's state for a quick save (see Game.SaveState)
+    // subclasses that have more state worth saving should override this and readState, calling the super method first
+    public void writeState(ByteBuffer buffer) {
+        buffer.put((byte) mapEntityStatus.ordinal());
+        buffer.putFloat(x);
+        buffer.putFloat(y);
+    }
+
+    // reads back the state written by writeState
+    public void readState(ByteBuffer buffer) {
+        mapEntityStatus = MapEntityStatus.values()[buffer.get()];
+        x = buffer.getFloat();
+        y = buffer.getFloat();
+        previousX = x;
+        previousY = y;
+        updateCurrentFrame();
+    }
+
     public MapEntityStatus getMapEntityStatus() {
         return mapEntityStatus;
     }
@@ -0,0 +1,65 @@
+package Level;
+
+import java.util.ArrayList;
+
+// This class queues up structural changes (spawns and removals) to one of a Map's entity lists
+// Entities are often spawned or removed in the middle of the map's update cycle (an enemy dying and dropping a coin, a coin getting collected, etc.)
+// while that same list is being looped through, so instead of changing the list right away the change is queued here
+// and all queued changes are applied in one pass once it is safe to do so
+public class MapEntityCommandBuffer<T extends MapEntity> {
+    private final ArrayList<T> pendingSpawns = new ArrayList<>();
+    private final ArrayList<T> pendingRemovals = new ArrayList<>();
+
+    // queue an entity to be added to the list
+    public void queueSpawn(T mapEntity) {
+        pendingSpawns.add(mapEntity);
+    }
+
+    // queue an entity to be removed from the list
+    public void queueRemoval(T mapEntity) {
+        pendingRemovals.add(mapEntity);
+    }
+
+    public boolean hasPendingChanges() {
+        return !pendingSpawns.isEmpty() || !pendingRemovals.isEmpty();
+    }
+
+    // throws away any queued changes without applying them
+    public void clear() {
+        pendingSpawns.clear();
+        pendingRemovals.clear();
+    }
+
+    // applies all queued changes to the list
+    // removals are done first by moving the last entity in the list into the removed entity's slot, so nothing gets shifted down
+    // an entity that was both spawned and removed before the changes were applied is never added
+    public void apply(ArrayList<T> mapEntities) {
+        for (T mapEntity : pendingRemovals) {
+            int index = mapEntity.listIndex;
+            if (index >= 0 && index < mapEntities.size() && mapEntities.get(index) == mapEntity) {
+                int lastIndex = mapEntities.size() - 1;
+                T lastEntity = mapEntities.get(lastIndex);
+                mapEntities.set(index, lastEntity);
+                lastEntity.listIndex = index;
+                mapEntities.remove(lastIndex);
+                mapEntity.listIndex = -1;
+            }
+        }
+        pendingRemovals.clear();
+
+        for (T mapEntity : pendingSpawns) {
+            if (mapEntity.getMapEntityStatus() != MapEntityStatus.REMOVED) {
+                mapEntity.listIndex = mapEntities.size();
+                mapEntities.add(mapEntity);
+            }
+        }
+        pendingSpawns.clear();
+    }
+
+    // entities that were put in a list without going through a command buffer (such as the lists a map subclass loads in) need their slots recorded
+    public static <T extends MapEntity> void indexMapEntities(ArrayList<T> mapEntities) {
+        for (int i = 0; i < mapEntities.size(); i++) {
+            mapEntities.get(i).listIndex = i;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package Level;
+
+import Engine.Config;
+import Engine.EngineEvents;
+import Engine.StartupTracer;
+import Utils.Direction;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Scanner;
+import java.util.zip.CRC32;
+
+// This class holds the contents of a map file: the map's width and height, the tile index of each tile,
+// and (for binary map files) the map's spawn table and enemy waves
+//
+// Map files come in two formats:
+//   - the text format (MapFiles/*.txt), which is the width and height followed by every tile index, separated by whitespace
+//     this is what the map editor saves, but it has to be parsed number by number with a Scanner which gets slow for big maps
+//   - the binary format (MapFiles/*.bin), which is memory mapped and has its tile indexes read straight out as shorts
+//     binary map files are made from text map files using the MapFileConverter in the MapEditor package
+//     a binary map file remembers the size and CRC32 of the text map file it was made from, and is only used while that text map file hasn't changed
+//     (file modification times can't be relied on for this, since a checkout can write the two files in either order)
+//
+// The binary format is laid out like this (numbers are big endian):
+//   header: magic number "TAMP" (int), format version (short), reserved (short), width (int), height (int),
+//           size of the text map file it was made from (long, -1 if it wasn't made from one) and that text map file's CRC32 (int)
+//   tiles: width * height tile indexes (short), going row by row
+//   spawn table: number of spawns (int), followed by each spawn
+//   waves: number of waves (int), followed by each wave's id (int), spawn delay (int), number of enemies (int) and each enemy's spawn
+// a spawn is its kind (byte), type name (short length followed by that many UTF-8 bytes), x and y (float), and facing direction (byte, -1 for none)
+public class MapFile {
+    public static final int MAGIC_NUMBER = 0x54414D50; // "TAMP"
+    public static final short FORMAT_VERSION = 2;
+    public static final String TEXT_EXTENSION = ".txt";
+    public static final String BINARY_EXTENSION = ".bin";
+    private static final int HEADER_SIZE = 28;
+
+    private final int width;
+    private final int height;
+    private final short[] tileIndexes;
+    private final ArrayList<MapSpawn> spawns = new ArrayList<>();
+    private final ArrayList<Wave> waves = new ArrayList<>();
+
+    // size and CRC32 of the text map file this was read from (or the binary map file was made from), or -1 and 0 if there wasn't one
+    private long sourceTextLength = -1;
+    private int sourceTextChecksum;
+
+    // an enemy wave as it is stored in a binary map file
+    public static class Wave {
+        private final int waveId;
+        private final int spawnDelay;
+        private final ArrayList<MapSpawn> enemySpawns = new ArrayList<>();
+
+        public Wave(int waveId, int spawnDelay) {
+            this.waveId = waveId;
+            this.spawnDelay = spawnDelay;
+        }
+
+        public int getWaveId() {
+            return waveId;
+        }
+
+        public int getSpawnDelay() {
+            return spawnDelay;
+        }
+
+        public ArrayList<MapSpawn> getEnemySpawns() {
+            return enemySpawns;
+        }
+    }
+
+    public MapFile(int width, int height, short[] tileIndexes) {
+        if (tileIndexes.length != width * height) {
+            throw new IllegalArgumentException("Expected " + (width * height) + " tile indexes but got " + tileIndexes.length);
+        }
+        this.width = width;
+        this.height = height;
+        this.tileIndexes = tileIndexes;
+    }
+
+    // loads the map file with the given name from the MAP_FILES_PATH directory
+    // if there is a binary version of the map file that was made from the current text version, the binary version is used
+    // (a binary version that is out of date is ignored with a warning, and the text version is read instead)
+    public static MapFile load(String mapFileName) throws IOException {
+        File textFile = new File(Config.MAP_FILES_PATH + mapFileName);
+        File binaryFile = getBinaryFile(mapFileName);
+        EngineEvents.MapLoad mapLoadEvent = new EngineEvents.MapLoad();
+        mapLoadEvent.begin();
+        long startTime = StartupTracer.begin();
+        MapFile mapFile;
+        boolean isBinary;
+        if (!textFile.exists() && binaryFile.exists()) {
+            isBinary = true;
+            mapFile = readBinaryFile(binaryFile);
+        } else {
+            byte[] textBytes = readAllBytes(textFile);
+            isBinary = binaryFile.exists() && isMadeFrom(binaryFile, textBytes);
+            if (isBinary) {
+                mapFile = readBinaryFile(binaryFile);
+            } else {
+                if (binaryFile.exists()) {
+                    System.out.println("Binary map file " + binaryFile.getName() + " is out of date with " + mapFileName
+                            + ", reading the text map file instead (run MapFileConverter to update it)");
+                }
+                mapFile = parseTextFile(textBytes);
+            }
+        }
+        StartupTracer.end("Parse map file " + mapFileName, startTime);
+        mapLoadEvent.end();
+        if (mapLoadEvent.shouldCommit()) {
+            mapLoadEvent.mapFileName = mapFileName;
+            mapLoadEvent.isBinary = isBinary;
+            mapLoadEvent.width = mapFile.getWidth();
+            mapLoadEvent.height = mapFile.getHeight();
+            mapLoadEvent.commit();
+        }
+        return mapFile;
+    }
+
+    // gets the binary map file that goes with a text map file (e.g. map1.txt -> map1.bin)
+    public static File getBinaryFile(String mapFileName) {
+        String baseName = mapFileName.endsWith(TEXT_EXTENSION)
+                ? mapFileName.substring(0, mapFileName.length() - TEXT_EXTENSION.length())
+                : mapFileName;
+        return new File(Config.MAP_FILES_PATH + baseName + BINARY_EXTENSION);
+    }
+
+    public static MapFile readTextFile(File file) throws IOException {
+        return parseTextFile(readAllBytes(file));
+    }
+
+    private static MapFile parseTextFile(byte[] textBytes) {
+        try (Scanner fileInput = new Scanner(new String(textBytes, StandardCharsets.UTF_8))) {
+            int width = fileInput.nextInt();
+            int height = fileInput.nextInt();
+            short[] tileIndexes = new short[width * height];
+            for (int i = 0; i < tileIndexes.length; i++) {
+                tileIndexes[i] = toTileIndex(fileInput.nextInt());
+            }
+            MapFile mapFile = new MapFile(width, height, tileIndexes);
+            mapFile.sourceTextLength = textBytes.length;
+            mapFile.sourceTextChecksum = getChecksum(textBytes);
+            return mapFile;
+        }
+    }
+
+    // throws a FileNotFoundException if the file doesn't exist (Map relies on this to create map files that are missing)
+    private static byte[] readAllBytes(File file) throws IOException {
+        try (FileInputStream input = new FileInputStream(file)) {
+            return input.readAllBytes();
+        }
+    }
+
+    private static int getChecksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    // checks if a binary map file was made from a text map file with the given contents, by reading just its header
+    // a binary map file that can't be read or is in an older format is treated as not matching
+    private static boolean isMadeFrom(File binaryFile, byte[] textBytes) {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(binaryFile), HEADER_SIZE))) {
+            if (input.readInt() != MAGIC_NUMBER || input.readShort() != FORMAT_VERSION) {
+                return false;
+            }
+            input.readShort(); // reserved
+            input.readInt(); // width
+            input.readInt(); // height
+            return input.readLong() == textBytes.length && input.readInt() == getChecksum(textBytes);
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    public static MapFile readBinaryFile(File file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC_NUMBER) {
+            throw new IOException(file + " is not a binary map file");
+        }
+        short version = buffer.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException(file + " has unsupported map file version " + version);
+        }
+        buffer.getShort(); // reserved
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        long sourceTextLength = buffer.getLong();
+        int sourceTextChecksum = buffer.getInt();
+
+        short[] tileIndexes = new short[width * height];
+        buffer.asShortBuffer().get(tileIndexes);
+        buffer.position(buffer.position() + tileIndexes.length * Short.BYTES);
+        MapFile mapFile = new MapFile(width, height, tileIndexes);
+        mapFile.sourceTextLength = sourceTextLength;
+        mapFile.sourceTextChecksum = sourceTextChecksum;
+
+        int spawnCount = buffer.getInt();
+        for (int i = 0; i < spawnCount; i++) {
+            mapFile.spawns.add(readSpawn(buffer));
+        }
+
+        int waveCount = buffer.getInt();
+        for (int i = 0; i < waveCount; i++) {
+            Wave wave = new Wave(buffer.getInt(), buffer.getInt());
+            int enemyCount = buffer.getInt();
+            for (int j = 0; j < enemyCount; j++) {
+                wave.enemySpawns.add(readSpawn(buffer));
+            }
+            mapFile.waves.add(wave);
+        }
+        return mapFile;
+    }
+
+    public void writeBinaryFile(File file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(MAGIC_NUMBER);
+            output.writeShort(FORMAT_VERSION);
+            output.writeShort(0); // reserved
+            output.writeInt(width);
+            output.writeInt(height);
+            output.writeLong(sourceTextLength);
+            output.writeInt(sourceTextChecksum);
+            for (short tileIndex : tileIndexes) {
+                output.writeShort(tileIndex);
+            }
+
+            output.writeInt(spawns.size());
+            for (MapSpawn spawn : spawns) {
+                writeSpawn(output, spawn);
+            }
+
+            output.writeInt(waves.size());
+            for (Wave wave : waves) {
+                output.writeInt(wave.waveId);
+                output.writeInt(wave.spawnDelay);
+                output.writeInt(wave.enemySpawns.size());
+                for (MapSpawn spawn : wave.enemySpawns) {
+                    writeSpawn(output, spawn);
+                }
+            }
+        }
+    }
+
+    private static MapSpawn readSpawn(MappedByteBuffer buffer) {
+        MapSpawn.Kind kind = MapSpawn.Kind.values()[buffer.get()];
+        byte[] typeBytes = new byte[buffer.getShort()];
+        buffer.get(typeBytes);
+        float x = buffer.getFloat();
+        float y = buffer.getFloat();
+        byte facing = buffer.get();
+        Direction facingDirection = facing < 0 ? null : Direction.values()[facing];
+        return new MapSpawn(kind, new String(typeBytes, StandardCharsets.UTF_8), x, y, facingDirection);
+    }
+
+    private static void writeSpawn(DataOutputStream output, MapSpawn spawn) throws IOException {
+        byte[] typeBytes = spawn.getType().getBytes(StandardCharsets.UTF_8);
+        output.writeByte(spawn.getKind().ordinal());
+        output.writeShort(typeBytes.length);
+        output.write(typeBytes);
+        output.writeFloat(spawn.getX());
+        output.writeFloat(spawn.getY());
+        output.writeByte(spawn.getFacingDirection() == null ? -1 : spawn.getFacingDirection().ordinal());
+    }
+
+    private static short toTileIndex(int tileIndex) {
+        if (tileIndex < Short.MIN_VALUE || tileIndex > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Tile index " + tileIndex + " is too large for a map file");
+        }
+        return (short) tileIndex;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getTileIndex(int x, int y) {
+        return tileIndexes[x + width * y];
+    }
+
+    public short[] getTileIndexes() {
+        return tileIndexes;
+    }
+
+    public ArrayList<MapSpawn> getSpawns() {
+        return spawns;
+    }
+
+    public ArrayList<Wave> getWaves() {
+        return waves;
+    }
+}
@@ -0,0 +1,127 @@
+package Level;
+
+import Engine.Config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+// This class watches the MAP_FILES_PATH directory for map files being changed while the game is running (such as by saving in the map editor)
+// When one changes, it is read back in on a background thread and kept here until a map using it picks it up at the start of its next update
+// (see Map.update), which then changes only the tiles that are different in the new map file
+// The watcher only runs once start is called, which the game does when it starts up
+public class MapFileWatcher {
+    // how long to wait after a map file changes before reading it, since saving a file can show up as several changes in a row
+    private static final long SETTLE_TIME = 100;
+
+    // the most recently read version of each changed map file, by its text map file name (e.g. "map1.txt")
+    private static final ConcurrentHashMap<String, ReloadedMapFile> reloadedMapFiles = new ConcurrentHashMap<>();
+
+    private static Thread watcherThread;
+
+    // a map file that was read in after it changed, along with when it was read
+    static class ReloadedMapFile {
+        private final MapFile mapFile;
+        private final long readTime;
+
+        private ReloadedMapFile(MapFile mapFile, long readTime) {
+            this.mapFile = mapFile;
+            this.readTime = readTime;
+        }
+
+        MapFile getMapFile() {
+            return mapFile;
+        }
+
+        long getReadTime() {
+            return readTime;
+        }
+    }
+
+    // prevents MapFileWatcher from being instantiated
+    private MapFileWatcher() { }
+
+    // starts watching for map file changes on a background thread, if it isn't already
+    public static synchronized void start() {
+        if (watcherThread != null) {
+            return;
+        }
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            Paths.get(Config.MAP_FILES_PATH).register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException ex) {
+            System.out.println("Unable to watch " + Config.MAP_FILES_PATH + " for map file changes: " + ex.getMessage());
+            return;
+        }
+        watcherThread = new Thread(() -> watchMapFiles(watchService), "Map File Watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    // gets the latest version of a map file that was read in after it changed, or null if it hasn't changed since the game started
+    static ReloadedMapFile getReloadedMapFile(String mapFileName) {
+        return reloadedMapFiles.get(mapFileName);
+    }
+
+    private static void watchMapFiles(WatchService watchService) {
+        try {
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                Thread.sleep(SETTLE_TIME);
+
+                // every change that came in while settling is handled at once, so each changed map file is only read once
+                HashSet<String> changedMapFileNames = new HashSet<>();
+                do {
+                    for (WatchEvent<?> event : watchKey.pollEvents()) {
+                        if (event.context() instanceof Path) {
+                            String changedMapFileName = getTextMapFileName(((Path) event.context()).getFileName().toString());
+                            if (changedMapFileName != null) {
+                                changedMapFileNames.add(changedMapFileName);
+                            }
+                        }
+                    }
+                    if (!watchKey.reset()) {
+                        System.out.println(Config.MAP_FILES_PATH + " can no longer be watched for map file changes");
+                        return;
+                    }
+                } while ((watchKey = watchService.poll()) != null);
+
+                for (String changedMapFileName : changedMapFileNames) {
+                    reloadMapFile(changedMapFileName);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // the watcher has been stopped
+        }
+    }
+
+    private static void reloadMapFile(String mapFileName) {
+        try {
+            MapFile mapFile = MapFile.load(mapFileName);
+            reloadedMapFiles.put(mapFileName, new ReloadedMapFile(mapFile, System.nanoTime()));
+            System.out.println("Reloaded map file " + mapFileName);
+        } catch (IOException | RuntimeException ex) {
+            // the map file may still be being written, in which case it will be read again once it's done
+            System.out.println("Unable to reload map file " + mapFileName + ": " + ex.getMessage());
+        }
+    }
+
+    // gets the name of the text map file a changed file belongs to (e.g. map1.bin -> map1.txt), or null if it isn't a map file
+    private static String getTextMapFileName(String fileName) {
+        if (fileName.endsWith(MapFile.TEXT_EXTENSION)) {
+            return fileName;
+        } else if (fileName.endsWith(MapFile.BINARY_EXTENSION)) {
+            return fileName.substring(0, fileName.length() - MapFile.BINARY_EXTENSION.length()) + MapFile.TEXT_EXTENSION;
+        }
+        return null;
+    }
+}
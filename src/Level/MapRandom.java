@@ -0,0 +1,83 @@
+package Level;
+
+import java.nio.ByteBuffer;
+
+// This class is where a map gets its random numbers from (such as what loot an enemy drops)
+// Its random numbers come from a seed, so a map started with the same seed always makes the same random choices in the same order,
+// which is what lets a recorded play session (see Engine.InputRecorder) play out the same way every time it's played back
+// Each kind of random choice has its own stream, so (for example) a change that uses more AI random numbers doesn't change what loot gets dropped
+// Numbers are generated with SplitMix64 (the same algorithm as java.util.SplittableRandom), kept as one long per stream so nothing is allocated to get
+// a random number, and so the streams' states can be saved and loaded along with the map
+public class MapRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // the different kinds of random choices a map makes
+    public enum Stream {
+        LOOT, AI, SPAWNS
+    }
+
+    private final long seed;
+    private final long[] states = new long[Stream.values().length];
+
+    public MapRandom(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    // starts every stream over from the seed
+    public void reset() {
+        for (int i = 0; i < states.length; i++) {
+            states[i] = mix64(seed + mix64((i + 1) * GOLDEN_GAMMA));
+        }
+    }
+
+    // gets a random int from 0 (inclusive) to bound (exclusive)
+    public int nextInt(Stream stream, int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive, not " + bound);
+        }
+        // numbers that would make some results come up more often than others are thrown out (the same way java.util.Random does it)
+        int bits;
+        int value;
+        do {
+            bits = (int) (nextLong(stream) >>> 33);
+            value = bits % bound;
+        } while (bits - value + (bound - 1) < 0);
+        return value;
+    }
+
+    // gets a random float from 0 (inclusive) to 1 (exclusive)
+    public float nextFloat(Stream stream) {
+        return (nextLong(stream) >>> 40) * 0x1.0p-24f;
+    }
+
+    public long nextLong(Stream stream) {
+        int index = stream.ordinal();
+        states[index] += GOLDEN_GAMMA;
+        return mix64(states[index]);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // writes where each stream is at for a quick save: each stream's state (long), in the order the streams are declared
+    public void writeState(ByteBuffer buffer) {
+        for (long state : states) {
+            buffer.putLong(state);
+        }
+    }
+
+    // reads back the state written by writeState
+    public void readState(ByteBuffer buffer) {
+        for (int i = 0; i < states.length; i++) {
+            states[i] = buffer.getLong();
+        }
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
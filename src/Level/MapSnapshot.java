@@ -0,0 +1,95 @@
+package Level;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+// This class remembers what a map looked like right after it was set up (its tile map and the entities it started with),
+// so the map can be put back that way (such as when a level is retried) without reading its map file and creating everything again
+// The tile map is shared with the map until the map changes a tile, at which point the map makes its own copy of it
+// The entities are the same objects the map started with, which are put back in place using their initialize method
+class MapSnapshot {
+    private short[] tileIndexes;
+    private final ArrayList<Enemy> enemies;
+    private final ArrayList<EnhancedMapTile> enhancedMapTiles;
+    private final ArrayList<NPC> npcs;
+
+    // tileIndexes is not copied, so it must never be changed after the snapshot is taken
+    MapSnapshot(short[] tileIndexes, ArrayList<Enemy> enemies, ArrayList<EnhancedMapTile> enhancedMapTiles, ArrayList<NPC> npcs) {
+        this.tileIndexes = tileIndexes;
+        this.enemies = new ArrayList<>(enemies);
+        this.enhancedMapTiles = new ArrayList<>(enhancedMapTiles);
+        this.npcs = new ArrayList<>(npcs);
+    }
+
+    short[] getTileIndexes() {
+        return tileIndexes;
+    }
+
+    // used when the map file changes while the map is being played, so resetting the map uses the new tiles
+    void setTileIndexes(short[] tileIndexes) {
+        this.tileIndexes = tileIndexes;
+    }
+
+    // puts the map's entity lists back to the entities the map started with, each initialized back to how it started
+    // the lists are refilled in place, so nothing holding onto them needs to be told about it
+    void restoreMapEntities(ArrayList<Enemy> enemies, ArrayList<EnhancedMapTile> enhancedMapTiles, ArrayList<NPC> npcs) {
+        restoreMapEntities(this.enemies, enemies);
+        restoreMapEntities(this.enhancedMapTiles, enhancedMapTiles);
+        restoreMapEntities(this.npcs, npcs);
+    }
+
+    // writes the state of each entity the map started with for a quick save, in the order the snapshot has them in
+    // entities that have since been taken off the map are written too, so they are taken off again when the save is loaded
+    void writeMapEntities(ByteBuffer buffer) {
+        writeMapEntities(enemies, buffer);
+        writeMapEntities(enhancedMapTiles, buffer);
+        writeMapEntities(npcs, buffer);
+    }
+
+    // reads back the state written by writeMapEntities into the map's entity lists
+    // the lists must have just been restored with restoreMapEntities
+    void readMapEntities(ByteBuffer buffer, ArrayList<Enemy> enemies, ArrayList<EnhancedMapTile> enhancedMapTiles, ArrayList<NPC> npcs) {
+        readMapEntities(buffer, enemies);
+        readMapEntities(buffer, enhancedMapTiles);
+        readMapEntities(buffer, npcs);
+    }
+
+    private static <T extends MapEntity> void writeMapEntities(ArrayList<T> startingEntities, ByteBuffer buffer) {
+        for (T mapEntity : startingEntities) {
+            mapEntity.writeState(buffer);
+        }
+    }
+
+    private static <T extends MapEntity> void readMapEntities(ByteBuffer buffer, ArrayList<T> mapEntities) {
+        boolean hasRemovedEntities = false;
+        for (T mapEntity : mapEntities) {
+            mapEntity.readState(buffer);
+            if (mapEntity.getMapEntityStatus() == MapEntityStatus.REMOVED) {
+                mapEntity.listIndex = -1;
+                hasRemovedEntities = true;
+            }
+        }
+        if (hasRemovedEntities) {
+            mapEntities.removeIf(mapEntity -> mapEntity.getMapEntityStatus() == MapEntityStatus.REMOVED);
+            MapEntityCommandBuffer.indexMapEntities(mapEntities);
+        }
+    }
+
+    private static <T extends MapEntity> void restoreMapEntities(ArrayList<T> startingEntities, ArrayList<T> mapEntities) {
+        // entities added since the snapshot (such as wave enemies) are dropped
+        for (T mapEntity : mapEntities) {
+            mapEntity.listIndex = -1;
+        }
+        mapEntities.clear();
+
+        for (T mapEntity : startingEntities) {
+            mapEntity.setMapEntityStatus(MapEntityStatus.ACTIVE);
+            mapEntity.cellX = Integer.MIN_VALUE;
+            mapEntity.cellY = Integer.MIN_VALUE;
+            mapEntity.activeIndex = -1;
+            mapEntity.initialize();
+            mapEntities.add(mapEntity);
+        }
+        MapEntityCommandBuffer.indexMapEntities(mapEntities);
+    }
+}
@@ -0,0 +1,51 @@
+package Level;
+
+import Utils.Direction;
+
+// This class describes something placed on a map -- what type of entity it is, where it starts, and which way it faces
+// it only holds data, the entity itself is created from it by whoever reads it in
+public class MapSpawn {
+    // which of the map's entity lists the spawn belongs to
+    public enum Kind {
+        ENEMY, NPC, ENHANCED_MAP_TILE
+    }
+
+    private final Kind kind;
+    private final String type;
+    private final float x;
+    private final float y;
+    private final Direction facingDirection;
+
+    // type is the simple class name of the entity (e.g. "BaseZombie")
+    // facingDirection can be null for entities that don't face a direction
+    public MapSpawn(Kind kind, String type, float x, float y, Direction facingDirection) {
+        if (type == null) {
+            throw new IllegalArgumentException("Spawn type cannot be null");
+        }
+        this.kind = kind;
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.facingDirection = facingDirection;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public Direction getFacingDirection() {
+        return facingDirection;
+    }
+}
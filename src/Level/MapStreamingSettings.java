@@ -0,0 +1,33 @@
+package Level;
+
+// This class holds the settings a map uses to stream its tiles in chunks (see MapChunkStreamer)
+// chunkSize is how many tiles wide and tall each chunk is
+// maxLoadedChunks is the memory budget -- once more chunks than this are loaded, the least recently used ones are evicted
+// (chunks the camera can see and the chunks within prefetchDistance of them are never evicted, so a budget smaller than that area is exceeded)
+// prefetchDistance is how many chunks past the edge of the camera are loaded in ahead of time
+public class MapStreamingSettings {
+    private final int chunkSize;
+    private final int maxLoadedChunks;
+    private final int prefetchDistance;
+
+    public MapStreamingSettings(int chunkSize, int maxLoadedChunks, int prefetchDistance) {
+        if (chunkSize <= 0 || maxLoadedChunks <= 0 || prefetchDistance < 0) {
+            throw new IllegalArgumentException("Invalid map streaming settings");
+        }
+        this.chunkSize = chunkSize;
+        this.maxLoadedChunks = maxLoadedChunks;
+        this.prefetchDistance = prefetchDistance;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getMaxLoadedChunks() {
+        return maxLoadedChunks;
+    }
+
+    public int getPrefetchDistance() {
+        return prefetchDistance;
+    }
+}
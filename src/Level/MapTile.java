@@ -71,4 +71,16 @@ public class MapTile extends MapEntity {
         }
         */
     }
+
+    // draws this tile's current frame at the given screen location instead of at the tile's own location
+    // this is how a map draws a shared tile definition at every spot in its tile map that uses it
+    public void drawAt(GraphicsHandler graphicsHandler, int x, int y) {
+        graphicsHandler.drawImage(
+            currentFrame.getImage(),
+            x,
+            y,
+            currentFrame.getWidth(),
+            currentFrame.getHeight(),
+            currentFrame.getImageEffect());
+    }
 }
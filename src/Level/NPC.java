@@ -1,8 +1,10 @@
 package Level;
 
+import Engine.GameClock;
 import Engine.GraphicsHandler;
 import Engine.Key;
 import Engine.Keyboard;
+import Engine.TimerHandle;
 import GameObject.Frame;
 import GameObject.SpriteSheet;
 import SpriteFont.SpriteFont;
@@ -15,11 +17,14 @@ public class NPC extends MapEntity {
     protected boolean talkedTo = false;
     protected SpriteFont message;
     protected int talkedToTime; // how long after talking to NPC will textbox stay open -- use negative number to have it be infinite time
-    protected int timer;
+    protected TimerHandle talkedToTimer;
     protected Textbox textbox = new Textbox("");
     protected int textboxOffsetX = 0;
     protected int textboxOffsetY = 0;
 
+    // if this npc is an item dropped by an enemy, which type of item it is (see Map.createDroppedItem), otherwise -1
+    int droppedItemType = -1;
+
     public NPC(float x, float y, SpriteSheet spriteSheet, String startingAnimation) {
         super(x, y, spriteSheet, startingAnimation);
         this.message = createMessage();
@@ -49,6 +54,17 @@ public class NPC extends MapEntity {
         return null;
     }
 
+    // closes the npc's textbox if it was open
+    @Override
+    public void initialize() {
+        super.initialize();
+        talkedTo = false;
+        if (talkedToTimer != null) {
+            talkedToTimer.cancel();
+            talkedToTimer = null;
+        }
+    }
+
     public void update(Player player) {
         super.update();
         checkTalkedTo(player);
@@ -58,18 +74,14 @@ public class NPC extends MapEntity {
     public void checkTalkedTo(Player player) {
         if (isInteractable && intersects(player) && Keyboard.isKeyDown(Key.SPACE)) {
             talkedTo = true;
+            // (re)start the countdown to close the textbox
             if (talkedToTime >= 0) {
-                timer = talkedToTime;
+                if (talkedToTimer != null) {
+                    talkedToTimer.cancel();
+                }
+                talkedToTimer = GameClock.schedule(talkedToTime, () -> talkedTo = false);
             }
         }
-
-        if (talkedTo && talkedToTime >= 0 && timer == 0) {
-            talkedTo = false;
-        }
-
-        if (timer > 0) {
-            timer--;
-        }
     }
 
     @Override
@@ -1,12 +1,15 @@
 package Level;
 
+import Engine.GameClock;
 import Engine.Key;
 import Engine.KeyLocker;
+import Engine.TimerHandle;
 import Engine.Keyboard;
 import GameObject.GameObject;
 import GameObject.SpriteSheet;
 import Utils.AirGroundState;
 import Utils.Direction;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 
 public abstract class Player extends GameObject {
@@ -47,22 +50,22 @@ public abstract class Player extends GameObject {
 
     // Invincibility variables
     protected boolean isInvincible = false; // if true, player cannot be hurt by enemies (good for testing)
-    private long invincibilityStartTime;
-    //private long pwinvincibilityStartTime;
-    private static final long INVINCIBILITY_DURATION = 1000;
-    //private static final long PWINVINCIBILITY_DURATION = 10000;
+    private TimerHandle invincibilityTimer;
+    //private TimerHandle pwinvincibilityTimer;
+    private static final long INVINCIBILITY_DURATION = GameClock.millisToTicks(1000);
+    //private static final long PWINVINCIBILITY_DURATION = GameClock.millisToTicks(10000);
 
     // SpeedBoost variables
     private boolean speedBoostActive = false;
-    private long speedBoostStartTime;
-    private static final int SPEED_BOOST_DURATION = 5000; // 5 seconds
+    private TimerHandle speedBoostTimer;
+    private static final long SPEED_BOOST_DURATION = GameClock.millisToTicks(5000); // 5 seconds
     private float normalSpeed;
     private float boostedSpeed = 10.0f;
 
     //InstaKill variables
     private boolean instaKillMode = false;
-    private long instaKillStartTime;
-    private static final long INSTA_KILL_DURATION = 10000; // 10 seconds
+    private TimerHandle instaKillTimer;
+    private static final long INSTA_KILL_DURATION = GameClock.millisToTicks(10000); // 10 seconds
 
     private int coinCount = 0; 
 
@@ -88,7 +91,10 @@ public abstract class Player extends GameObject {
 
     public void activateInstaKill() {
         instaKillMode = true;
-        instaKillStartTime = System.currentTimeMillis();
+        if (instaKillTimer != null) {
+            instaKillTimer.cancel();
+        }
+        instaKillTimer = GameClock.schedule(INSTA_KILL_DURATION, () -> instaKillMode = false); // End insta-kill mode after 10 seconds
         
         // Set all active enemies' hitPoints to 1
         for (Enemy enemy : map.getActiveEnemies()) {
@@ -137,28 +143,6 @@ public abstract class Player extends GameObject {
             updatePlayerDead();
         }
 
-        if (isInvincible && (System.currentTimeMillis() - invincibilityStartTime) >= INVINCIBILITY_DURATION) {
-            isInvincible = false;
-        }
-        
-        // Check if speed boost duration has expired
-        if (speedBoostActive && System.currentTimeMillis() - speedBoostStartTime > SPEED_BOOST_DURATION) {
-            speedBoostActive = false;
-            walkSpeed = normalSpeed;  // Revert to normal speed
-        }
-
-        /* 
-        // Check if invincibility power up duration has expired
-        if (isInvincible && System.currentTimeMillis() - pwinvincibilityStartTime > PWINVINCIBILITY_DURATION) {
-            isInvincible = false;  // End invincibility after 10 seconds
-        }
-        */
-
-        // Check if insta-kill mode duration has expired
-        if (instaKillMode && (System.currentTimeMillis() - instaKillStartTime >= INSTA_KILL_DURATION)) {
-            instaKillMode = false; // End insta-kill mode after 10 seconds
-        }
-
         // Continuously set active enemies' hitPoints to 1 while insta-kill mode is active
         if (instaKillMode) {
             for (Enemy enemy : map.getActiveEnemies()) {
@@ -398,7 +382,7 @@ public abstract class Player extends GameObject {
                 } else {
                     // Start invincibility timer
                     isInvincible = true;
-                    invincibilityStartTime = System.currentTimeMillis();
+                    invincibilityTimer = GameClock.schedule(INVINCIBILITY_DURATION, () -> isInvincible = false);
                 }
             }
         }
@@ -420,19 +404,26 @@ public abstract class Player extends GameObject {
     //speedboost powerup
     public void activateSpeedBoost() {
         if (!speedBoostActive) {
-            speedBoostActive = true;
-            speedBoostStartTime = System.currentTimeMillis();
-            normalSpeed = walkSpeed;  // Save the original speed
-            walkSpeed = boostedSpeed;  // Apply the boosted speed
+            startSpeedBoost(SPEED_BOOST_DURATION);
         }
     }
 
+    private void startSpeedBoost(long durationInTicks) {
+        speedBoostActive = true;
+        normalSpeed = walkSpeed;  // Save the original speed
+        walkSpeed = boostedSpeed;  // Apply the boosted speed
+        speedBoostTimer = GameClock.schedule(durationInTicks, () -> {
+            speedBoostActive = false;
+            walkSpeed = normalSpeed;  // Revert to normal speed
+        });
+    }
+
     /* 
     //invincibility powerup 
     public void activateInvincibility() {
         if (!isInvincible) {
             isInvincible = true;
-            pwinvincibilityStartTime = System.currentTimeMillis();
+            pwinvincibilityTimer = GameClock.schedule(PWINVINCIBILITY_DURATION, () -> isInvincible = false); // End invincibility after 10 seconds
         }
     }
     */
@@ -446,6 +437,74 @@ public abstract class Player extends GameObject {
         return coinCount; 
     }
 
+    // writes the player's state for a quick save (see Game.SaveState)
+    // power ups that are running are saved as how many ticks they have left
+    public void writeState(ByteBuffer buffer) {
+        buffer.putFloat(x);
+        buffer.putFloat(y);
+        buffer.put((byte) facingDirection.ordinal());
+        buffer.put((byte) airGroundState.ordinal());
+        buffer.put((byte) playerState.ordinal());
+        buffer.put((byte) levelState.ordinal());
+        buffer.putInt(hitPoints);
+        buffer.putFloat(jumpForce);
+        buffer.putFloat(momentumY);
+        buffer.put((byte) (canDoubleJump ? 1 : 0));
+        buffer.putInt(coinCount);
+        buffer.put((byte) (isInvincible ? 1 : 0));
+        buffer.putLong(GameClock.ticksLeft(invincibilityTimer));
+        buffer.putLong(GameClock.ticksLeft(speedBoostTimer));
+        buffer.putLong(GameClock.ticksLeft(instaKillTimer));
+    }
+
+    // reads back the state written by writeState
+    public void readState(ByteBuffer buffer) {
+        x = buffer.getFloat();
+        y = buffer.getFloat();
+        previousX = x;
+        previousY = y;
+        facingDirection = Direction.values()[buffer.get()];
+        airGroundState = AirGroundState.values()[buffer.get()];
+        previousAirGroundState = airGroundState;
+        playerState = PlayerState.values()[buffer.get()];
+        previousPlayerState = playerState;
+        levelState = LevelState.values()[buffer.get()];
+        hitPoints = buffer.getInt();
+        jumpForce = buffer.getFloat();
+        momentumY = buffer.getFloat();
+        canDoubleJump = buffer.get() == 1;
+        coinCount = buffer.getInt();
+
+        isInvincible = buffer.get() == 1;
+        if (invincibilityTimer != null) {
+            invincibilityTimer.cancel();
+        }
+        long invincibilityTicksLeft = buffer.getLong();
+        invincibilityTimer = invincibilityTicksLeft >= 0 ? GameClock.schedule(invincibilityTicksLeft, () -> isInvincible = false) : null;
+
+        // a speed boost the player has right now is taken away before the saved one (if any) is started
+        if (speedBoostTimer != null) {
+            speedBoostTimer.cancel();
+        }
+        if (speedBoostActive) {
+            speedBoostActive = false;
+            walkSpeed = normalSpeed;
+        }
+        long speedBoostTicksLeft = buffer.getLong();
+        if (speedBoostTicksLeft >= 0) {
+            startSpeedBoost(speedBoostTicksLeft);
+        }
+
+        if (instaKillTimer != null) {
+            instaKillTimer.cancel();
+        }
+        long instaKillTicksLeft = buffer.getLong();
+        instaKillMode = instaKillTicksLeft >= 0;
+        instaKillTimer = instaKillMode ? GameClock.schedule(instaKillTicksLeft, () -> instaKillMode = false) : null;
+
+        updateCurrentFrame();
+    }
+
     // if player has beaten level, this will be the update cycle
     public void updateLevelCompleted() {
         // if player is not on ground, player should fall until it touches the ground
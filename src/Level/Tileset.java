@@ -8,25 +8,31 @@ import Utils.ImageUtils;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 
 // This class represents a tileset, which defines a set of tiles based on a sprite sheet image
+// a tileset's tiles can't be changed once it's created, which lets every map that uses it share it (see TilesetRegistry)
 public abstract class Tileset extends SpriteSheet {
     // global scale of all tiles in the tileset
     protected float tileScale = 1f;
 
     // stores tiles mapped to an index
-    protected HashMap<Integer, MapTileBuilder> tiles;
+    private final java.util.Map<Integer, MapTileBuilder> tiles;
+
+    // shared tile definitions mapped to an index, created the first time each one is asked for
+    private final HashMap<Integer, MapTile> tileDefinitions = new HashMap<>();
+    private MapTile defaultTileDefinition;
 
     public Tileset(BufferedImage image, int tileWidth, int tileHeight) {
         super(image, tileWidth, tileHeight);
-        this.tiles = mapDefinedTilesToIndex();
+        this.tiles = Collections.unmodifiableMap(mapDefinedTilesToIndex());
     }
 
     public Tileset(BufferedImage image, int tileWidth, int tileHeight, int tileScale) {
         super(image, tileWidth, tileHeight);
         this.tileScale = tileScale;
-        this.tiles = mapDefinedTilesToIndex();
+        this.tiles = Collections.unmodifiableMap(mapDefinedTilesToIndex());
     }
 
     // a subclass of this class must implement this method to define tiles in the tileset
@@ -37,6 +43,30 @@ public abstract class Tileset extends SpriteSheet {
         return tiles.getOrDefault(tileNumber, getDefaultTile());
     }
 
+    // get the shared definition of a tile by index, if not found the default tile's definition is returned
+    // a tile definition is a single MapTile (placed at 0, 0) that stands in for every tile in a map with that index,
+    // so maps can draw their tile map without creating a MapTile for each tile in it
+    public synchronized MapTile getTileDefinition(int tileNumber) {
+        MapTileBuilder tile = tiles.get(tileNumber);
+        if (tile == null) {
+            if (defaultTileDefinition == null) {
+                defaultTileDefinition = getDefaultTile().build(0, 0);
+            }
+            return defaultTileDefinition;
+        }
+        MapTile tileDefinition = tileDefinitions.get(tileNumber);
+        if (tileDefinition == null) {
+            tileDefinition = tile.build(0, 0);
+            tileDefinitions.put(tileNumber, tileDefinition);
+        }
+        return tileDefinition;
+    }
+
+    // number of tiles defined in the tileset (tile indexes go from 0 to this minus 1)
+    public int getTileCount() {
+        return tiles.size();
+    }
+
     public float getTileScale() {
         return tileScale;
     }
@@ -0,0 +1,28 @@
+package Level;
+
+import Engine.StartupTracer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Keeps one instance of each tileset for the whole game, so a tileset's image is only loaded and its tiles are only defined once
+// no matter how many maps use it, how many times a map is reloaded, or whether it's the game or the map editor loading it
+// tilesets don't change once they're created, so every map can safely share the same one
+public class TilesetRegistry {
+    // maps can be created on background threads (such as when a screen is preloaded), so this has to be safe to use from more than one thread at once
+    private static final ConcurrentHashMap<Class<? extends Tileset>, Tileset> tilesets = new ConcurrentHashMap<>();
+
+    // prevents TilesetRegistry from being instantiated
+    private TilesetRegistry() { }
+
+    // gets the shared instance of a tileset, creating it with the given factory the first time it is asked for
+    // e.g. TilesetRegistry.get(CommonTileset.class, CommonTileset::new)
+    public static <T extends Tileset> T get(Class<T> tilesetType, Supplier<T> tilesetFactory) {
+        return tilesetType.cast(tilesets.computeIfAbsent(tilesetType, key -> {
+            long startTime = StartupTracer.begin();
+            Tileset tileset = tilesetFactory.get();
+            StartupTracer.end("Build " + tilesetType.getSimpleName(), startTime);
+            return tileset;
+        }));
+    }
+}
@@ -0,0 +1,99 @@
+package MapEditor;
+
+import Engine.Config;
+import Level.Enemy;
+import Level.EnemyWave;
+import Level.EnhancedMapTile;
+import Level.Map;
+import Level.MapEntity;
+import Level.MapFile;
+import Level.MapSpawn;
+import Level.NPC;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+// Converts the text map files in the MAP_FILES_PATH directory into binary map files (see MapFile for the binary format)
+// for each map the editor knows about, the map's spawn table (npcs, enhanced map tiles and non-wave enemies) and enemy waves are also written out,
+// since those are defined in the map's Java class rather than its text file
+// any other text map files are converted with just their tiles
+// run this again after saving a map in the map editor so the game picks up the changes from the binary file
+public class MapFileConverter {
+    public static void main(String[] args) throws IOException {
+        HashSet<String> convertedFiles = new HashSet<>();
+
+        for (String mapName : EditorMaps.getMapNames()) {
+            Map map;
+            try {
+                map = EditorMaps.getMapByName(mapName);
+            } catch (RuntimeException ex) {
+                // the map's file still gets converted below, just without its spawns and waves
+                System.out.println("Unable to load " + mapName + " (" + ex.getMessage() + "), converting its tiles only");
+                continue;
+            }
+            String mapFileName = map.getMapFileName();
+            MapFile mapFile = MapFile.readTextFile(new File(Config.MAP_FILES_PATH + mapFileName));
+            addSpawns(mapFile, map);
+            writeBinaryFile(mapFile, mapFileName);
+            convertedFiles.add(mapFileName);
+        }
+
+        File[] textFiles = new File(Config.MAP_FILES_PATH).listFiles((dir, name) -> name.endsWith(MapFile.TEXT_EXTENSION));
+        if (textFiles != null) {
+            for (File textFile : textFiles) {
+                if (!convertedFiles.contains(textFile.getName())) {
+                    writeBinaryFile(MapFile.readTextFile(textFile), textFile.getName());
+                }
+            }
+        }
+    }
+
+    private static void addSpawns(MapFile mapFile, Map map) {
+        // a wave's enemies are created here to find out their type
+        for (EnemyWave wave : map.getEnemyWaves()) {
+            MapFile.Wave fileWave = new MapFile.Wave(wave.getWaveId(), wave.getSpawnDelay());
+            for (Enemy enemy : wave.createEnemies()) {
+                fileWave.getEnemySpawns().add(createSpawn(MapSpawn.Kind.ENEMY, enemy, enemy));
+            }
+            mapFile.getWaves().add(fileWave);
+        }
+
+        // the map has already spawned its first wave into its enemy list, so those enemies are skipped when adding the map's own enemies
+        ArrayList<String> firstWaveEnemies = new ArrayList<>();
+        if (!mapFile.getWaves().isEmpty()) {
+            for (MapSpawn spawn : mapFile.getWaves().get(0).getEnemySpawns()) {
+                firstWaveEnemies.add(getSpawnKey(spawn));
+            }
+        }
+        for (Enemy enemy : map.getEnemies()) {
+            MapSpawn spawn = createSpawn(MapSpawn.Kind.ENEMY, enemy, enemy);
+            if (!firstWaveEnemies.remove(getSpawnKey(spawn))) {
+                mapFile.getSpawns().add(spawn);
+            }
+        }
+        for (NPC npc : map.getNPCs()) {
+            mapFile.getSpawns().add(createSpawn(MapSpawn.Kind.NPC, npc, null));
+        }
+        for (EnhancedMapTile enhancedMapTile : map.getEnhancedMapTiles()) {
+            mapFile.getSpawns().add(createSpawn(MapSpawn.Kind.ENHANCED_MAP_TILE, enhancedMapTile, null));
+        }
+    }
+
+    private static MapSpawn createSpawn(MapSpawn.Kind kind, MapEntity mapEntity, Enemy enemy) {
+        return new MapSpawn(kind, mapEntity.getClass().getSimpleName(), mapEntity.getStartPositionX(), mapEntity.getStartPositionY(),
+                enemy == null ? null : enemy.getStartFacingDirection());
+    }
+
+    private static String getSpawnKey(MapSpawn spawn) {
+        return spawn.getType() + "@" + spawn.getX() + "," + spawn.getY() + "," + spawn.getFacingDirection();
+    }
+
+    private static void writeBinaryFile(MapFile mapFile, String mapFileName) throws IOException {
+        File binaryFile = MapFile.getBinaryFile(mapFileName);
+        mapFile.writeBinaryFile(binaryFile);
+        System.out.println("Converted " + mapFileName + " to " + binaryFile.getName() + " (" + mapFile.getSpawns().size()
+                + " spawns, " + mapFile.getWaves().size() + " waves)");
+    }
+}
@@ -0,0 +1,88 @@
+package MapEditor;
+
+import Engine.Config;
+import Level.MapFile;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Random;
+
+// Compares how long it takes to read in a map file in the text format (Scanner) against the binary format (memory mapped)
+// every map file in the MAP_FILES_PATH directory that has been converted with MapFileConverter is timed,
+// along with a generated map of the given size to show how each format scales (defaults to 2000x200 tiles)
+// usage: MapLoadBenchmark [iterations] [generated map width] [generated map height]
+public class MapLoadBenchmark {
+    public static void main(String[] args) throws IOException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int generatedWidth = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int generatedHeight = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        File[] textFiles = new File(Config.MAP_FILES_PATH).listFiles((dir, name) -> name.endsWith(MapFile.TEXT_EXTENSION));
+        if (textFiles != null) {
+            for (File textFile : textFiles) {
+                File binaryFile = MapFile.getBinaryFile(textFile.getName());
+                if (binaryFile.exists()) {
+                    benchmark(textFile.getName(), textFile, binaryFile, iterations);
+                }
+            }
+        }
+
+        File textFile = File.createTempFile("generated_map", MapFile.TEXT_EXTENSION);
+        File binaryFile = File.createTempFile("generated_map", MapFile.BINARY_EXTENSION);
+        textFile.deleteOnExit();
+        binaryFile.deleteOnExit();
+        MapFile generatedMap = generateMap(generatedWidth, generatedHeight);
+        writeTextFile(generatedMap, textFile);
+        generatedMap.writeBinaryFile(binaryFile);
+        benchmark("generated " + generatedWidth + "x" + generatedHeight, textFile, binaryFile, Math.max(1, iterations / 20));
+    }
+
+    private static void benchmark(String name, File textFile, File binaryFile, int iterations) throws IOException {
+        // warm up both paths first so the JIT has compiled them before they are timed
+        for (int i = 0; i < iterations; i++) {
+            MapFile.readTextFile(textFile);
+            MapFile.readBinaryFile(binaryFile);
+        }
+
+        long textStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            MapFile.readTextFile(textFile);
+        }
+        long textTime = (System.nanoTime() - textStart) / iterations;
+
+        long binaryStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            MapFile.readBinaryFile(binaryFile);
+        }
+        long binaryTime = (System.nanoTime() - binaryStart) / iterations;
+
+        System.out.printf("%-28s text: %10.1f us  binary: %10.1f us  (%.1fx faster)%n",
+                name, textTime / 1000.0, binaryTime / 1000.0, (double) textTime / Math.max(1, binaryTime));
+    }
+
+    private static MapFile generateMap(int width, int height) {
+        Random random = new Random(width * 31L + height);
+        short[] tileIndexes = new short[width * height];
+        for (int i = 0; i < tileIndexes.length; i++) {
+            tileIndexes[i] = (short) random.nextInt(100);
+        }
+        return new MapFile(width, height, tileIndexes);
+    }
+
+    private static void writeTextFile(MapFile mapFile, File file) throws IOException {
+        try (FileWriter fileWriter = new FileWriter(file)) {
+            fileWriter.write(mapFile.getWidth() + " " + mapFile.getHeight() + "\n");
+            for (int i = 0; i < mapFile.getHeight(); i++) {
+                StringBuilder line = new StringBuilder();
+                for (int j = 0; j < mapFile.getWidth(); j++) {
+                    if (j > 0) {
+                        line.append(' ');
+                    }
+                    line.append(mapFile.getTileIndex(j, i));
+                }
+                fileWriter.write(line.append('\n').toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package MapEditor;
+
+import Engine.Config;
+import Engine.TextureAtlas;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+// Packs the image files in the RESOURCES_PATH directory (and its subfolders) into the texture atlas (see TextureAtlas for the format)
+// images are placed onto pages in rows (shelves), tallest first, with a pixel of space around each image so nothing bleeds into its neighbors when drawn scaled
+// images too large to gain anything from being packed (such as full screen backgrounds) are left to be read from their own files
+// the original image files are left in place, and are still used for any image that isn't in the atlas
+// run this again after adding or changing an image so the game picks up the change from the atlas
+public class TextureAtlasPacker {
+    private static final int PAGE_SIZE = 1024;
+
+    // images covering more than a quarter of a page are left out
+    private static final int MAX_PACKED_IMAGE_AREA = PAGE_SIZE * PAGE_SIZE / 4;
+    private static final int PADDING = 1;
+
+    // an image file that is being packed, and where it ended up
+    private static class PackedImage {
+        private final String imageFileName;
+        private final BufferedImage image;
+        private final long fileSize;
+        private final long fileChecksum;
+        private int page;
+        private int x;
+        private int y;
+
+        private PackedImage(String imageFileName, BufferedImage image, long fileSize, long fileChecksum) {
+            this.imageFileName = imageFileName;
+            this.image = image;
+            this.fileSize = fileSize;
+            this.fileChecksum = fileChecksum;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        ArrayList<PackedImage> packedImages = new ArrayList<>();
+        findImages(new File(Config.RESOURCES_PATH), "", packedImages);
+
+        // placing the tallest images first keeps the rows from wasting much space
+        packedImages.sort(Comparator.comparingInt((PackedImage packedImage) -> packedImage.image.getHeight()).reversed()
+                .thenComparing(packedImage -> packedImage.imageFileName));
+
+        ArrayList<Integer> pageHeights = new ArrayList<>();
+        int page = 0;
+        int x = PADDING;
+        int y = PADDING;
+        int rowHeight = 0;
+        for (PackedImage packedImage : packedImages) {
+            int width = packedImage.image.getWidth();
+            int height = packedImage.image.getHeight();
+            if (x + width + PADDING > PAGE_SIZE) {
+                x = PADDING;
+                y += rowHeight + PADDING;
+                rowHeight = 0;
+            }
+            if (y + height + PADDING > PAGE_SIZE) {
+                pageHeights.add(y);
+                page++;
+                x = PADDING;
+                y = PADDING;
+                rowHeight = 0;
+            }
+            packedImage.page = page;
+            packedImage.x = x;
+            packedImage.y = y;
+            x += width + PADDING;
+            rowHeight = Math.max(rowHeight, height);
+        }
+        if (!packedImages.isEmpty()) {
+            pageHeights.add(y + rowHeight + PADDING);
+        }
+
+        File atlasDirectory = new File(TextureAtlas.ATLAS_PATH);
+        atlasDirectory.mkdirs();
+        File[] oldPageFiles = atlasDirectory.listFiles((dir, name) -> name.startsWith("atlas") && name.endsWith(".png"));
+        if (oldPageFiles != null) {
+            for (File oldPageFile : oldPageFiles) {
+                oldPageFile.delete();
+            }
+        }
+
+        for (int i = 0; i < pageHeights.size(); i++) {
+            writePage(i, pageHeights.get(i), packedImages);
+        }
+        writeIndexFile(pageHeights.size(), packedImages);
+        System.out.println("Packed " + packedImages.size() + " images into " + pageHeights.size() + " texture atlas pages in " + TextureAtlas.ATLAS_PATH);
+    }
+
+    // finds every image file small enough to be packed, skipping over the atlas itself
+    private static void findImages(File directory, String prefix, ArrayList<PackedImage> packedImages) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                if (!file.getCanonicalFile().equals(new File(TextureAtlas.ATLAS_PATH).getCanonicalFile())) {
+                    findImages(file, prefix + file.getName() + "/", packedImages);
+                }
+            } else if (file.getName().toLowerCase().endsWith(".png")) {
+                BufferedImage image = ImageIO.read(file);
+                if (image == null) {
+                    System.out.println("Unable to read " + file + ", leaving it out of the texture atlas");
+                } else if (image.getWidth() * image.getHeight() > MAX_PACKED_IMAGE_AREA
+                        || image.getWidth() + PADDING * 2 > PAGE_SIZE || image.getHeight() + PADDING * 2 > PAGE_SIZE) {
+                    System.out.println(file + " is too large to be packed, it will be read from its own file");
+                } else {
+                    packedImages.add(new PackedImage(prefix + file.getName(), image, file.length(), TextureAtlas.getFileChecksum(file)));
+                }
+            }
+        }
+    }
+
+    private static void writePage(int page, int pageHeight, ArrayList<PackedImage> packedImages) throws IOException {
+        // unused space is filled with the transparent color so it is never seen even if the page is drawn directly
+        BufferedImage pageImage = new BufferedImage(PAGE_SIZE, pageHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = pageImage.createGraphics();
+        graphics.setColor(Config.TRANSPARENT_COLOR);
+        graphics.fillRect(0, 0, PAGE_SIZE, pageHeight);
+
+        // the images are copied over exactly as they are, transparent colors and all, since the transparent color is applied when the page is loaded
+        graphics.setComposite(AlphaComposite.Src);
+        for (PackedImage packedImage : packedImages) {
+            if (packedImage.page == page) {
+                graphics.drawImage(packedImage.image, packedImage.x, packedImage.y, null);
+            }
+        }
+        graphics.dispose();
+        ImageIO.write(pageImage, "png", TextureAtlas.getPageFile(page));
+    }
+
+    private static void writeIndexFile(int pageCount, ArrayList<PackedImage> packedImages) throws IOException {
+        try (FileWriter writer = new FileWriter(TextureAtlas.ATLAS_PATH + TextureAtlas.INDEX_FILE_NAME)) {
+            writer.write(pageCount + "\n");
+            for (PackedImage packedImage : packedImages) {
+                writer.write(packedImage.page + " " + packedImage.x + " " + packedImage.y + " "
+                        + packedImage.image.getWidth() + " " + packedImage.image.getHeight() + " "
+                        + packedImage.fileSize + " " + packedImage.fileChecksum + " " + packedImage.imageFileName + "\n");
+            }
+        }
+    }
+}
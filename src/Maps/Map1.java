@@ -25,7 +25,7 @@ public class Map1 extends Map {
 
 
   public Map1() {
-      super("map1.txt", new CommonTileset());
+      super("map1.txt", TilesetRegistry.get(CommonTileset.class, CommonTileset::new));
       this.playerStartPosition = getMapTile(2, 11).getLocation();
   }
 
@@ -72,30 +72,30 @@ public class Map1 extends Map {
         ArrayList<EnemyWave> waves = new ArrayList<>();
         // Define waves
         waves.add(new EnemyWave(1,1000)
-                .addEnemy(new BaseZombie(new Point(100, 523), Direction.LEFT))
-                .addEnemy(new BaseZombie(new Point(200, 523), Direction.LEFT))
+                .addEnemy(BaseZombie::new, new Point(100, 523), Direction.LEFT)
+                .addEnemy(BaseZombie::new, new Point(200, 523), Direction.LEFT)
         );
         waves.add(new EnemyWave(2,1000)
-                .addEnemy(new ZoomerZombie(new Point(150, 523), Direction.RIGHT))
-                .addEnemy(new BaseZombie(new Point(250, 523), Direction.RIGHT))
+                .addEnemy(ZoomerZombie::new, new Point(150, 523), Direction.RIGHT)
+                .addEnemy(BaseZombie::new, new Point(250, 523), Direction.RIGHT)
         );
         waves.add(new EnemyWave(3,1000)
-                .addEnemy(new StrongZombie(new Point(600, 523), Direction.LEFT))
-                .addEnemy(new BaseZombie(new Point(350, 523), Direction.RIGHT))
+                .addEnemy(StrongZombie::new, new Point(600, 523), Direction.LEFT)
+                .addEnemy(BaseZombie::new, new Point(350, 523), Direction.RIGHT)
         );
         waves.add(new EnemyWave(4,1000) // Boss wave
-                .addEnemy(new StrongZombie(new Point(350, 523), Direction.RIGHT))
-                .addEnemy(new StrongZombie(new Point(500, 523), Direction.LEFT))
+                .addEnemy(StrongZombie::new, new Point(350, 523), Direction.RIGHT)
+                .addEnemy(StrongZombie::new, new Point(500, 523), Direction.LEFT)
         );
         waves.add(new EnemyWave(5,1000)
-                .addEnemy(new StrongZombie(new Point(150, 523), Direction.RIGHT))
-                .addEnemy(new BaseZombie(new Point(500, 523), Direction.LEFT))
-                .addEnemy(new ZoomerZombie(new Point(250, 523), Direction.RIGHT))
-                .addEnemy(new StrongZombie(new Point(600, 523), Direction.LEFT))
-                .addEnemy(new BaseZombie(new Point(350, 523), Direction.RIGHT))
-                .addEnemy(new BaseZombie(new Point(400, 523), Direction.LEFT))
-                .addEnemy(new BaseZombie(new Point(100, 523), Direction.RIGHT))
-                .addEnemy(new StrongZombie(new Point(200, 523), Direction.LEFT))
+                .addEnemy(StrongZombie::new, new Point(150, 523), Direction.RIGHT)
+                .addEnemy(BaseZombie::new, new Point(500, 523), Direction.LEFT)
+                .addEnemy(ZoomerZombie::new, new Point(250, 523), Direction.RIGHT)
+                .addEnemy(StrongZombie::new, new Point(600, 523), Direction.LEFT)
+                .addEnemy(BaseZombie::new, new Point(350, 523), Direction.RIGHT)
+                .addEnemy(BaseZombie::new, new Point(400, 523), Direction.LEFT)
+                .addEnemy(BaseZombie::new, new Point(100, 523), Direction.RIGHT)
+                .addEnemy(StrongZombie::new, new Point(200, 523), Direction.LEFT)
         );
     
         return waves;
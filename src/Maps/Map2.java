@@ -26,7 +26,7 @@ public class Map2 extends Map {
 
 
    public Map2() {
-       super("map2.txt", new CommonTileset());
+       super("map2.txt", TilesetRegistry.get(CommonTileset.class, CommonTileset::new));
        this.playerStartPosition = getMapTile(2, 11).getLocation();
    }
 
@@ -89,23 +89,23 @@ public class Map2 extends Map {
 
         // Define waves
         waves.add(new EnemyWave(1,1000)
-                .addEnemy(new BaseHumanEnemy(new Point(200, 523), Direction.LEFT))
-                .addEnemy(new BaseHumanEnemy(new Point(300, 523), Direction.LEFT))
+                .addEnemy(BaseHumanEnemy::new, new Point(200, 523), Direction.LEFT)
+                .addEnemy(BaseHumanEnemy::new, new Point(300, 523), Direction.LEFT)
         );
 
         waves.add(new EnemyWave(2,1000)
-                .addEnemy(new ZoomerHumanEnemy(new Point(400, 523), Direction.RIGHT))
-                .addEnemy(new BaseHumanEnemy(new Point(500, 523), Direction.RIGHT))
+                .addEnemy(ZoomerHumanEnemy::new, new Point(400, 523), Direction.RIGHT)
+                .addEnemy(BaseHumanEnemy::new, new Point(500, 523), Direction.RIGHT)
         );
 
         waves.add(new EnemyWave(3,1000)
-                .addEnemy(new StrongHumanEnemy(new Point(600, 523), Direction.LEFT))
-                .addEnemy(new BaseHumanEnemy(new Point(700, 523), Direction.RIGHT))
+                .addEnemy(StrongHumanEnemy::new, new Point(600, 523), Direction.LEFT)
+                .addEnemy(BaseHumanEnemy::new, new Point(700, 523), Direction.RIGHT)
         );
 
         waves.add(new EnemyWave(4,1000) // Boss wave
-                .addEnemy(new StrongHumanEnemy(new Point(350, 523), Direction.RIGHT))
-                .addEnemy(new StrongHumanEnemy(new Point(500, 523), Direction.LEFT))
+                .addEnemy(StrongHumanEnemy::new, new Point(350, 523), Direction.RIGHT)
+                .addEnemy(StrongHumanEnemy::new, new Point(500, 523), Direction.LEFT)
         );
 
         return waves;
@@ -26,7 +26,7 @@ public class Map3 extends Map {
 
 
    public Map3() {
-       super("map3.txt", new CommonTileset());
+       super("map3.txt", TilesetRegistry.get(CommonTileset.class, CommonTileset::new));
        this.playerStartPosition = getMapTile(2, 11).getLocation();
    }
 
@@ -95,23 +95,23 @@ public class Map3 extends Map {
 
         // Define waves
         waves.add(new EnemyWave(1,1000)
-                .addEnemy(new BaseAlien(new Point(200, 523), Direction.LEFT))
-                .addEnemy(new BaseAlien(new Point(300, 523), Direction.LEFT))
+                .addEnemy(BaseAlien::new, new Point(200, 523), Direction.LEFT)
+                .addEnemy(BaseAlien::new, new Point(300, 523), Direction.LEFT)
         );
 
         waves.add(new EnemyWave(2,1000)
-                .addEnemy(new ZoomerAlien(new Point(400, 523), Direction.RIGHT))
-                .addEnemy(new BaseAlien(new Point(500, 523), Direction.RIGHT))
+                .addEnemy(ZoomerAlien::new, new Point(400, 523), Direction.RIGHT)
+                .addEnemy(BaseAlien::new, new Point(500, 523), Direction.RIGHT)
         );
 
         waves.add(new EnemyWave(3,1000)
-                .addEnemy(new StrongAlien(new Point(600, 523), Direction.LEFT))
-                .addEnemy(new BaseAlien(new Point(700, 523), Direction.RIGHT))
+                .addEnemy(StrongAlien::new, new Point(600, 523), Direction.LEFT)
+                .addEnemy(BaseAlien::new, new Point(700, 523), Direction.RIGHT)
         );
 
         waves.add(new EnemyWave(4,1000) // Boss wave
-                .addEnemy(new StrongAlien(new Point(350, 523), Direction.RIGHT))
-                .addEnemy(new StrongAlien(new Point(500, 523), Direction.LEFT))
+                .addEnemy(StrongAlien::new, new Point(350, 523), Direction.RIGHT)
+                .addEnemy(StrongAlien::new, new Point(500, 523), Direction.LEFT)
         );
 
         return waves;
@@ -23,7 +23,7 @@ public class TestMap extends Map {
 
 
    public TestMap() {
-       super("test_map.txt", new CommonTileset());
+       super("test_map.txt", TilesetRegistry.get(CommonTileset.class, CommonTileset::new));
        this.playerStartPosition = getMapTile(2, 11).getLocation();
    }
 
@@ -84,77 +84,70 @@ public class TestMap extends Map {
    }
 
 
-   protected ArrayList<ArrayList<Enemy>> loadEnemyWaves() {
-       ArrayList<ArrayList<Enemy>> waves = new ArrayList<>();
+   protected ArrayList<EnemyWave> loadEnemyWaves() {
+       ArrayList<EnemyWave> waves = new ArrayList<>();
 
 
        // Define Wave 1: Add a few ZombieEnemies
-       ArrayList<Enemy> wave1 = new ArrayList<>();
-       wave1.add(new BaseZombie(new Point(800, 523), Direction.LEFT));
-       wave1.add(new BaseZombie(new Point(750, 523), Direction.RIGHT));
-       wave1.add(new BaseZombie(new Point(700, 523), Direction.LEFT));
-       wave1.add(new BaseZombie(new Point(650, 523), Direction.LEFT));
-       wave1.add(new BaseZombie(new Point(500, 523), Direction.LEFT));
-       waves.add(wave1);
-
+       waves.add(new EnemyWave(1, 1000)
+               .addEnemy(BaseZombie::new, new Point(800, 523), Direction.LEFT)
+               .addEnemy(BaseZombie::new, new Point(750, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(700, 523), Direction.LEFT)
+               .addEnemy(BaseZombie::new, new Point(650, 523), Direction.LEFT)
+               .addEnemy(BaseZombie::new, new Point(500, 523), Direction.LEFT)
+       );
 
        // Define Wave 2: Add more ZombieEnemies
-       ArrayList<Enemy> wave2 = new ArrayList<>();
-       wave2.add(new BaseZombie(new Point(250, 523), Direction.LEFT));
-       wave2.add(new BaseZombie(new Point(300, 523), Direction.RIGHT));
-       wave2.add(new BaseZombie(new Point(350, 523), Direction.LEFT));
-       wave2.add(new BaseZombie(new Point(450, 523), Direction.RIGHT));
-       wave2.add(new BaseZombie(new Point(200, 523), Direction.LEFT));
-       wave2.add(new BaseZombie(new Point(550, 523), Direction.RIGHT));
-       waves.add(wave2);
-
+       waves.add(new EnemyWave(2, 1000)
+               .addEnemy(BaseZombie::new, new Point(250, 523), Direction.LEFT)
+               .addEnemy(BaseZombie::new, new Point(300, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(350, 523), Direction.LEFT)
+               .addEnemy(BaseZombie::new, new Point(450, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(200, 523), Direction.LEFT)
+               .addEnemy(BaseZombie::new, new Point(550, 523), Direction.RIGHT)
+       );
 
        // Define Wave 3: Add even more ZombieEnemies
-       ArrayList<Enemy> wave3 = new ArrayList<>();
-      
-       wave3.add(new BaseZombie(new Point(250, 523), Direction.RIGHT));
-       wave3.add(new BaseZombie(new Point(300, 523), Direction.RIGHT));
-       wave3.add(new BaseZombie(new Point(350, 523), Direction.RIGHT));
-       wave3.add(new BaseZombie(new Point(450, 523), Direction.RIGHT));
-       wave3.add(new BaseZombie(new Point(200, 523), Direction.RIGHT));
-       wave3.add(new BaseZombie(new Point(550, 523), Direction.RIGHT));
-       waves.add(wave3);
-
-       ArrayList<Enemy> wave4 = new ArrayList<>();
-       wave4.add(new ZoomerZombie(new Point(200, 523), Direction.RIGHT));
-       wave4.add(new BaseZombie(new Point(250, 523), Direction.LEFT));
-       wave4.add(new BaseZombie(new Point(300, 523), Direction.RIGHT));
-       wave4.add(new BaseZombie(new Point(350, 523), Direction.LEFT));
-
-       waves.add(wave4);
-
-       ArrayList<Enemy> wave5 = new ArrayList<>();
-       wave5.add(new ZoomerZombie(new Point(200, 523), Direction.RIGHT));
-       wave5.add(new ZoomerZombie(new Point(250, 523), Direction.LEFT));
-       wave5.add(new BaseZombie(new Point(300, 523), Direction.RIGHT));
-       wave5.add(new BaseZombie(new Point(400, 523), Direction.LEFT));
-       wave5.add(new BaseZombie(new Point(500, 523), Direction.RIGHT));
-       wave5.add(new BaseZombie(new Point(600, 523), Direction.LEFT));
-
-       waves.add(wave5);
-
-       ArrayList<Enemy> wave6 = new ArrayList<>();
-       wave6.add(new ZoomerZombie(new Point(200, 523), Direction.RIGHT));
-       wave6.add(new BaseZombie(new Point(300, 523), Direction.RIGHT));
-       wave6.add(new BaseZombie(new Point(400, 523), Direction.LEFT));
-       wave6.add(new ZoomerZombie(new Point(250, 523), Direction.LEFT));
-       wave6.add(new BaseZombie(new Point(500, 523), Direction.RIGHT));
-       wave6.add(new BaseZombie(new Point(600, 523), Direction.LEFT));
-       wave6.add(new ZoomerZombie(new Point(250, 523), Direction.LEFT));
-       wave6.add(new BaseZombie(new Point(500, 523), Direction.RIGHT));
-       wave6.add(new BaseZombie(new Point(600, 523), Direction.LEFT));
-
-       waves.add(wave6);
-
-       ArrayList<Enemy> bossWave = new ArrayList<>();
-       bossWave.add(new StrongZombie(new Point(200,523), Direction.RIGHT));
-
-       waves.add(bossWave);
+       waves.add(new EnemyWave(3, 1000)
+               .addEnemy(BaseZombie::new, new Point(250, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(300, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(350, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(450, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(200, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(550, 523), Direction.RIGHT)
+       );
+
+       waves.add(new EnemyWave(4, 1000)
+               .addEnemy(ZoomerZombie::new, new Point(200, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(250, 523), Direction.LEFT)
+               .addEnemy(BaseZombie::new, new Point(300, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(350, 523), Direction.LEFT)
+       );
+
+       waves.add(new EnemyWave(5, 1000)
+               .addEnemy(ZoomerZombie::new, new Point(200, 523), Direction.RIGHT)
+               .addEnemy(ZoomerZombie::new, new Point(250, 523), Direction.LEFT)
+               .addEnemy(BaseZombie::new, new Point(300, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(400, 523), Direction.LEFT)
+               .addEnemy(BaseZombie::new, new Point(500, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(600, 523), Direction.LEFT)
+       );
+
+       waves.add(new EnemyWave(6, 1000)
+               .addEnemy(ZoomerZombie::new, new Point(200, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(300, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(400, 523), Direction.LEFT)
+               .addEnemy(ZoomerZombie::new, new Point(250, 523), Direction.LEFT)
+               .addEnemy(BaseZombie::new, new Point(500, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(600, 523), Direction.LEFT)
+               .addEnemy(ZoomerZombie::new, new Point(250, 523), Direction.LEFT)
+               .addEnemy(BaseZombie::new, new Point(500, 523), Direction.RIGHT)
+               .addEnemy(BaseZombie::new, new Point(600, 523), Direction.LEFT)
+       );
+
+       waves.add(new EnemyWave(7, 1000) // Boss wave
+               .addEnemy(StrongZombie::new, new Point(200, 523), Direction.RIGHT)
+       );
 
        return waves;
    }
@@ -5,8 +5,9 @@ import java.util.ArrayList;
 import Engine.GraphicsHandler;
 import Engine.ImageLoader;
 import GameObject.Sprite;
-import Level.Enemy;
+import Level.EnemyWave;
 import Level.Map;
+import Level.TilesetRegistry;
 import Tilesets.CommonTileset;
 import Utils.Colors;
 import Utils.Point;
@@ -20,7 +21,7 @@ public class TitleScreenMap extends Map {
 
 
    public TitleScreenMap() {
-       super("title_screen_map.txt", new CommonTileset());
+       super("title_screen_map.txt", TilesetRegistry.get(CommonTileset.class, CommonTileset::new));
        Point joeLocation = getMapTile(6, 8).getLocation().subtractX(24).subtractY(6);
        joe = new Sprite(ImageLoader.loadSubImage("Joe.png", Colors.MAGENTA, 0, 0, 24, 24));
        joe.setScale(3);
@@ -36,8 +37,8 @@ public class TitleScreenMap extends Map {
 
 
    @Override
-   protected ArrayList<ArrayList<Enemy>> loadEnemyWaves() {
-       // TODO Auto-generated method stub
-       throw new UnsupportedOperationException("Unimplemented method 'loadEnemyWaves'");
+   protected ArrayList<EnemyWave> loadEnemyWaves() {
+       // the title screen has no enemies
+       return new ArrayList<>();
    }
 }
@@ -8,7 +8,6 @@ import Engine.Key;
 import Engine.Keyboard;
 import GameObject.Frame;
 import GameObject.SpriteSheet;
-import Level.NPC;
 import Level.Player;
 import Players.ArmedJoe;
 import Level.Map;
@@ -16,8 +15,7 @@ import Utils.Point;
 import java.util.HashMap;
 
 
-public class AShotgunPickup extends NPC {
-   private boolean isActive;
+public class AShotgunPickup extends WeaponPickup {
    private Map mapReference;
    public static boolean showOverlay = false; // Persistent overlay flag
    public static boolean weaponPickedUp = false; // Flag to indicate weapon is picked up
@@ -51,7 +49,7 @@ public class AShotgunPickup extends NPC {
 
 
    private void removeFromMap() {
-       mapReference.getNPCs().remove(this);
+       mapReference.removeNPC(this);
    }
 
 
@@ -9,7 +9,6 @@ import Engine.Key;
 import Engine.Keyboard;
 import GameObject.Frame;
 import GameObject.SpriteSheet;
-import Level.NPC;
 import Level.Player;
 import Players.ArmedJoe;
 import Level.Map;
@@ -17,8 +16,7 @@ import Utils.Point;
 import java.util.HashMap;
 
 
-public class FPistolPickup extends NPC {
-   private boolean isActive;
+public class FPistolPickup extends WeaponPickup {
    private Map mapReference;
    public static boolean showOverlay = false; // Persistent overlay flag
    public static boolean weaponPickedUp = false; // Flag to indicate weapon is picked up
@@ -52,7 +50,7 @@ public class FPistolPickup extends NPC {
 
 
    private void removeFromMap() {
-       mapReference.getNPCs().remove(this);
+       mapReference.removeNPC(this);
    }
 
 
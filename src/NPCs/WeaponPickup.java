@@ -0,0 +1,25 @@
+package NPCs;
+
+
+import GameObject.SpriteSheet;
+import Level.NPC;
+
+
+// This class is a base class for the weapons that can be picked up off of the map
+// a weapon is active (drawn and able to be picked up) until the player picks it up
+public abstract class WeaponPickup extends NPC {
+   protected boolean isActive = true;
+
+
+   public WeaponPickup(float x, float y, SpriteSheet spriteSheet, String startingAnimation) {
+       super(x, y, spriteSheet, startingAnimation);
+   }
+
+
+   // the weapon is put back on the map when the level is reset
+   @Override
+   public void initialize() {
+       super.initialize();
+       isActive = true;
+   }
+}
@@ -4,10 +4,12 @@ package Players;
 
 
 import Builders.FrameBuilder;
+import Engine.GameClock;
 import Engine.GraphicsHandler;
 import Engine.ImageLoader;
 import Engine.Key;
 import Engine.Keyboard;
+import Engine.TimerHandle;
 import GameObject.Frame;
 import GameObject.ImageEffect;
 import GameObject.SpriteSheet;
@@ -79,7 +81,7 @@ public class Joe extends Player {
 
   private boolean canShoot = true; // Prevents continuous shooting with pistol
   private boolean reloading = false; // Reload is in progress
-  private int reloadTimer = 0; // Reload delay
+  private TimerHandle reloadTimer; // Finishes the reload once the reload delay has passed
   private static final int RELOAD_DELAY = 60; // Reload delay in frames
 
 
@@ -125,10 +127,10 @@ public int getMShotgunAmmo() {
 
 
   // NEW variables for assault rifle cooldown
-  private int fireCooldownTimer = 0; // Timer to control firing rate for assault rifle
+  private boolean fireCooldownReady = true; // Controls firing rate for assault rifle, set back to true by a timer after each shot
   private static final int FIRE_COOLDOWN_DELAY = 10; // Cooldown delay for assault rifle firing rate
    // NEW variables for shotgun cooldown
-  private int shotgunCooldownTimer = 0;
+  private boolean shotgunCooldownReady = true;
   private static final int SHOTGUN_COOLDOWN_DELAY = 60; // 1-second delay for shotgun
  
 
@@ -230,16 +232,9 @@ public int getMShotgunAmmo() {
    }
 
 
-   // Reloading logic
-   if (reloading) {
-       reloadTimer++;
-       if (reloadTimer >= RELOAD_DELAY) {
-           finishReload();
-       }
-   } else {
+   // Reloading is finished by a scheduled timer, shooting is only allowed while not reloading
+   if (!reloading) {
        // Shooting logic based on the equipped weapon
-       fireCooldownTimer++;
-       shotgunCooldownTimer++;
 
 
        if (isAPistolEquipped && Keyboard.isKeyDown(Key.SPACE) && canShoot && apistolAmmo > 0) {
@@ -247,46 +242,46 @@ public int getMShotgunAmmo() {
         apistolAmmo--;
         canShoot = false;
     } else if (isAAssaultRifleEquipped && Keyboard.isKeyDown(Key.SPACE) 
-            && aassaultRifleAmmo > 0 && fireCooldownTimer >= FIRE_COOLDOWN_DELAY) {
+            && aassaultRifleAmmo > 0 && fireCooldownReady) {
         shootFireball(240); // Fire a projectile with a 240-frame lifetime
         aassaultRifleAmmo--; // Reduce ammo count by 1
         WorldOneScreen.aassaultRifleAmmo = aassaultRifleAmmo; // Sync display ammo count for assault rifle
-        fireCooldownTimer = 0; // Reset cooldown timer
+        startFireCooldown(); // Start cooldown timer
     } else if (isAShotgunEquipped && Keyboard.isKeyDown(Key.SPACE) 
-            && ashotgunAmmo > 0 && shotgunCooldownTimer >= SHOTGUN_COOLDOWN_DELAY) {
+            && ashotgunAmmo > 0 && shotgunCooldownReady) {
         shootFireball(40);
         ashotgunAmmo--;
-        shotgunCooldownTimer = 0;
+        startShotgunCooldown();
     } else if (isMPistolEquipped && Keyboard.isKeyDown(Key.SPACE) && canShoot && mpistolAmmo > 0) {
         shootModernBullets(240);
         mpistolAmmo--;
         canShoot = false;
     } else if (isMAssaultRifleEquipped && Keyboard.isKeyDown(Key.SPACE) 
-            && massaultRifleAmmo > 0 && fireCooldownTimer >= FIRE_COOLDOWN_DELAY) {
+            && massaultRifleAmmo > 0 && fireCooldownReady) {
         shootModernBullets(240); // Fire a projectile with a 240-frame lifetime
         massaultRifleAmmo--; // Reduce ammo count by 1
        WorldTwoScreen.aassaultRifleAmmo = aassaultRifleAmmo; // Sync display ammo count for assault rifle
-        fireCooldownTimer = 0; // Reset cooldown timer
+        startFireCooldown(); // Start cooldown timer
     } else if (isMShotgunEquipped && Keyboard.isKeyDown(Key.SPACE) 
-            && mshotgunAmmo > 0 && shotgunCooldownTimer >= SHOTGUN_COOLDOWN_DELAY) {
+            && mshotgunAmmo > 0 && shotgunCooldownReady) {
         shootModernBullets(240);
         mshotgunAmmo--;
-        shotgunCooldownTimer = 0;
+        startShotgunCooldown();
     } else if (isFPistolEquipped && Keyboard.isKeyDown(Key.SPACE) && canShoot && fpistolAmmo > 0) {
         shootFutureBullets(240);
         fpistolAmmo--;
         canShoot = false;
     } else if (isFAssaultRifleEquipped && Keyboard.isKeyDown(Key.SPACE) 
-            && fassaultRifleAmmo > 0 && fireCooldownTimer >= FIRE_COOLDOWN_DELAY) {
+            && fassaultRifleAmmo > 0 && fireCooldownReady) {
         shootFutureBullets(240); // Fire a projectile with a 240-frame lifetime
         fassaultRifleAmmo--; // Reduce ammo count by 1
         WorldThreeScreen.fassaultRifleAmmo = fassaultRifleAmmo; // Sync display ammo count for assault rifle
-        fireCooldownTimer = 0; // Reset cooldown timer
+        startFireCooldown(); // Start cooldown timer
     } else if (isFShotgunEquipped && Keyboard.isKeyDown(Key.SPACE) 
-            && fshotgunAmmo > 0 && shotgunCooldownTimer >= SHOTGUN_COOLDOWN_DELAY) {
+            && fshotgunAmmo > 0 && shotgunCooldownReady) {
         shootFutureBullets(40);
         fshotgunAmmo--;
-        shotgunCooldownTimer = 0;
+        startShotgunCooldown();
     }
     
     
@@ -338,15 +333,28 @@ public int getMShotgunAmmo() {
 
   private void startReload() {
       reloading = true;
-      reloadTimer = 0; // Start the reload timer
+      reloadTimer = GameClock.schedule(RELOAD_DELAY, this::finishReload); // Start the reload timer
       canShoot = false; // Disable shooting during reload
   }
 
+  private void startFireCooldown() {
+      fireCooldownReady = false;
+      GameClock.schedule(FIRE_COOLDOWN_DELAY, () -> fireCooldownReady = true);
+  }
+
+  private void startShotgunCooldown() {
+      shotgunCooldownReady = false;
+      GameClock.schedule(SHOTGUN_COOLDOWN_DELAY, () -> shotgunCooldownReady = true);
+  }
+
 
 
 
   public void finishReload() {
    reloading = false;  // Reset reloading state
+   if (reloadTimer != null) {
+        reloadTimer.cancel(); // in case the reload was finished early
+   }
    if (isAPistolEquipped) {
         apistolAmmo = APISTOL_MAX_AMMO;  // Reset pistol ammo
    } else if (isAAssaultRifleEquipped) {
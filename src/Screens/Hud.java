@@ -0,0 +1,171 @@
+package Screens;
+
+import Engine.GraphicsHandler;
+import Engine.ImageLoader;
+import Engine.ScreenManager;
+import Engine.WeaponOverlay;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// This class is for the HUD drawn over the world screens: hit points and coin count in the top right, and the current weapon and its ammo in the bottom left
+// Each of those two corners is drawn once into its own image, which is all that gets drawn each frame after that
+// A corner is only drawn again when something shown in it changes (such as the player losing a hit point or firing a shot),
+// so the HUD's images, text and weapon overlay aren't scaled and drawn over again every frame
+// The world screens give the HUD their current values each frame, which is cheap when nothing has changed
+public class Hud {
+    // top right corner: hit points and coin count
+    private static final int STATUS_X = 700;
+    private static final int STATUS_HEIGHT = 80;
+
+    // bottom left corner: weapon overlay and ammo count
+    private static final int WEAPON_Y = 520;
+    private static final int WEAPON_WIDTH = 200;
+
+    private static final Font COIN_COUNT_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final Font AMMO_COUNT_FONT = new Font("Arial", Font.BOLD, 14);
+
+    private final BufferedImage hp3Image;
+    private final BufferedImage hp2Image;
+    private final BufferedImage hp1Image;
+    private final BufferedImage coinImage;
+
+    private BufferedImage statusImage;
+    private BufferedImage weaponImage;
+    private boolean isStatusChanged = true;
+    private boolean isWeaponChanged = true;
+
+    // values currently drawn in each corner
+    private int hitPoints;
+    private int coinCount;
+    private WeaponOverlay weaponOverlay;
+    private int ammo;
+    private int maxAmmo;
+
+    public Hud() {
+        // the heart images have a black background and the coin image has a white one, which are made see through here once
+        hp3Image = removeColor(ImageLoader.load("ThreeHearts.png"), 0xFF000000);
+        hp2Image = removeColor(ImageLoader.load("TwoHearts.png"), 0xFF000000);
+        hp1Image = removeColor(ImageLoader.load("OneHeart.png"), 0xFF000000);
+        coinImage = removeColor(ImageLoader.load("coinForCount.png"), 0xFFFFFFFF);
+    }
+
+    public void setHitPoints(int hitPoints) {
+        if (hitPoints != this.hitPoints) {
+            this.hitPoints = hitPoints;
+            isStatusChanged = true;
+        }
+    }
+
+    public void setCoinCount(int coinCount) {
+        if (coinCount != this.coinCount) {
+            this.coinCount = coinCount;
+            isStatusChanged = true;
+        }
+    }
+
+    // sets the weapon overlay to show along with its ammo count, or null to not show a weapon
+    public void setWeapon(WeaponOverlay weaponOverlay, int ammo, int maxAmmo) {
+        if (weaponOverlay != this.weaponOverlay || ammo != this.ammo || maxAmmo != this.maxAmmo) {
+            this.weaponOverlay = weaponOverlay;
+            this.ammo = ammo;
+            this.maxAmmo = maxAmmo;
+            isWeaponChanged = true;
+        }
+    }
+
+    public void draw(GraphicsHandler graphicsHandler) {
+        Graphics2D screenGraphics = graphicsHandler.getGraphics();
+        int screenWidth = ScreenManager.getScreenWidth();
+        int screenHeight = ScreenManager.getScreenHeight();
+
+        if (isStatusChanged) {
+            statusImage = createImage(statusImage, screenWidth - STATUS_X, STATUS_HEIGHT);
+            Graphics2D g = createGraphics(statusImage, screenGraphics, STATUS_X, 0);
+            drawStatus(g);
+            g.dispose();
+            isStatusChanged = false;
+        }
+        graphicsHandler.drawImage(statusImage, STATUS_X, 0);
+
+        if (weaponOverlay != null) {
+            if (isWeaponChanged) {
+                weaponImage = createImage(weaponImage, WEAPON_WIDTH, screenHeight - WEAPON_Y);
+                Graphics2D g = createGraphics(weaponImage, screenGraphics, 0, WEAPON_Y);
+                drawWeapon(g);
+                g.dispose();
+                isWeaponChanged = false;
+            }
+            graphicsHandler.drawImage(weaponImage, 0, WEAPON_Y);
+        }
+    }
+
+    private void drawStatus(Graphics2D g) {
+        BufferedImage hitPointImage;
+        switch (hitPoints) {
+            case 3:
+                hitPointImage = hp3Image;
+                break;
+            case 2:
+                hitPointImage = hp2Image;
+                break;
+            case 1:
+                hitPointImage = hp1Image;
+                break;
+            default:
+                hitPointImage = null;
+                break;
+        }
+        if (hitPointImage != null) {
+            g.drawImage(hitPointImage, 700, 12, (int) (hitPointImage.getWidth() * 0.25), (int) (hitPointImage.getHeight() * 0.25), null);
+        }
+
+        g.drawImage(coinImage, 710, 47, (int) (coinImage.getWidth() * 0.075), (int) (coinImage.getHeight() * 0.075), null);
+        g.setColor(Color.WHITE);
+        g.setFont(COIN_COUNT_FONT);
+        g.drawString(" :" + coinCount, 730, 65);
+    }
+
+    private void drawWeapon(Graphics2D g) {
+        weaponOverlay.draw(g);
+        g.setColor(Color.WHITE);
+        g.setFont(AMMO_COUNT_FONT);
+        g.drawString(ammo + "/" + maxAmmo, weaponOverlay.getX() + 72, weaponOverlay.getY() + 25);
+    }
+
+    // gets a cleared image of the given size to draw a corner into, reusing the last one if it's the same size
+    private static BufferedImage createImage(BufferedImage image, int width, int height) {
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        return image;
+    }
+
+    // the corner is drawn using screen coordinates with the same rendering settings as the screen, so it looks exactly like it would drawn straight to the screen
+    private static Graphics2D createGraphics(BufferedImage image, Graphics2D screenGraphics, int x, int y) {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHints(screenGraphics.getRenderingHints());
+        g.translate(-x, -y);
+        return g;
+    }
+
+    // copies an image with one color made fully transparent
+    private static BufferedImage removeColor(BufferedImage image, int rgb) {
+        BufferedImage newImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = newImage.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        for (int y = 0; y < newImage.getHeight(); y++) {
+            for (int x = 0; x < newImage.getWidth(); x++) {
+                if (newImage.getRGB(x, y) == rgb) {
+                    newImage.setRGB(x, y, 0x00FFFFFF);
+                }
+            }
+        }
+        return newImage;
+    }
+}
@@ -0,0 +1,56 @@
+package Screens;
+
+import Engine.*;
+import Game.GameState;
+import Game.ScreenCoordinator;
+import Level.TilesetRegistry;
+import SpriteFont.SpriteFont;
+import Tilesets.CommonTileset;
+
+import java.awt.*;
+
+// This class is for the loading screen shown when the game starts up
+// every image and tileset the game uses is loaded in the background while a progress bar is shown, and then the game moves on to the menu
+// this way nothing has to be read in from disk partway through the game when a screen or map first uses it
+public class LoadingScreen extends Screen {
+    protected ScreenCoordinator screenCoordinator;
+    protected AssetPreloader assetPreloader;
+    protected SpriteFont loadingLabel;
+
+    private static final int PROGRESS_BAR_WIDTH = 400;
+    private static final int PROGRESS_BAR_HEIGHT = 20;
+
+    public LoadingScreen(ScreenCoordinator screenCoordinator) {
+        this.screenCoordinator = screenCoordinator;
+    }
+
+    @Override
+    public void initialize() {
+        loadingLabel = new SpriteFont("Loading...", 335, 250, "Times New Roman", 30, Color.white);
+
+        assetPreloader = new AssetPreloader();
+        assetPreloader.addImages();
+        assetPreloader.add("CommonTileset", () -> TilesetRegistry.get(CommonTileset.class, CommonTileset::new));
+        assetPreloader.start();
+    }
+
+    @Override
+    public void update() {
+        if (assetPreloader.isDone()) {
+            System.out.println("Preloaded " + assetPreloader.getAssetCount() + " assets in "
+                    + String.format("%.1f", assetPreloader.getLoadTime() / 1000000.0) + " ms"
+                    + (assetPreloader.getFailedCount() > 0 ? " (" + assetPreloader.getFailedCount() + " failed)" : ""));
+            screenCoordinator.setGameState(GameState.MENU);
+        }
+    }
+
+    public void draw(GraphicsHandler graphicsHandler) {
+        graphicsHandler.drawFilledRectangle(0, 0, ScreenManager.getScreenWidth(), ScreenManager.getScreenHeight(), Color.black);
+        loadingLabel.draw(graphicsHandler);
+
+        int progressBarX = (ScreenManager.getScreenWidth() - PROGRESS_BAR_WIDTH) / 2;
+        int progressBarY = 300;
+        graphicsHandler.drawFilledRectangle(progressBarX, progressBarY, Math.round(PROGRESS_BAR_WIDTH * assetPreloader.getProgress()), PROGRESS_BAR_HEIGHT, new Color(49, 207, 240));
+        graphicsHandler.drawRectangle(progressBarX, progressBarY, PROGRESS_BAR_WIDTH, PROGRESS_BAR_HEIGHT, Color.white, 2);
+    }
+}
@@ -2,40 +2,39 @@ package Screens;
 
 
 import Enemies.Fireball;
+import Engine.GameClock;
+import Engine.TimerHandle;
 import Engine.GraphicsHandler;
-import Engine.ImageLoader;
 import Engine.Screen;
 import Engine.ScreenManager;
 import Game.GameState;
+import Game.SaveableScreen;
 import Game.ScreenCoordinator;
 import Level.Enemy;
 import Level.Map;
 import Level.MapEntity;
+import Level.MapEntityStatus;
 import Level.Player;
 import Level.PlayerListener;
 import Players.Joe;
 import Players.ArmedJoe;
 import Utils.Direction;
 import Utils.Point;
-import java.awt.Graphics2D;
+import java.nio.ByteBuffer;
 
-import java.awt.Image;
-import java.awt.image.BufferedImage;
 import NPCs.APistolPickup;
 import NPCs.AAsaultRiflePickup;
 import NPCs.AShotgunPickup;
 import Engine.APistolOverlay;
 import Engine.AAsaultrifleOverlay;
 import Engine.AShotgunOverlay;
-import java.awt.Color;
-import java.awt.Font;
 import Engine.Key;
 import Engine.KeyLocker;
 import Engine.Keyboard;
 import Maps.*;
 
 
-public class WorldOneScreen extends Screen implements PlayerListener {
+public class WorldOneScreen extends Screen implements PlayerListener, SaveableScreen {
    protected ScreenCoordinator screenCoordinator;
    protected Map map;
    protected Player player;
@@ -48,10 +47,7 @@ public class WorldOneScreen extends Screen implements PlayerListener {
    protected boolean levelCompletedStateChangeStart;
 
 
-   private Image hp3Image;
-   private Image hp2Image;
-   private Image hp1Image;
-   private Image coinImage;
+   private Hud hud;
 
    //pause screen logic
    private KeyLocker keyLocker = new KeyLocker();
@@ -87,17 +83,18 @@ public class WorldOneScreen extends Screen implements PlayerListener {
    public static final int AASHOTGUN_MAX_AMMO = 8; // Shotgun max ammo
    private boolean canShoot = true; // Flag to prevent multiple shots per SPACE press
    public static boolean reloading = false; // Flag to indicate if reload is in progress
-   private int reloadTimer = 0; // Reload delay
+   private static TimerHandle reloadTimer; // Finishes the reload once the reload delay has passed (static so finishing the reload early, as MaxAmmo does, can cancel it)
    private static final int RELOAD_DELAY = 60; // Reload delay in frames
 
 
    // NEW variables for assault rifle and shotgun cooldowns
-   private int fireCooldownTimer = 0; // Timer to control firing rate for assault rifle
+   private boolean fireCooldownReady = true; // Controls firing rate for assault rifle, set back to true by a timer after each shot
    private static final int FIRE_COOLDOWN_DELAY = 10; // Cooldown delay for assault rifle firing rate
-   private int shotgunCooldownTimer = 0; // Timer to control firing rate for shotgun
+   private boolean shotgunCooldownReady = true; // Controls firing rate for shotgun, set back to true by a timer after each shot
    private static final int SHOTGUN_COOLDOWN_DELAY = 60; // 1-second delay for shotgun firing rate
 
    private boolean isMapLoaded = false;
+   private boolean isMapPlayed = false; // true once the level has been started on the map, after which it has to be reset to start it again
 
    public WorldOneScreen(ScreenCoordinator screenCoordinator) {
        this.screenCoordinator = screenCoordinator;
@@ -109,8 +106,11 @@ public class WorldOneScreen extends Screen implements PlayerListener {
 
    public void initialize() {
         resetWeaponStatus();
+        // the map is only created the first time (unless it was preloaded), retrying the level resets it instead
         if (!isMapLoaded) {
             this.map = new Map1(); // Start with Map 1
+            isMapLoaded = true;
+            isMapPlayed = false;
         }
 
 
@@ -129,13 +129,14 @@ public class WorldOneScreen extends Screen implements PlayerListener {
        this.playLevelScreenState = PlayLevelScreenState.RUNNING;
 
 
-       hp3Image = ImageLoader.load("ThreeHearts.png");
-       hp2Image = ImageLoader.load("TwoHearts.png");
-       hp1Image = ImageLoader.load("OneHeart.png");
+       hud = new Hud();
 
-       coinImage = ImageLoader.load("coinForCount.png");
-
-       map.setupMap();
+       // puts the map back the way it started, which also starts its first wave
+       // (a map that was just created already starts out that way, so it's only reset if the level has been started on it before)
+       if (isMapPlayed) {
+           map.reset();
+       }
+       isMapPlayed = true;
    }
 
 
@@ -147,6 +148,8 @@ public class WorldOneScreen extends Screen implements PlayerListener {
    public void update() {
     updatePauseState();
     completePurchase();
+    // gameplay timers only run while the level is being played
+    GameClock.setPaused(playLevelScreenState != PlayLevelScreenState.RUNNING);
 
        switch (playLevelScreenState) {
            case RUNNING:
@@ -178,6 +181,10 @@ public class WorldOneScreen extends Screen implements PlayerListener {
   
                player.update();
                map.update(player);
+               // the next world starts loading in the background once this world's last wave starts
+               if (map.isFinalWaveActive()) {
+                   screenCoordinator.preloadScreen(GameState.WORLDTWO);
+               }
 
 
                if (map.isWaveComplete()) {
@@ -185,31 +192,21 @@ public class WorldOneScreen extends Screen implements PlayerListener {
                 screenCoordinator.setGameState(GameState.WORLDTWO);// Manually trigger level completion
             }
                // Handle reloading and shooting
-               if (reloading) {
-                   reloadTimer++;
-                   
-                   if (reloadTimer >= RELOAD_DELAY) {
-                       finishReload();
-                       reloadTimer = 0; // Reset the timer after reloading
-                   }
-               }
-              
-               else {
-                   fireCooldownTimer++;
-                   shotgunCooldownTimer++;
+               // reloading is finished by a scheduled timer, shooting is only allowed while not reloading
+               if (!reloading) {
   
                    if (Keyboard.isKeyDown(Key.SPACE) && canShoot) {
                        if (isAPistolickedUp && apistolAmmo > 0) {
                            apistolAmmo--;
                            canShoot = false;
                            spawnFireball();
-                       } else if (isAAssaultRiflePickedUp && aassaultRifleAmmo > 0 && fireCooldownTimer >= FIRE_COOLDOWN_DELAY) {
+                       } else if (isAAssaultRiflePickedUp && aassaultRifleAmmo > 0 && fireCooldownReady) {
                            aassaultRifleAmmo--;
-                           fireCooldownTimer = 0;
+                           startFireCooldown();
                            spawnFireball();
-                       } else if (isAShotgunPickedUp && ashotgunAmmo > 0 && shotgunCooldownTimer >= SHOTGUN_COOLDOWN_DELAY) {
+                       } else if (isAShotgunPickedUp && ashotgunAmmo > 0 && shotgunCooldownReady) {
                            ashotgunAmmo--;
-                           shotgunCooldownTimer = 0;
+                           startShotgunCooldown();
                            spawnFireball();
                        }
                    }
@@ -227,7 +224,7 @@ public class WorldOneScreen extends Screen implements PlayerListener {
                    }
                    for (int i = map.getProjectiles().size() - 1; i >= 0; i--) {
                        MapEntity projectile = map.getProjectiles().get(i);
-                       if (projectile instanceof Fireball && projectile.getBounds().intersects(enemy.getBounds())) {
+                       if (projectile instanceof Fireball && projectile.getMapEntityStatus() != MapEntityStatus.REMOVED && projectile.getBounds().intersects(enemy.getBounds())) {
                            ((Fireball) projectile).touchedEntity(enemy);
                            map.removeProjectile(projectile);
                        }
@@ -334,13 +331,33 @@ public class WorldOneScreen extends Screen implements PlayerListener {
 
    private void startReload() {
        reloading = true;
-       reloadTimer = 0; // Start the reload timer
+       cancelReloadTimer();
+       reloadTimer = GameClock.schedule(RELOAD_DELAY, WorldOneScreen::finishReload); // Start the reload timer
+   }
+
+   private void startFireCooldown() {
+       fireCooldownReady = false;
+       GameClock.schedule(FIRE_COOLDOWN_DELAY, () -> fireCooldownReady = true);
+   }
+
+   private void startShotgunCooldown() {
+       shotgunCooldownReady = false;
+       GameClock.schedule(SHOTGUN_COOLDOWN_DELAY, () -> shotgunCooldownReady = true);
    }
    
 
 
+   // a reload that gets cancelled or finished early must not refill the weapon later on
+   private static void cancelReloadTimer() {
+       if (reloadTimer != null) {
+           reloadTimer.cancel();
+           reloadTimer = null;
+       }
+   }
+
    public static void finishReload() {
        reloading = false;
+       cancelReloadTimer(); // in case the reload was finished early
        if (AAsaultRiflePickup.weaponPickedUp) { // Assault rifle reload
            aassaultRifleAmmo = AASSAULT_RIFLE_MAX_AMMO;
        } else if (APistolPickup.weaponPickedUp) { // Pistol reload
@@ -361,25 +378,19 @@ public class WorldOneScreen extends Screen implements PlayerListener {
 
 
   
+               // the HUD is only drawn again when one of these values has changed
+               hud.setHitPoints(player.getHitPoints());
+               hud.setCoinCount(player.getCoinCount());
                if (showAPistolOverlay) {
-                   apistolOverlay.draw(graphicsHandler.getGraphics());
-                   drawAmmoCount(graphicsHandler, apistolAmmo, APISTOL_MAX_AMMO); 
-               }
-              
-               if (showAAssaultRifleOverlay) {
-                   aassaultRifleOverlay.draw(graphicsHandler.getGraphics());
-                   drawAmmoCount(graphicsHandler, aassaultRifleAmmo, AASSAULT_RIFLE_MAX_AMMO); 
-               }
-              
-               if (showAShotgunOverlay) {
-                   ashotgunOverlay.draw(graphicsHandler.getGraphics());
-                   drawAmmoCount(graphicsHandler, ashotgunAmmo, AASHOTGUN_MAX_AMMO); 
+                   hud.setWeapon(apistolOverlay, apistolAmmo, APISTOL_MAX_AMMO);
+               } else if (showAAssaultRifleOverlay) {
+                   hud.setWeapon(aassaultRifleOverlay, aassaultRifleAmmo, AASSAULT_RIFLE_MAX_AMMO);
+               } else if (showAShotgunOverlay) {
+                   hud.setWeapon(ashotgunOverlay, ashotgunAmmo, AASHOTGUN_MAX_AMMO);
+               } else {
+                   hud.setWeapon(null, 0, 0);
                }
-            
-  
-               drawHitpoints(graphicsHandler);
-               drawCoinForCount(graphicsHandler);
-               drawCoinCount(graphicsHandler);
+               hud.draw(graphicsHandler);
                break;
   
            case LEVEL_COMPLETED:
@@ -402,131 +413,6 @@ public class WorldOneScreen extends Screen implements PlayerListener {
   
 
 
-   private void drawAmmoCount(GraphicsHandler graphicsHandler, int apistolAmmo, int maxAmmo) {
-       Graphics2D g2d = (Graphics2D) graphicsHandler.getGraphics();
-       g2d.setColor(Color.WHITE);
-       g2d.setFont(new Font("Arial", Font.BOLD, 14));
-
-
-       int ammoX = 0;
-       int ammoY = 0;
-       if (isAAssaultRiflePickedUp) {
-           ammoX = aassaultRifleOverlay.getX() + 72;
-           ammoY = aassaultRifleOverlay.getY() + 25;
-       } else if (isAShotgunPickedUp) {
-           ammoX = ashotgunOverlay.getX() + 72;
-           ammoY = ashotgunOverlay.getY() + 25;
-       } else if (isAPistolickedUp) {
-           ammoX = apistolOverlay.getX() + 72;
-           ammoY = apistolOverlay.getY() + 25;
-       }
-
-
-       g2d.drawString(apistolAmmo + "/" + maxAmmo, ammoX, ammoY);
-   }
-
-   private void drawCoinCount(GraphicsHandler graphicsHandler) {
-    Graphics2D g2d = (Graphics2D) graphicsHandler.getGraphics();
-    g2d.setColor(Color.WHITE);
-    g2d.setFont(new Font("Arial", Font.BOLD, 20));
-    String coinCount = " :" + player.getCoinCount();
-    g2d.drawString(coinCount, 730, 65);
-}
-
-
-   private void drawHitpoints(GraphicsHandler graphicsHandler) {
-       Image hitpointImage;
-       switch (player.getHitPoints()) {
-           case 3:
-               hitpointImage = hp3Image;
-               break;
-           case 2:
-               hitpointImage = hp2Image;
-               break;
-           case 1:
-               hitpointImage = hp1Image;
-               break;
-           default:
-               hitpointImage = null;
-               break;
-       }
-
-
-       if (hitpointImage != null) {
-           int originalWidth = hitpointImage.getWidth(null);
-           int originalHeight = hitpointImage.getHeight(null);
-
-
-           if (originalWidth > 0 && originalHeight > 0) {
-               BufferedImage bufferedImage = new BufferedImage(originalWidth, originalHeight,
-                       BufferedImage.TYPE_INT_ARGB);
-               Graphics2D bGr = bufferedImage.createGraphics();
-
-
-               if (bGr != null) {
-                   bGr.drawImage(hitpointImage, 0, 0, null);
-                   bGr.dispose();
-
-
-                   int blackRGB = 0xFF000000;
-                   for (int y = 0; y < originalHeight; y++) {
-                       for (int x = 0; x < originalWidth; x++) {
-                           if (bufferedImage.getRGB(x, y) == blackRGB) {
-                               bufferedImage.setRGB(x, y, 0x00FFFFFF);
-                           }
-                       }
-                   }
-
-
-                   int scaledWidth = (int) (originalWidth * 0.25);
-                   int scaledHeight = (int) (originalHeight * 0.25);
-
-
-                   graphicsHandler.drawImage(bufferedImage, 700, 12, scaledWidth, scaledHeight);
-               }
-           }
-       }
-   }
-
-
-   private void drawCoinForCount(GraphicsHandler graphicsHandler) {
-       Image coinpicture = coinImage;
-    
-       if (coinpicture != null) {
-           int originalWidth = coinpicture.getWidth(null);
-           int originalHeight = coinpicture.getHeight(null);
-
-
-           if (originalWidth > 0 && originalHeight > 0) {
-               BufferedImage bufferedImage = new BufferedImage(originalWidth, originalHeight,
-                       BufferedImage.TYPE_INT_ARGB);
-               Graphics2D bGr = bufferedImage.createGraphics();
-
-
-               if (bGr != null) {
-                   bGr.drawImage(coinImage, 0, 0, null);
-                   bGr.dispose();
-
-
-                   int whiteRGB = 0xFFFFFFFF;
-                   for (int y = 0; y < originalHeight; y++) {
-                       for (int x = 0; x < originalWidth; x++) {
-                           if (bufferedImage.getRGB(x, y) == whiteRGB) {
-                               bufferedImage.setRGB(x, y, 0x00FFFFFF);
-                           }
-                       }
-                   }
-                   int scaledWidth = (int) (originalWidth * 0.075);
-                   int scaledHeight = (int) (originalHeight * 0.075);
-
-
-                   graphicsHandler.drawImage(bufferedImage, 710, 47, scaledWidth, scaledHeight);
-               }
-           }
-       }
-   }
-
-
    public PlayLevelScreenState getPlayLevelScreenState() {
        return playLevelScreenState;
    }
@@ -546,6 +432,62 @@ public class WorldOneScreen extends Screen implements PlayerListener {
    }
 
 
+   // quick saves the level (see SaveState) -- the weapon state is written first, followed by the player and the map
+   @Override
+   public void writeState(ByteBuffer buffer) {
+       buffer.put((byte) (APistolPickup.weaponPickedUp ? 1 : 0));
+       buffer.put((byte) (APistolPickup.showOverlay ? 1 : 0));
+       buffer.put((byte) (AAsaultRiflePickup.weaponPickedUp ? 1 : 0));
+       buffer.put((byte) (AAsaultRiflePickup.showOverlay ? 1 : 0));
+       buffer.put((byte) (AShotgunPickup.weaponPickedUp ? 1 : 0));
+       buffer.put((byte) (AShotgunPickup.showOverlay ? 1 : 0));
+       buffer.put((byte) (isAPistolickedUp ? 1 : 0));
+       buffer.put((byte) (isAAssaultRiflePickedUp ? 1 : 0));
+       buffer.put((byte) (isAShotgunPickedUp ? 1 : 0));
+       buffer.put((byte) (showAPistolOverlay ? 1 : 0));
+       buffer.put((byte) (showAAssaultRifleOverlay ? 1 : 0));
+       buffer.put((byte) (showAShotgunOverlay ? 1 : 0));
+       buffer.putInt(apistolAmmo);
+       buffer.putInt(aassaultRifleAmmo);
+       buffer.putInt(ashotgunAmmo);
+       buffer.putLong(GameClock.ticksLeft(reloadTimer));
+       player.writeState(buffer);
+       map.writeState(buffer);
+   }
+
+   // quick loads the level from what writeState wrote
+   // the level is always loaded into the running state, with weapons ready to fire
+   @Override
+   public void readState(ByteBuffer buffer) {
+       APistolPickup.weaponPickedUp = buffer.get() == 1;
+       APistolPickup.showOverlay = buffer.get() == 1;
+       AAsaultRiflePickup.weaponPickedUp = buffer.get() == 1;
+       AAsaultRiflePickup.showOverlay = buffer.get() == 1;
+       AShotgunPickup.weaponPickedUp = buffer.get() == 1;
+       AShotgunPickup.showOverlay = buffer.get() == 1;
+       isAPistolickedUp = buffer.get() == 1;
+       isAAssaultRiflePickedUp = buffer.get() == 1;
+       isAShotgunPickedUp = buffer.get() == 1;
+       showAPistolOverlay = buffer.get() == 1;
+       showAAssaultRifleOverlay = buffer.get() == 1;
+       showAShotgunOverlay = buffer.get() == 1;
+       apistolAmmo = buffer.getInt();
+       aassaultRifleAmmo = buffer.getInt();
+       ashotgunAmmo = buffer.getInt();
+       cancelReloadTimer();
+       long reloadTicksLeft = buffer.getLong();
+       reloading = reloadTicksLeft >= 0;
+       reloadTimer = reloading ? GameClock.schedule(reloadTicksLeft, WorldOneScreen::finishReload) : null;
+       canShoot = true;
+       fireCooldownReady = true;
+       shotgunCooldownReady = true;
+       isGamePaused = false;
+       playLevelScreenState = PlayLevelScreenState.RUNNING;
+       player.readState(buffer);
+       map.readState(buffer);
+   }
+
+
    public void resetLevel() {
        initialize();
    }
@@ -582,6 +524,6 @@ public class WorldOneScreen extends Screen implements PlayerListener {
        aassaultRifleAmmo = AASSAULT_RIFLE_MAX_AMMO;
        ashotgunAmmo = AASHOTGUN_MAX_AMMO;
        reloading = false;
-       reloadTimer = 0;
+       cancelReloadTimer();
    }
 }
\ No newline at end of file
@@ -2,40 +2,39 @@ package Screens;
 
 
 import Enemies.FutureBullets;
+import Engine.GameClock;
+import Engine.TimerHandle;
 import Engine.GraphicsHandler;
-import Engine.ImageLoader;
 import Engine.Screen;
 import Engine.ScreenManager;
 import Game.GameState;
+import Game.SaveableScreen;
 import Game.ScreenCoordinator;
 import Level.Enemy;
 import Level.Map;
 import Level.MapEntity;
+import Level.MapEntityStatus;
 import Level.Player;
 import Level.PlayerListener;
 import Players.Joe;
 import Players.ArmedJoe;
 import Utils.Direction;
 import Utils.Point;
-import java.awt.Graphics2D;
+import java.nio.ByteBuffer;
 
-import java.awt.Image;
-import java.awt.image.BufferedImage;
 import NPCs.FPistolPickup;
 import NPCs.FAssaultRiflePickup;
 import NPCs.FShotgunPickup;
 import Engine.FAssaultRifleOverlay;
 import Engine.FPistolOverlay;
 import Engine.FShotgunOverlay;
-import java.awt.Color;
-import java.awt.Font;
 import Engine.Key;
 import Engine.KeyLocker;
 import Engine.Keyboard;
 import Maps.*;
 
 
-public class WorldThreeScreen extends Screen implements PlayerListener {
+public class WorldThreeScreen extends Screen implements PlayerListener, SaveableScreen {
    protected ScreenCoordinator screenCoordinator;
    protected Map map;
    protected Player player;
@@ -47,10 +46,7 @@ public class WorldThreeScreen extends Screen implements PlayerListener {
    protected boolean levelCompletedStateChangeStart;
 
 
-   private Image hp3Image;
-   private Image hp2Image;
-   private Image hp1Image;
-   private Image coinImage;
+   private Hud hud;
 
    //pause screen logic
    private KeyLocker keyLocker = new KeyLocker();
@@ -88,17 +84,18 @@ public static int fassaultRifleAmmo;
 public static int apistolAmmo;
 public static int aassaultRifleAmmo;
 public static int ashotgunAmmo;
-   private int reloadTimer = 0; // Reload delay
+   private static TimerHandle reloadTimer; // Finishes the reload once the reload delay has passed (static so finishing the reload early, as MaxAmmo does, can cancel it)
    private static final int RELOAD_DELAY = 60; // Reload delay in frames
 
 
    // NEW variables for assault rifle and shotgun cooldowns
-   private int fireCooldownTimer = 0; // Timer to control firing rate for assault rifle
+   private boolean fireCooldownReady = true; // Controls firing rate for assault rifle, set back to true by a timer after each shot
    private static final int FIRE_COOLDOWN_DELAY = 10; // Cooldown delay for assault rifle firing rate
-   private int shotgunCooldownTimer = 0; // Timer to control firing rate for shotgun
+   private boolean shotgunCooldownReady = true; // Controls firing rate for shotgun, set back to true by a timer after each shot
    private static final int SHOTGUN_COOLDOWN_DELAY = 60; // 1-second delay for shotgun firing rate
 
    private boolean isMapLoaded = false;
+   private boolean isMapPlayed = false; // true once the level has been started on the map, after which it has to be reset to start it again
 
 
    public WorldThreeScreen(ScreenCoordinator screenCoordinator) {
@@ -111,8 +108,11 @@ public static int ashotgunAmmo;
 
    public void initialize() {
         resetWeaponStatus();
+        // the map is only created the first time (unless it was preloaded), retrying the level resets it instead
         if (!isMapLoaded) {
             this.map = new Map3(); // Start with Map 1
+            isMapLoaded = true;
+            isMapPlayed = false;
         }
 
        // Start the player as normal Joe
@@ -129,13 +129,23 @@ public static int ashotgunAmmo;
        this.playLevelScreenState = PlayLevelScreenState.RUNNING;
 
 
-       hp3Image = ImageLoader.load("ThreeHearts.png");
-       hp2Image = ImageLoader.load("TwoHearts.png");
-       hp1Image = ImageLoader.load("OneHeart.png");
+       hud = new Hud();
+
+       // puts the map back the way it started, which also starts its first wave
+       // (a map that was just created already starts out that way, so it's only reset if the level has been started on it before)
+       if (isMapPlayed) {
+           map.reset();
+       }
+       isMapPlayed = true;
+   }
 
-       coinImage = ImageLoader.load("coinForCount.png");
 
-       map.setupMap();
+   // builds the map ahead of time when this screen is preloaded, so initialize doesn't have to
+   @Override
+   public void preload() {
+       this.map = new Map3();
+       isMapLoaded = true;
+       isMapPlayed = false;
    }
 
 
@@ -146,6 +156,8 @@ public static int ashotgunAmmo;
 
    public void update() {
     updatePauseState();
+    // gameplay timers only run while the level is being played
+    GameClock.setPaused(playLevelScreenState != PlayLevelScreenState.RUNNING);
 
        switch (playLevelScreenState) {
            case RUNNING:
@@ -186,31 +198,21 @@ public static int ashotgunAmmo;
             }
   
                // Handle reloading and shooting
-               if (reloading) {
-                   reloadTimer++;
-                   
-                   if (reloadTimer >= RELOAD_DELAY) {
-                       finishReload();
-                       reloadTimer = 0; // Reset the timer after reloading
-                   }
-               }
-              
-               else {
-                   fireCooldownTimer++;
-                   shotgunCooldownTimer++;
+               // reloading is finished by a scheduled timer, shooting is only allowed while not reloading
+               if (!reloading) {
   
                    if (Keyboard.isKeyDown(Key.SPACE) && canShoot) {
                        if (isFPistolPickedup && currentAmmo >0) {
                         currentAmmo--;
                        canShoot = false;
                        spawnFutureBullets();
-                   } else if (isFAssaultRiflePickedUp && assaultRifleAmmo > 0 && fireCooldownTimer >= FIRE_COOLDOWN_DELAY) {
+                   } else if (isFAssaultRiflePickedUp && assaultRifleAmmo > 0 && fireCooldownReady) {
                        assaultRifleAmmo--;
-                       fireCooldownTimer = 0;
+                       startFireCooldown();
                        spawnFutureBullets();
-                   } else if (isFShotgunPickedUp && shotgunAmmo > 0 && shotgunCooldownTimer >= SHOTGUN_COOLDOWN_DELAY) {
+                   } else if (isFShotgunPickedUp && shotgunAmmo > 0 && shotgunCooldownReady) {
                     shotgunAmmo--;
-                    shotgunCooldownTimer = 0;
+                    startShotgunCooldown();
                     spawnFutureBullets();
                    }
                    }
@@ -228,7 +230,7 @@ public static int ashotgunAmmo;
                    }
                    for (int i = map.getProjectiles().size() - 1; i >= 0; i--) {
                        MapEntity projectile = map.getProjectiles().get(i);
-                       if (projectile instanceof FutureBullets && projectile.getBounds().intersects(enemy.getBounds())) {
+                       if (projectile instanceof FutureBullets && projectile.getMapEntityStatus() != MapEntityStatus.REMOVED && projectile.getBounds().intersects(enemy.getBounds())) {
                            ((FutureBullets) projectile).touchedEntity(enemy);
                            map.removeProjectile(projectile);
                        }
@@ -310,13 +312,33 @@ public static int ashotgunAmmo;
 
    private void startReload() {
        reloading = true;
-       reloadTimer = 0; // Start the reload timer
+       cancelReloadTimer();
+       reloadTimer = GameClock.schedule(RELOAD_DELAY, WorldThreeScreen::finishReload); // Start the reload timer
+   }
+
+   private void startFireCooldown() {
+       fireCooldownReady = false;
+       GameClock.schedule(FIRE_COOLDOWN_DELAY, () -> fireCooldownReady = true);
+   }
+
+   private void startShotgunCooldown() {
+       shotgunCooldownReady = false;
+       GameClock.schedule(SHOTGUN_COOLDOWN_DELAY, () -> shotgunCooldownReady = true);
    }
    
 
 
+   // a reload that gets cancelled or finished early must not refill the weapon later on
+   private static void cancelReloadTimer() {
+       if (reloadTimer != null) {
+           reloadTimer.cancel();
+           reloadTimer = null;
+       }
+   }
+
    public static void finishReload() {
        reloading = false;
+       cancelReloadTimer(); // in case the reload was finished early
        if (FPistolPickup.weaponPickedUp) { // Pistol reload
     currentAmmo = MAX_AMMO;
 } else if (FAssaultRiflePickup.weaponPickedUp) { // Pistol reload
@@ -335,25 +357,19 @@ public static int ashotgunAmmo;
                map.draw(graphicsHandler);
                player.draw(graphicsHandler);
 
+               // the HUD is only drawn again when one of these values has changed
+               hud.setHitPoints(player.getHitPoints());
+               hud.setCoinCount(player.getCoinCount());
                if (showFPistolOverlay) {
-                fPistolOverlay.draw(graphicsHandler.getGraphics());
-                drawAmmoCount(graphicsHandler, currentAmmo, MAX_AMMO); 
-            }
-            
-            if (showFAssaultRifleOverlay) {
-                fAssaultRifleOverlay.draw(graphicsHandler.getGraphics());
-                drawAmmoCount(graphicsHandler, assaultRifleAmmo, ASSAULT_RIFLE_MAX_AMMO); 
-            }
-            
-            if (showFShotgunOverlay) {
-                fShotgunOverlay.draw(graphicsHandler.getGraphics());
-                drawAmmoCount(graphicsHandler, shotgunAmmo, SHOTGUN_MAX_AMMO); 
-            }
-            
-  
-               drawHitpoints(graphicsHandler);
-               drawCoinForCount(graphicsHandler);
-               drawCoinCount(graphicsHandler);
+                   hud.setWeapon(fPistolOverlay, currentAmmo, MAX_AMMO);
+               } else if (showFAssaultRifleOverlay) {
+                   hud.setWeapon(fAssaultRifleOverlay, assaultRifleAmmo, ASSAULT_RIFLE_MAX_AMMO);
+               } else if (showFShotgunOverlay) {
+                   hud.setWeapon(fShotgunOverlay, shotgunAmmo, SHOTGUN_MAX_AMMO);
+               } else {
+                   hud.setWeapon(null, 0, 0);
+               }
+               hud.draw(graphicsHandler);
                break;
   
            case LEVEL_COMPLETED:
@@ -372,131 +388,6 @@ public static int ashotgunAmmo;
   
 
 
-   private void drawAmmoCount(GraphicsHandler graphicsHandler, int currentAmmo, int maxAmmo) {
-       Graphics2D g2d = (Graphics2D) graphicsHandler.getGraphics();
-       g2d.setColor(Color.WHITE);
-       g2d.setFont(new Font("Arial", Font.BOLD, 14));
-
-
-       int ammoX = 0;
-       int ammoY = 0;
-       if (isFPistolPickedup) {
-        ammoX = fPistolOverlay.getX() + 72;
-        ammoY = fPistolOverlay.getY() + 25;
-    } else if (isFAssaultRiflePickedUp) {
-        ammoX = fAssaultRifleOverlay.getX() + 72;
-        ammoY = fAssaultRifleOverlay.getY() + 25;
-    } else if (isFShotgunPickedUp) {
-        ammoX = fShotgunOverlay.getX() +72;
-        ammoY = fShotgunOverlay.getY() + 25;
-    }
-
-
-       g2d.drawString(currentAmmo + "/" + maxAmmo, ammoX, ammoY);
-   }
-
-   private void drawCoinCount(GraphicsHandler graphicsHandler) {
-    Graphics2D g2d = (Graphics2D) graphicsHandler.getGraphics();
-    g2d.setColor(Color.WHITE);
-    g2d.setFont(new Font("Arial", Font.BOLD, 20));
-    String coinCount = " :" + player.getCoinCount();
-    g2d.drawString(coinCount, 730, 65);
-}
-
-
-   private void drawHitpoints(GraphicsHandler graphicsHandler) {
-       Image hitpointImage;
-       switch (player.getHitPoints()) {
-           case 3:
-               hitpointImage = hp3Image;
-               break;
-           case 2:
-               hitpointImage = hp2Image;
-               break;
-           case 1:
-               hitpointImage = hp1Image;
-               break;
-           default:
-               hitpointImage = null;
-               break;
-       }
-
-
-       if (hitpointImage != null) {
-           int originalWidth = hitpointImage.getWidth(null);
-           int originalHeight = hitpointImage.getHeight(null);
-
-
-           if (originalWidth > 0 && originalHeight > 0) {
-               BufferedImage bufferedImage = new BufferedImage(originalWidth, originalHeight,
-                       BufferedImage.TYPE_INT_ARGB);
-               Graphics2D bGr = bufferedImage.createGraphics();
-
-
-               if (bGr != null) {
-                   bGr.drawImage(hitpointImage, 0, 0, null);
-                   bGr.dispose();
-
-
-                   int blackRGB = 0xFF000000;
-                   for (int y = 0; y < originalHeight; y++) {
-                       for (int x = 0; x < originalWidth; x++) {
-                           if (bufferedImage.getRGB(x, y) == blackRGB) {
-                               bufferedImage.setRGB(x, y, 0x00FFFFFF);
-                           }
-                       }
-                   }
-
-
-                   int scaledWidth = (int) (originalWidth * 0.25);
-                   int scaledHeight = (int) (originalHeight * 0.25);
-
-
-                   graphicsHandler.drawImage(bufferedImage, 700, 12, scaledWidth, scaledHeight);
-               }
-           }
-       }
-   }
-
-
-   private void drawCoinForCount(GraphicsHandler graphicsHandler) {
-       Image coinpicture = coinImage;
-    
-       if (coinpicture != null) {
-           int originalWidth = coinpicture.getWidth(null);
-           int originalHeight = coinpicture.getHeight(null);
-
-
-           if (originalWidth > 0 && originalHeight > 0) {
-               BufferedImage bufferedImage = new BufferedImage(originalWidth, originalHeight,
-                       BufferedImage.TYPE_INT_ARGB);
-               Graphics2D bGr = bufferedImage.createGraphics();
-
-
-               if (bGr != null) {
-                   bGr.drawImage(coinImage, 0, 0, null);
-                   bGr.dispose();
-
-
-                   int whiteRGB = 0xFFFFFFFF;
-                   for (int y = 0; y < originalHeight; y++) {
-                       for (int x = 0; x < originalWidth; x++) {
-                           if (bufferedImage.getRGB(x, y) == whiteRGB) {
-                               bufferedImage.setRGB(x, y, 0x00FFFFFF);
-                           }
-                       }
-                   }
-                   int scaledWidth = (int) (originalWidth * 0.075);
-                   int scaledHeight = (int) (originalHeight * 0.075);
-
-
-                   graphicsHandler.drawImage(bufferedImage, 710, 47, scaledWidth, scaledHeight);
-               }
-           }
-       }
-   }
-
-
    public PlayLevelScreenState getPlayLevelScreenState() {
        return playLevelScreenState;
    }
@@ -516,6 +407,62 @@ public static int ashotgunAmmo;
    }
 
 
+   // quick saves the level (see SaveState) -- the weapon state is written first, followed by the player and the map
+   @Override
+   public void writeState(ByteBuffer buffer) {
+       buffer.put((byte) (FPistolPickup.weaponPickedUp ? 1 : 0));
+       buffer.put((byte) (FPistolPickup.showOverlay ? 1 : 0));
+       buffer.put((byte) (FAssaultRiflePickup.weaponPickedUp ? 1 : 0));
+       buffer.put((byte) (FAssaultRiflePickup.showOverlay ? 1 : 0));
+       buffer.put((byte) (FShotgunPickup.weaponPickedUp ? 1 : 0));
+       buffer.put((byte) (FShotgunPickup.showOverlay ? 1 : 0));
+       buffer.put((byte) (isFPistolPickedup ? 1 : 0));
+       buffer.put((byte) (isFAssaultRiflePickedUp ? 1 : 0));
+       buffer.put((byte) (isFShotgunPickedUp ? 1 : 0));
+       buffer.put((byte) (showFPistolOverlay ? 1 : 0));
+       buffer.put((byte) (showFAssaultRifleOverlay ? 1 : 0));
+       buffer.put((byte) (showFShotgunOverlay ? 1 : 0));
+       buffer.putInt(currentAmmo);
+       buffer.putInt(assaultRifleAmmo);
+       buffer.putInt(shotgunAmmo);
+       buffer.putLong(GameClock.ticksLeft(reloadTimer));
+       player.writeState(buffer);
+       map.writeState(buffer);
+   }
+
+   // quick loads the level from what writeState wrote
+   // the level is always loaded into the running state, with weapons ready to fire
+   @Override
+   public void readState(ByteBuffer buffer) {
+       FPistolPickup.weaponPickedUp = buffer.get() == 1;
+       FPistolPickup.showOverlay = buffer.get() == 1;
+       FAssaultRiflePickup.weaponPickedUp = buffer.get() == 1;
+       FAssaultRiflePickup.showOverlay = buffer.get() == 1;
+       FShotgunPickup.weaponPickedUp = buffer.get() == 1;
+       FShotgunPickup.showOverlay = buffer.get() == 1;
+       isFPistolPickedup = buffer.get() == 1;
+       isFAssaultRiflePickedUp = buffer.get() == 1;
+       isFShotgunPickedUp = buffer.get() == 1;
+       showFPistolOverlay = buffer.get() == 1;
+       showFAssaultRifleOverlay = buffer.get() == 1;
+       showFShotgunOverlay = buffer.get() == 1;
+       currentAmmo = buffer.getInt();
+       assaultRifleAmmo = buffer.getInt();
+       shotgunAmmo = buffer.getInt();
+       cancelReloadTimer();
+       long reloadTicksLeft = buffer.getLong();
+       reloading = reloadTicksLeft >= 0;
+       reloadTimer = reloading ? GameClock.schedule(reloadTicksLeft, WorldThreeScreen::finishReload) : null;
+       canShoot = true;
+       fireCooldownReady = true;
+       shotgunCooldownReady = true;
+       isGamePaused = false;
+       playLevelScreenState = PlayLevelScreenState.RUNNING;
+       player.readState(buffer);
+       map.readState(buffer);
+   }
+
+
    public void resetLevel() {
        initialize();
    }
@@ -552,6 +499,6 @@ public static int ashotgunAmmo;
        assaultRifleAmmo = ASSAULT_RIFLE_MAX_AMMO;
        shotgunAmmo = SHOTGUN_MAX_AMMO;
        reloading = false;
-       reloadTimer = 0;
+       cancelReloadTimer();
    }
 }
\ No newline at end of file
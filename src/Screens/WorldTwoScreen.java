@@ -2,40 +2,39 @@ package Screens;
 
 
 import Enemies.ModernBullets;
+import Engine.GameClock;
+import Engine.TimerHandle;
 import Engine.GraphicsHandler;
-import Engine.ImageLoader;
 import Engine.Screen;
 import Engine.ScreenManager;
 import Game.GameState;
+import Game.SaveableScreen;
 import Game.ScreenCoordinator;
 import Level.Enemy;
 import Level.Map;
 import Level.MapEntity;
+import Level.MapEntityStatus;
 import Level.Player;
 import Level.PlayerListener;
 import Players.Joe;
 import Players.ArmedJoe;
 import Utils.Direction;
 import Utils.Point;
-import java.awt.Graphics2D;
+import java.nio.ByteBuffer;
 
-import java.awt.Image;
-import java.awt.image.BufferedImage;
 import NPCs.MAssaultRiflePickup;
 import NPCs.MPistolPickup;
 import NPCs.MShotgunPickup;
 import Engine.MPistolOverlay;
 import Engine.MShotgunOverlay;
 import Engine.MAssaultRifleOverlay;
-import java.awt.Color;
-import java.awt.Font;
 import Engine.Key;
 import Engine.KeyLocker;
 import Engine.Keyboard;
 import Maps.*;
 
 
-public class WorldTwoScreen extends Screen implements PlayerListener {
+public class WorldTwoScreen extends Screen implements PlayerListener, SaveableScreen {
    protected ScreenCoordinator screenCoordinator;
    protected Map map;
    protected Player player;
@@ -48,10 +47,7 @@ public class WorldTwoScreen extends Screen implements PlayerListener {
    protected boolean levelCompletedStateChangeStart;
 
 
-   private Image hp3Image;
-   private Image hp2Image;
-   private Image hp1Image;
-   private Image coinImage;
+   private Hud hud;
 
    //pause screen logic
    private KeyLocker keyLocker = new KeyLocker();
@@ -89,17 +85,18 @@ public class WorldTwoScreen extends Screen implements PlayerListener {
     public static int aassaultRifleAmmo;
     public static int apistolAmmo;
     public static int ashotgunAmmo;
-    private int reloadTimer = 0; // Reload delay
+    private static TimerHandle reloadTimer; // Finishes the reload once the reload delay has passed (static so finishing the reload early, as MaxAmmo does, can cancel it)
     private static final int RELOAD_DELAY = 60; // Reload delay in frames
                      
                      
     // NEW variables for assault rifle and shotgun cooldowns
-    private int fireCooldownTimer = 0; // Timer to control firing rate for assault rifle
+    private boolean fireCooldownReady = true; // Controls firing rate for assault rifle, set back to true by a timer after each shot
     private static final int FIRE_COOLDOWN_DELAY = 10; // Cooldown delay for assault rifle firing rate
-    private int shotgunCooldownTimer = 0; // Timer to control firing rate for shotgun
+    private boolean shotgunCooldownReady = true; // Controls firing rate for shotgun, set back to true by a timer after each shot
     private static final int SHOTGUN_COOLDOWN_DELAY = 60; // 1-second delay for shotgun firing rate
                      
                         private boolean isMapLoaded = false;
+                        private boolean isMapPlayed = false; // true once the level has been started on the map, after which it has to be reset to start it again
         
                         
                      
@@ -113,8 +110,11 @@ public class WorldTwoScreen extends Screen implements PlayerListener {
                      
                         public void initialize() {
                              resetWeaponStatus();
+                             // the map is only created the first time (unless it was preloaded), retrying the level resets it instead
                              if (!isMapLoaded) {
                                  this.map = new Map2(); // Start with Map 2
+                                 isMapLoaded = true;
+                                 isMapPlayed = false;
                              }
                      
                      
@@ -133,16 +133,26 @@ public class WorldTwoScreen extends Screen implements PlayerListener {
                             this.playLevelScreenState = PlayLevelScreenState.RUNNING;
                      
                      
-                            hp3Image = ImageLoader.load("ThreeHearts.png");
-                            hp2Image = ImageLoader.load("TwoHearts.png");
-                            hp1Image = ImageLoader.load("OneHeart.png");
+                            hud = new Hud();
                      
-                            coinImage = ImageLoader.load("coinForCount.png");
-                     
-                            map.setupMap();
+                            // puts the map back the way it started, which also starts its first wave
+                            // (a map that was just created already starts out that way, so it's only reset if the level has been started on it before)
+                            if (isMapPlayed) {
+                                map.reset();
+                            }
+                            isMapPlayed = true;
                         }
                      
                      
+                        // builds the map ahead of time when this screen is preloaded, so initialize doesn't have to
+                        @Override
+                        public void preload() {
+                            this.map = new Map2();
+                            isMapLoaded = true;
+                            isMapPlayed = false;
+                        }
+
+
                         private boolean playerCollidesWith(Enemy enemy) {
                             return player.getBounds().intersects(enemy.getBounds());
                         }
@@ -151,6 +161,8 @@ public class WorldTwoScreen extends Screen implements PlayerListener {
                         public void update() {
                          updatePauseState();
                          completePurchase();
+                         // gameplay timers only run while the level is being played
+                         GameClock.setPaused(playLevelScreenState != PlayLevelScreenState.RUNNING);
                      
                             switch (playLevelScreenState) {
                                 case RUNNING:
@@ -182,6 +194,10 @@ public class WorldTwoScreen extends Screen implements PlayerListener {
                        
                                     player.update();
                                     map.update(player);
+                                    // the next world starts loading in the background once this world's last wave starts
+                                    if (map.isFinalWaveActive()) {
+                                        screenCoordinator.preloadScreen(GameState.WORLDTHREE);
+                                    }
                      
                      
                                      if (map.isWaveComplete()) {
@@ -195,31 +211,21 @@ public class WorldTwoScreen extends Screen implements PlayerListener {
                                  // }
                        
                                     // Handle reloading and shooting
-                                    if (reloading) {
-                                        reloadTimer++;
-                                        
-                                        if (reloadTimer >= RELOAD_DELAY) {
-                                            finishReload();
-                                            reloadTimer = 0; // Reset the timer after reloading
-                                        }
-                                    }
-                                   
-                                    else {
-                                        fireCooldownTimer++;
-                                        shotgunCooldownTimer++;
+                                    // reloading is finished by a scheduled timer, shooting is only allowed while not reloading
+                                    if (!reloading) {
                        
                                         if (Keyboard.isKeyDown(Key.SPACE) && canShoot) {
                                             if (isMPistolickedUp && mpistolAmmo >0) {
                                              mpistolAmmo--;
                                                 canShoot = false;
                                                 spawnModernBullets();
-                                            } else if (isMAssaultRiflePickedUp && massaultRifleAmmo > 0 && fireCooldownTimer >= FIRE_COOLDOWN_DELAY) {
+                                            } else if (isMAssaultRiflePickedUp && massaultRifleAmmo > 0 && fireCooldownReady) {
                                              massaultRifleAmmo--;
-                                                fireCooldownTimer = 0;
+                                                startFireCooldown();
                                                 spawnModernBullets();
-                                            } else if (isMShotgunPickedUp && mshotgunAmmo > 0 && shotgunCooldownTimer >= SHOTGUN_COOLDOWN_DELAY) {
+                                            } else if (isMShotgunPickedUp && mshotgunAmmo > 0 && shotgunCooldownReady) {
                                              mshotgunAmmo--;
-                                             shotgunCooldownTimer = 0;
+                                             startShotgunCooldown();
                                              spawnModernBullets();
                                             }
                                         }
@@ -237,7 +243,7 @@ public class WorldTwoScreen extends Screen implements PlayerListener {
                                         }
                                         for (int i = map.getProjectiles().size() - 1; i >= 0; i--) {
                                             MapEntity projectile = map.getProjectiles().get(i);
-                                            if (projectile instanceof ModernBullets && projectile.getBounds().intersects(enemy.getBounds())) {
+                                            if (projectile instanceof ModernBullets && projectile.getMapEntityStatus() != MapEntityStatus.REMOVED && projectile.getBounds().intersects(enemy.getBounds())) {
                                                 ((ModernBullets) projectile).touchedEntity(enemy);
                                                 map.removeProjectile(projectile);
                                             }
@@ -338,13 +344,33 @@ public class WorldTwoScreen extends Screen implements PlayerListener {
                      
                         private void startReload() {
                             reloading = true;
-                            reloadTimer = 0; // Start the reload timer
+                            cancelReloadTimer();
+                            reloadTimer = GameClock.schedule(RELOAD_DELAY, WorldTwoScreen::finishReload); // Start the reload timer
+                        }
+
+                        private void startFireCooldown() {
+                            fireCooldownReady = false;
+                            GameClock.schedule(FIRE_COOLDOWN_DELAY, () -> fireCooldownReady = true);
+                        }
+
+                        private void startShotgunCooldown() {
+                            shotgunCooldownReady = false;
+                            GameClock.schedule(SHOTGUN_COOLDOWN_DELAY, () -> shotgunCooldownReady = true);
                         }
                         
                      
                      
+                        // a reload that gets cancelled or finished early must not refill the weapon later on
+                        private static void cancelReloadTimer() {
+                            if (reloadTimer != null) {
+                                reloadTimer.cancel();
+                                reloadTimer = null;
+                            }
+                        }
+
                         public static void finishReload() {
                             reloading = false;
+                            cancelReloadTimer(); // in case the reload was finished early
                             if (MPistolPickup.weaponPickedUp) { // Pistol reload
                              mpistolAmmo = MPISTOL_MAX_AMMO;
                       } else if (MAssaultRiflePickup.weaponPickedUp) { // Assault Rifle reload
@@ -364,25 +390,19 @@ public class WorldTwoScreen extends Screen implements PlayerListener {
                player.draw(graphicsHandler);
 
 
+               // the HUD is only drawn again when one of these values has changed
+               hud.setHitPoints(player.getHitPoints());
+               hud.setCoinCount(player.getCoinCount());
                if (showMPistolOverlay) {
-                mPistolOverlay.draw(graphicsHandler.getGraphics());
-                drawAmmoCount(graphicsHandler, mpistolAmmo, MPISTOL_MAX_AMMO); 
-            }
-            
-            if (showMAssaultRifleOverlay) {
-                mAssaultRifleOverlay.draw(graphicsHandler.getGraphics());
-                drawAmmoCount(graphicsHandler, massaultRifleAmmo, MASSAULT_RIFLE_MAX_AMMO); 
-            }
-            
-            if (showMShotgunOverlay) {
-                mShotgunOverlay.draw(graphicsHandler.getGraphics());
-                drawAmmoCount(graphicsHandler, mshotgunAmmo, MSHOTGUN_MAX_AMMO); 
-            }
-            
-  
-               drawHitpoints(graphicsHandler);
-               drawCoinForCount(graphicsHandler);
-               drawCoinCount(graphicsHandler);
+                   hud.setWeapon(mPistolOverlay, mpistolAmmo, MPISTOL_MAX_AMMO);
+               } else if (showMAssaultRifleOverlay) {
+                   hud.setWeapon(mAssaultRifleOverlay, massaultRifleAmmo, MASSAULT_RIFLE_MAX_AMMO);
+               } else if (showMShotgunOverlay) {
+                   hud.setWeapon(mShotgunOverlay, mshotgunAmmo, MSHOTGUN_MAX_AMMO);
+               } else {
+                   hud.setWeapon(null, 0, 0);
+               }
+               hud.draw(graphicsHandler);
                break;
   
            case LEVEL_COMPLETED:
@@ -405,130 +425,6 @@ public class WorldTwoScreen extends Screen implements PlayerListener {
   
 
 
-   private void drawAmmoCount(GraphicsHandler graphicsHandler, int currentAmmo, int maxAmmo) {
-       Graphics2D g2d = (Graphics2D) graphicsHandler.getGraphics();
-       g2d.setColor(Color.WHITE);
-       g2d.setFont(new Font("Arial", Font.BOLD, 14));
-
-
-       int ammoX = 0;
-       int ammoY = 0;
-       if (isMPistolickedUp) {
-        ammoX = mPistolOverlay.getX() + 72;
-        ammoY = mPistolOverlay.getY() + 25;
-    } else if (isMAssaultRiflePickedUp) {
-        ammoX = mAssaultRifleOverlay.getX() + 72;
-        ammoY = mAssaultRifleOverlay.getY() + 25;
-    } else if (isMShotgunPickedUp) {
-        ammoX = mShotgunOverlay.getX() +72;
-        ammoY = mShotgunOverlay.getY() + 25;
-    }
-
-       g2d.drawString(currentAmmo + "/" + maxAmmo, ammoX, ammoY);
-   }
-
-   private void drawCoinCount(GraphicsHandler graphicsHandler) {
-    Graphics2D g2d = (Graphics2D) graphicsHandler.getGraphics();
-    g2d.setColor(Color.WHITE);
-    g2d.setFont(new Font("Arial", Font.BOLD, 20));
-    String coinCount = " :" + player.getCoinCount();
-    g2d.drawString(coinCount, 730, 65);
-}
-
-
-   private void drawHitpoints(GraphicsHandler graphicsHandler) {
-       Image hitpointImage;
-       switch (player.getHitPoints()) {
-           case 3:
-               hitpointImage = hp3Image;
-               break;
-           case 2:
-               hitpointImage = hp2Image;
-               break;
-           case 1:
-               hitpointImage = hp1Image;
-               break;
-           default:
-               hitpointImage = null;
-               break;
-       }
-
-
-       if (hitpointImage != null) {
-           int originalWidth = hitpointImage.getWidth(null);
-           int originalHeight = hitpointImage.getHeight(null);
-
-
-           if (originalWidth > 0 && originalHeight > 0) {
-               BufferedImage bufferedImage = new BufferedImage(originalWidth, originalHeight,
-                       BufferedImage.TYPE_INT_ARGB);
-               Graphics2D bGr = bufferedImage.createGraphics();
-
-
-               if (bGr != null) {
-                   bGr.drawImage(hitpointImage, 0, 0, null);
-                   bGr.dispose();
-
-
-                   int blackRGB = 0xFF000000;
-                   for (int y = 0; y < originalHeight; y++) {
-                       for (int x = 0; x < originalWidth; x++) {
-                           if (bufferedImage.getRGB(x, y) == blackRGB) {
-                               bufferedImage.setRGB(x, y, 0x00FFFFFF);
-                           }
-                       }
-                   }
-
-
-                   int scaledWidth = (int) (originalWidth * 0.25);
-                   int scaledHeight = (int) (originalHeight * 0.25);
-
-
-                   graphicsHandler.drawImage(bufferedImage, 700, 12, scaledWidth, scaledHeight);
-               }
-           }
-       }
-   }
-
-
-   private void drawCoinForCount(GraphicsHandler graphicsHandler) {
-       Image coinpicture = coinImage;
-    
-       if (coinpicture != null) {
-           int originalWidth = coinpicture.getWidth(null);
-           int originalHeight = coinpicture.getHeight(null);
-
-
-           if (originalWidth > 0 && originalHeight > 0) {
-               BufferedImage bufferedImage = new BufferedImage(originalWidth, originalHeight,
-                       BufferedImage.TYPE_INT_ARGB);
-               Graphics2D bGr = bufferedImage.createGraphics();
-
-
-               if (bGr != null) {
-                   bGr.drawImage(coinImage, 0, 0, null);
-                   bGr.dispose();
-
-
-                   int whiteRGB = 0xFFFFFFFF;
-                   for (int y = 0; y < originalHeight; y++) {
-                       for (int x = 0; x < originalWidth; x++) {
-                           if (bufferedImage.getRGB(x, y) == whiteRGB) {
-                               bufferedImage.setRGB(x, y, 0x00FFFFFF);
-                           }
-                       }
-                   }
-                   int scaledWidth = (int) (originalWidth * 0.075);
-                   int scaledHeight = (int) (originalHeight * 0.075);
-
-
-                   graphicsHandler.drawImage(bufferedImage, 710, 47, scaledWidth, scaledHeight);
-               }
-           }
-       }
-   }
-
-
    public PlayLevelScreenState getPlayLevelScreenState() {
        return playLevelScreenState;
    }
@@ -560,6 +456,62 @@ public class WorldTwoScreen extends Screen implements PlayerListener {
    }
 
 
+   // quick saves the level (see SaveState) -- the weapon state is written first, followed by the player and the map
+   @Override
+   public void writeState(ByteBuffer buffer) {
+       buffer.put((byte) (MPistolPickup.weaponPickedUp ? 1 : 0));
+       buffer.put((byte) (MPistolPickup.showOverlay ? 1 : 0));
+       buffer.put((byte) (MAssaultRiflePickup.weaponPickedUp ? 1 : 0));
+       buffer.put((byte) (MAssaultRiflePickup.showOverlay ? 1 : 0));
+       buffer.put((byte) (MShotgunPickup.weaponPickedUp ? 1 : 0));
+       buffer.put((byte) (MShotgunPickup.showOverlay ? 1 : 0));
+       buffer.put((byte) (isMPistolickedUp ? 1 : 0));
+       buffer.put((byte) (isMAssaultRiflePickedUp ? 1 : 0));
+       buffer.put((byte) (isMShotgunPickedUp ? 1 : 0));
+       buffer.put((byte) (showMPistolOverlay ? 1 : 0));
+       buffer.put((byte) (showMAssaultRifleOverlay ? 1 : 0));
+       buffer.put((byte) (showMShotgunOverlay ? 1 : 0));
+       buffer.putInt(mpistolAmmo);
+       buffer.putInt(massaultRifleAmmo);
+       buffer.putInt(mshotgunAmmo);
+       buffer.putLong(GameClock.ticksLeft(reloadTimer));
+       player.writeState(buffer);
+       map.writeState(buffer);
+   }
+
+   // quick loads the level from what writeState wrote
+   // the level is always loaded into the running state, with weapons ready to fire
+   @Override
+   public void readState(ByteBuffer buffer) {
+       MPistolPickup.weaponPickedUp = buffer.get() == 1;
+       MPistolPickup.showOverlay = buffer.get() == 1;
+       MAssaultRiflePickup.weaponPickedUp = buffer.get() == 1;
+       MAssaultRiflePickup.showOverlay = buffer.get() == 1;
+       MShotgunPickup.weaponPickedUp = buffer.get() == 1;
+       MShotgunPickup.showOverlay = buffer.get() == 1;
+       isMPistolickedUp = buffer.get() == 1;
+       isMAssaultRiflePickedUp = buffer.get() == 1;
+       isMShotgunPickedUp = buffer.get() == 1;
+       showMPistolOverlay = buffer.get() == 1;
+       showMAssaultRifleOverlay = buffer.get() == 1;
+       showMShotgunOverlay = buffer.get() == 1;
+       mpistolAmmo = buffer.getInt();
+       massaultRifleAmmo = buffer.getInt();
+       mshotgunAmmo = buffer.getInt();
+       cancelReloadTimer();
+       long reloadTicksLeft = buffer.getLong();
+       reloading = reloadTicksLeft >= 0;
+       reloadTimer = reloading ? GameClock.schedule(reloadTicksLeft, WorldTwoScreen::finishReload) : null;
+       canShoot = true;
+       fireCooldownReady = true;
+       shotgunCooldownReady = true;
+       isGamePaused = false;
+       playLevelScreenState = PlayLevelScreenState.RUNNING;
+       player.readState(buffer);
+       map.readState(buffer);
+   }
+
+
    public void resetLevel() {
        initialize();
    }
@@ -596,6 +548,6 @@ public class WorldTwoScreen extends Screen implements PlayerListener {
        massaultRifleAmmo = MASSAULT_RIFLE_MAX_AMMO;
        mshotgunAmmo = MSHOTGUN_MAX_AMMO;
        reloading = false;
-       reloadTimer = 0;
+       cancelReloadTimer();
    }
 }
\ No newline at end of file
@@ -111,18 +111,20 @@ public class SpriteFont {
 		y -= dy;
 	}
 
+	// an outline the same color as the text wouldn't be seen, so the text is drawn without one
+	private Color getDrawnOutlineColor() {
+		return outlineColor != null && !outlineColor.equals(color) ? outlineColor : null;
+	}
+
 	private int getAscent(Graphics2D graphics) {
 		FontMetrics fm = graphics.getFontMetrics(font);
 		return fm.getAscent();
 	}
 
+	// outlined text is drawn from an image in the TextImageCache, so its outline only has to be worked out once no matter how many frames it's shown for
 	public void draw(GraphicsHandler graphicsHandler) {
 		int ascent = getAscent(graphicsHandler.getGraphics());
-		if (outlineColor != null && !outlineColor.equals(color)) {
-			graphicsHandler.drawStringWithOutline(text, Math.round(x), Math.round(y) + ascent, font, color, outlineColor, outlineThickness);
-		} else {
-			graphicsHandler.drawString(text, Math.round(x), Math.round(y) + ascent, font, color);
-		}
+		TextImageCache.drawString(graphicsHandler, text, Math.round(x), Math.round(y) + ascent, font, color, getDrawnOutlineColor(), outlineThickness);
 	}
 
 	// this can be called instead of regular draw to have the text drop to the next line in graphics space on a new line character
@@ -130,11 +132,7 @@ public class SpriteFont {
 		int ascent = getAscent(graphicsHandler.getGraphics());
 		int drawLocationY = Math.round(this.y) + ascent;
 		for (String line: text.split("\n")) {
-			if (outlineColor != null && !outlineColor.equals(color)) {
-				graphicsHandler.drawStringWithOutline(line, Math.round(x), drawLocationY, font, color, outlineColor, outlineThickness);
-			} else {
-				graphicsHandler.drawString(line, Math.round(x), drawLocationY, font, color);
-			}
+			TextImageCache.drawString(graphicsHandler, line, Math.round(x), drawLocationY, font, color, getDrawnOutlineColor(), outlineThickness);
 			drawLocationY += font.getSize() + gapBetweenLines;
 		}
 	}
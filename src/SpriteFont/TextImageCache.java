@@ -0,0 +1,164 @@
+package SpriteFont;
+
+import Engine.GraphicsHandler;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// This class keeps images of outlined text that has already been drawn, so drawing the same text again (such as a menu label every frame) is just drawing an image
+// Outlined text is slow to draw, since its outline has to be worked out from the font's glyphs and stroked every time
+// Text is drawn into its image the exact same way GraphicsHandler would draw it straight to the screen, so it looks the same either way
+// Only the most recently used texts are kept -- once there are more than MAX_SIZE, the one that was used least recently is thrown away
+public class TextImageCache {
+    public static final int MAX_SIZE = 256;
+
+    private static final LinkedHashMap<Key, TextImage> textImages = new LinkedHashMap<Key, TextImage>(MAX_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, TextImage> eldest) {
+            if (size() > MAX_SIZE) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private static long hits;
+    private static long misses;
+    private static long evictions;
+
+    // everything that changes how a piece of text looks
+    // the font render context is included since it holds whether text is antialiased when drawn
+    private static class Key {
+        private final String text;
+        private final Font font;
+        private final Color color;
+        private final Color outlineColor;
+        private final float outlineThickness;
+        private final FontRenderContext fontRenderContext;
+
+        private Key(String text, Font font, Color color, Color outlineColor, float outlineThickness, FontRenderContext fontRenderContext) {
+            this.text = text;
+            this.font = font;
+            this.color = color;
+            this.outlineColor = outlineColor;
+            this.outlineThickness = outlineThickness;
+            this.fontRenderContext = fontRenderContext;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return text.equals(key.text) && font.equals(key.font) && color.equals(key.color) && Objects.equals(outlineColor, key.outlineColor)
+                    && outlineThickness == key.outlineThickness && fontRenderContext.equals(key.fontRenderContext);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, font, color, outlineColor, outlineThickness, fontRenderContext);
+        }
+    }
+
+    // an image of a piece of text, and where the text's starting point (left side of its baseline) is in it
+    private static class TextImage {
+        private final BufferedImage image;
+        private final int originX;
+        private final int originY;
+
+        private TextImage(BufferedImage image, int originX, int originY) {
+            this.image = image;
+            this.originX = originX;
+            this.originY = originY;
+        }
+    }
+
+    // prevents TextImageCache from being instantiated
+    private TextImageCache() { }
+
+    // draws text with its baseline starting at x, y, the same as GraphicsHandler's drawString (or drawStringWithOutline if outlineColor isn't null)
+    // text without an outline is drawn straight to the screen, since Java already keeps its glyphs cached and drawing them is quicker than drawing an image of them
+    public static void drawString(GraphicsHandler graphicsHandler, String text, int x, int y, Font font, Color color, Color outlineColor, float outlineThickness) {
+        if (outlineColor == null) {
+            graphicsHandler.drawString(text, x, y, font, color);
+            return;
+        }
+        if (text.isEmpty()) {
+            return;
+        }
+        Graphics2D graphics = graphicsHandler.getGraphics();
+        TextImage textImage;
+        synchronized (textImages) {
+            Key key = new Key(text, font, color, outlineColor, outlineThickness, graphics.getFontRenderContext());
+            textImage = textImages.get(key);
+            if (textImage != null) {
+                hits++;
+            } else {
+                misses++;
+                textImage = createTextImage(key, graphics);
+                textImages.put(key, textImage);
+            }
+        }
+        graphicsHandler.drawImage(textImage.image, x - textImage.originX, y - textImage.originY);
+    }
+
+    private static TextImage createTextImage(Key key, Graphics2D screenGraphics) {
+        // the image is made large enough for the text's glyphs along with half its outline on every side, plus a couple pixels of room for antialiasing
+        Rectangle2D textBounds = key.font.createGlyphVector(key.fontRenderContext, key.text).getVisualBounds();
+        int margin = (int) Math.ceil(key.outlineThickness / 2) + 2;
+        int originX = -(int) Math.floor(textBounds.getMinX()) + margin;
+        int originY = -(int) Math.floor(textBounds.getMinY()) + margin;
+        int width = Math.max(1, (int) Math.ceil(textBounds.getMaxX()) + originX + margin);
+        int height = Math.max(1, (int) Math.ceil(textBounds.getMaxY()) + originY + margin);
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D imageGraphics = image.createGraphics();
+        imageGraphics.setRenderingHints(screenGraphics.getRenderingHints());
+        GraphicsHandler imageGraphicsHandler = new GraphicsHandler();
+        imageGraphicsHandler.setGraphics(imageGraphics);
+        imageGraphicsHandler.drawStringWithOutline(key.text, originX, originY, key.font, key.color, key.outlineColor, key.outlineThickness);
+        imageGraphics.dispose();
+        return new TextImage(image, originX, originY);
+    }
+
+    // how many times outlined text was drawn from an image that was already cached
+    public static long getHits() {
+        synchronized (textImages) {
+            return hits;
+        }
+    }
+
+    // how many times outlined text had to be drawn into a new image
+    public static long getMisses() {
+        synchronized (textImages) {
+            return misses;
+        }
+    }
+
+    // how many images were thrown away to make room for newer ones
+    public static long getEvictions() {
+        synchronized (textImages) {
+            return evictions;
+        }
+    }
+
+    // the fraction of outlined text draws that used a cached image, from 0 to 1
+    public static double getHitRate() {
+        synchronized (textImages) {
+            return hits + misses == 0 ? 0 : hits / (double) (hits + misses);
+        }
+    }
+
+    public static int getSize() {
+        synchronized (textImages) {
+            return textImages.size();
+        }
+    }
+}
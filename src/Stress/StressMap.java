@@ -0,0 +1,97 @@
+package Stress;
+
+import Engine.ImageLoader;
+import EnhancedMapTiles.HorizontalMovingPlatform;
+import GameObject.Rectangle;
+import Level.EnemyWave;
+import Level.EnhancedMapTile;
+import Level.Map;
+import Level.MapFile;
+import Level.TileType;
+import Level.TilesetRegistry;
+import Utils.Direction;
+import Utils.Point;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+// Represents a map generated from a StressScenario
+// The generated tiles are written out as a binary map file so the map loads the same way every other map does
+// The file goes in the system's temporary directory rather than MAP_FILES_PATH, so a run that gets killed doesn't leave it behind in the project
+// (and the game's MapFileWatcher never sees it), and each map gets its own file so runs going at the same time don't overwrite each other's
+public class StressMap extends Map {
+    // Map's constructor loads the map's map file, enemy waves and enhanced map tiles before this class's own fields are set,
+    // so the scenario being built and its map file are handed to those methods through here
+    private static StressScenario scenarioBeingBuilt;
+    private static File binaryFileBeingBuilt;
+
+    private final StressScenario scenario;
+    private final File binaryFile;
+
+    private StressMap(StressScenario scenario, StressTileset tileset, File binaryFile) {
+        super(scenario.getMapFileName(), tileset);
+        this.scenario = scenario;
+        this.binaryFile = binaryFile;
+        int playerStartColumn = scenario.getPlayerStartColumn();
+        this.playerStartPosition = getMapTile(playerStartColumn, scenario.getGroundRow(playerStartColumn) - 2).getLocation();
+    }
+
+    // generates the scenario's map file and creates a map from it
+    // the map file is kept until the program exits, since the map reads it again if it's ever set up from scratch
+    public static synchronized StressMap create(StressScenario scenario) throws IOException {
+        StressTileset tileset = TilesetRegistry.get(StressTileset.class, StressTileset::new);
+        MapFile mapFile = scenario.generate(tileset.getWaterIndex());
+        String mapFileName = scenario.getMapFileName();
+        File binaryFile = Files.createTempFile(mapFileName.substring(0, mapFileName.length() - MapFile.TEXT_EXTENSION.length()) + "_",
+                MapFile.BINARY_EXTENSION).toFile();
+        binaryFile.deleteOnExit();
+        mapFile.writeBinaryFile(binaryFile);
+
+        scenarioBeingBuilt = scenario;
+        binaryFileBeingBuilt = binaryFile;
+        try {
+            return new StressMap(scenario, tileset, binaryFile);
+        } finally {
+            scenarioBeingBuilt = null;
+            binaryFileBeingBuilt = null;
+        }
+    }
+
+    public StressScenario getScenario() {
+        return scenario;
+    }
+
+    @Override
+    protected MapFile readMapFile() throws IOException {
+        return MapFile.readBinaryFile(binaryFile != null ? binaryFile : binaryFileBeingBuilt);
+    }
+
+    @Override
+    protected ArrayList<EnemyWave> loadEnemyWaves() {
+        return getLoadingScenario().createEnemyWaves(tileset.getScaledSpriteWidth(), tileset.getScaledSpriteHeight());
+    }
+
+    @Override
+    public ArrayList<EnhancedMapTile> loadEnhancedMapTiles() {
+        ArrayList<EnhancedMapTile> enhancedMapTiles = new ArrayList<>();
+        for (Point tile : getLoadingScenario().getMovingPlatformTiles()) {
+            HorizontalMovingPlatform hmp = new HorizontalMovingPlatform(
+                    ImageLoader.load("GreenPlatform.png"),
+                    getMapTile((int) tile.x, (int) tile.y).getLocation(),
+                    getMapTile((int) tile.x + 3, (int) tile.y).getLocation(),
+                    TileType.JUMP_THROUGH_PLATFORM,
+                    3,
+                    new Rectangle(0, 6, 16, 4),
+                    Direction.RIGHT);
+            enhancedMapTiles.add(hmp);
+        }
+        return enhancedMapTiles;
+    }
+
+    // the scenario is only handed over through scenarioBeingBuilt while the constructor runs (after that, such as when the map is reset, it's in the scenario field)
+    private StressScenario getLoadingScenario() {
+        return scenario != null ? scenario : scenarioBeingBuilt;
+    }
+}
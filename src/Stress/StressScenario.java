@@ -0,0 +1,247 @@
+package Stress;
+
+import Enemies.BaseAlien;
+import Enemies.BaseHumanEnemy;
+import Enemies.BaseZombie;
+import Level.EnemyFactory;
+import Level.EnemyWave;
+import Level.MapFile;
+import Utils.Direction;
+import Utils.Point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+// This class describes a generated stress test map: how big it is, how often each kind of tile shows up, and how many enemies it spawns
+// The game's own maps are all small with only a handful of enemies per wave, so generated maps are used to see how the engine holds up as both get larger
+// Everything is generated from the seed, so the same scenario always generates the exact same map and enemy waves
+//
+// The map is a strip of ground that goes up and down along slopes, with pools of water sunk into it,
+// jump through platforms floating above it, and moving platforms going back and forth above those
+// Enemies (a mix of zombies, aliens and humans) are dropped in above the ground within spawnRange tiles of where the player starts
+public class StressScenario {
+    private static final EnemyFactory[] ENEMY_TYPES = { BaseZombie::new, BaseAlien::new, BaseHumanEnemy::new };
+
+    // the ground is kept flat for this many tiles on either side of the player, so the player doesn't start on a slope or in water
+    private static final int FLAT_AREA_AROUND_PLAYER = 3;
+
+    private int width = 34;
+    private int height = 14;
+    private int enemyCount = 100;
+    private int waveCount = 1;
+    private int spawnRange = 40;
+    private float slopeChance = 0.1f;
+    private float waterChance = 0.03f;
+    private float platformChance = 0.05f;
+    private float movingPlatformChance = 0.02f;
+    private long seed = 1;
+
+    // filled in by generate
+    private int[] groundRows;
+    private ArrayList<Point> movingPlatformTiles;
+
+    // map size in tiles
+    public StressScenario withSize(int width, int height) {
+        if (width < 2 * FLAT_AREA_AROUND_PLAYER + 3 || height < 6) {
+            throw new IllegalArgumentException("Stress maps have to be at least " + (2 * FLAT_AREA_AROUND_PLAYER + 3) + "x6 tiles, not " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    // total number of enemies, split evenly between the given number of waves
+    public StressScenario withEnemies(int enemyCount, int waveCount) {
+        this.enemyCount = enemyCount;
+        this.waveCount = Math.max(1, waveCount);
+        return this;
+    }
+
+    // how many tiles wide the area enemies spawn in is, centered on the player (0 spreads them across the whole map)
+    public StressScenario withSpawnRange(int spawnRange) {
+        this.spawnRange = spawnRange;
+        return this;
+    }
+
+    // chance for each column of ground to slope up or down, to have a pool of water start in it, to have a jump through platform start above it, and to have a moving platform above it
+    public StressScenario withTileMix(float slopeChance, float waterChance, float platformChance, float movingPlatformChance) {
+        this.slopeChance = slopeChance;
+        this.waterChance = waterChance;
+        this.platformChance = platformChance;
+        this.movingPlatformChance = movingPlatformChance;
+        return this;
+    }
+
+    public StressScenario withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getEnemyCount() {
+        return enemyCount;
+    }
+
+    public int getWaveCount() {
+        return waveCount;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // the name the generated map goes by (which is also what its map file's temporary file name starts with)
+    // every setting is part of it, so two different scenarios never share a name
+    public String getMapFileName() {
+        return "stress_" + width + "x" + height + "_e" + enemyCount + "x" + waveCount + "_r" + spawnRange
+                + "_t" + slopeChance + "-" + waterChance + "-" + platformChance + "-" + movingPlatformChance
+                + "_s" + seed + MapFile.TEXT_EXTENSION;
+    }
+
+    public int getPlayerStartColumn() {
+        return width / 2;
+    }
+
+    // row of the topmost solid tile in a column of the generated map (a slope counts as solid)
+    public int getGroundRow(int column) {
+        return groundRows[column];
+    }
+
+    // tile each moving platform starts on in the generated map (each one moves three tiles to the right and back)
+    public ArrayList<Point> getMovingPlatformTiles() {
+        return movingPlatformTiles;
+    }
+
+    // generates the map's tiles (waterIndex is the index of the water tile in the tileset the map will use)
+    public MapFile generate(int waterIndex) {
+        Random random = new Random(seed);
+        short[] tileIndexes = new short[width * height];
+        Arrays.fill(tileIndexes, (short) StressTileset.SKY);
+        groundRows = new int[width];
+
+        // left and right edges of the map are walls so enemies can't walk off of it
+        for (int y = 0; y < height; y++) {
+            tileIndexes[y * width] = StressTileset.WALL;
+            tileIndexes[y * width + width - 1] = StressTileset.WALL;
+        }
+        groundRows[0] = 0;
+        groundRows[width - 1] = 0;
+
+        int highestGroundRow = Math.max(3, height / 3);
+        int lowestGroundRow = height - 2;
+        int groundRow = height * 2 / 3;
+        int waterLeft = 0;
+        for (int x = 1; x < width - 1; x++) {
+            boolean isNearPlayer = Math.abs(x - getPlayerStartColumn()) <= FLAT_AREA_AROUND_PLAYER;
+            int surfaceTile = StressTileset.GRASS;
+            int surfaceRow = groundRow;
+
+            if (!isNearPlayer && random.nextFloat() < slopeChance) {
+                // a slope tile sits in between the ground level on its left and the ground level on its right
+                boolean goesUp = random.nextBoolean();
+                if (goesUp && groundRow - 1 >= highestGroundRow) {
+                    groundRow--;
+                    surfaceRow = groundRow;
+                    surfaceTile = StressTileset.SLOPE_UP;
+                } else if (!goesUp && groundRow + 1 <= lowestGroundRow) {
+                    surfaceTile = StressTileset.SLOPE_DOWN;
+                    groundRow++;
+                }
+                waterLeft = 0;
+            } else if (!isNearPlayer && waterLeft == 0 && random.nextFloat() < waterChance) {
+                waterLeft = 2 + random.nextInt(3);
+            }
+
+            if (surfaceTile == StressTileset.GRASS && waterLeft > 0 && !isNearPlayer) {
+                surfaceTile = waterIndex;
+                waterLeft--;
+            } else if (surfaceTile == StressTileset.GRASS) {
+                waterLeft = 0;
+            }
+
+            tileIndexes[surfaceRow * width + x] = (short) surfaceTile;
+            for (int y = surfaceRow + 1; y < height; y++) {
+                tileIndexes[y * width + x] = StressTileset.DIRT;
+            }
+            groundRows[x] = surfaceRow;
+        }
+
+        // jump through platforms float three tiles above the highest ground underneath them
+        movingPlatformTiles = new ArrayList<>();
+        for (int x = 1; x < width - 1; x++) {
+            if (random.nextFloat() < platformChance) {
+                int length = 3 + random.nextInt(4);
+                if (x + length >= width - 1) {
+                    continue;
+                }
+                int platformRow = getHighestGroundRow(x, x + length) - 3;
+                if (platformRow < 1) {
+                    continue;
+                }
+                for (int i = 0; i < length; i++) {
+                    int tileIndex = i == 0 ? StressTileset.PLATFORM_LEFT : i == length - 1 ? StressTileset.PLATFORM_RIGHT : StressTileset.PLATFORM_MIDDLE;
+                    if (tileIndexes[platformRow * width + x + i] == StressTileset.SKY) {
+                        tileIndexes[platformRow * width + x + i] = (short) tileIndex;
+                    }
+                }
+            }
+
+            // moving platforms go back and forth five tiles above the ground
+            if (random.nextFloat() < movingPlatformChance && x + 4 < width - 1) {
+                int platformRow = getHighestGroundRow(x, x + 4) - 5;
+                if (platformRow >= 1) {
+                    movingPlatformTiles.add(new Point(x, platformRow));
+                }
+            }
+        }
+
+        return new MapFile(width, height, tileIndexes);
+    }
+
+    // creates the scenario's enemy waves (generate has to be called first)
+    // every wave spawns right after the last one is cleared
+    public ArrayList<EnemyWave> createEnemyWaves(int tileWidth, int tileHeight) {
+        // a different seed than the map's, so changing the enemy count doesn't change the map
+        Random random = new Random(seed * 31 + 17);
+        int playerColumn = getPlayerStartColumn();
+        int firstColumn = 1;
+        int lastColumn = width - 2;
+        if (spawnRange > 0) {
+            firstColumn = Math.max(1, playerColumn - spawnRange / 2);
+            lastColumn = Math.min(width - 2, playerColumn + spawnRange / 2);
+        }
+
+        ArrayList<EnemyWave> waves = new ArrayList<>();
+        for (int w = 0; w < waveCount; w++) {
+            EnemyWave wave = new EnemyWave(w + 1, 0);
+            int waveEnemyCount = enemyCount / waveCount + (w < enemyCount % waveCount ? 1 : 0);
+            for (int i = 0; i < waveEnemyCount; i++) {
+                int column = firstColumn + random.nextInt(lastColumn - firstColumn + 1);
+                // enemies are dropped in three tiles above the ground and fall down onto it
+                int row = Math.max(0, groundRows[column] - 3);
+                Point location = new Point(column * tileWidth + random.nextInt(tileWidth), row * tileHeight);
+                Direction facingDirection = random.nextBoolean() ? Direction.LEFT : Direction.RIGHT;
+                wave.addEnemy(ENEMY_TYPES[random.nextInt(ENEMY_TYPES.length)], location, facingDirection);
+            }
+            waves.add(wave);
+        }
+        return waves;
+    }
+
+    // the highest (smallest) ground row across a range of columns
+    private int getHighestGroundRow(int firstColumn, int lastColumn) {
+        int highestRow = height;
+        for (int x = firstColumn; x <= lastColumn; x++) {
+            highestRow = Math.min(highestRow, groundRows[x]);
+        }
+        return highestRow;
+    }
+}
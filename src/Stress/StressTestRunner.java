@@ -0,0 +1,175 @@
+package Stress;
+
+import Engine.Config;
+import Engine.GameClock;
+import Engine.ScreenManager;
+import GameObject.Rectangle;
+import Level.Enemy;
+import Level.MapEntityStatus;
+import Level.Player;
+import Players.Joe;
+import Utils.Point;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// Runs generated stress test maps (see StressScenario) without a window, updating each one as fast as it can for a set number of ticks,
+// and prints a report of how the updates per second scale with the map size and the number of enemies
+// Every combination of the given map sizes and enemy counts is run, so the report shows where the engine stops keeping up with the target FPS
+// The camera only updates enemies near it, so the report includes how many enemies were actually being updated on average along with how many were spawned
+// (enemy bullets are enemies too, so that can end up higher than the number spawned)
+// usage: StressTestRunner [--sizes 34x14,200x30,1000x60] [--enemies 10,100,1000,5000] [--waves 1] [--ticks 600] [--warmup-ticks 120]
+//                         [--spawn-range 40] [--tile-mix <slope>,<water>,<platform>,<moving platform>] [--seed 1]
+// with more than one wave, every enemy is killed off at even intervals during the measured ticks so each wave gets spawned
+public class StressTestRunner {
+    public static void main(String[] args) throws IOException {
+        String[] sizes = { "34x14", "200x30", "1000x60" };
+        int[] enemyCounts = { 10, 100, 1000, 5000 };
+        int waveCount = 1;
+        int ticks = 600;
+        int warmupTicks = 120;
+        int spawnRange = 40;
+        float[] tileMix = { 0.1f, 0.03f, 0.05f, 0.02f };
+        long seed = 1;
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException(args[i] + " is missing a value");
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--sizes":
+                        sizes = value.split(",");
+                        break;
+                    case "--enemies":
+                        enemyCounts = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                        break;
+                    case "--waves":
+                        waveCount = Integer.parseInt(value);
+                        break;
+                    case "--ticks":
+                        ticks = Integer.parseInt(value);
+                        break;
+                    case "--warmup-ticks":
+                        warmupTicks = Integer.parseInt(value);
+                        break;
+                    case "--spawn-range":
+                        spawnRange = Integer.parseInt(value);
+                        break;
+                    case "--tile-mix":
+                        String[] chances = value.split(",");
+                        if (chances.length != 4) {
+                            throw new IllegalArgumentException("--tile-mix needs four chances, not " + value);
+                        }
+                        for (int j = 0; j < 4; j++) {
+                            tileMix[j] = Float.parseFloat(chances[j]);
+                        }
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            System.out.println(ex.getMessage());
+            System.out.println("usage: StressTestRunner [--sizes 34x14,200x30] [--enemies 10,100,1000] [--waves 1] [--ticks 600] [--warmup-ticks 120] "
+                    + "[--spawn-range 40] [--tile-mix 0.1,0.03,0.05,0.02] [--seed 1]");
+            return;
+        }
+
+        ScreenManager screenManager = new ScreenManager();
+        screenManager.initialize(new Rectangle(0, 0, Config.GAME_WINDOW_WIDTH, Config.GAME_WINDOW_HEIGHT));
+
+        ArrayList<String> reportLines = new ArrayList<>();
+        for (String size : sizes) {
+            String[] dimensions = size.split("x");
+            for (int enemyCount : enemyCounts) {
+                StressScenario scenario = new StressScenario()
+                        .withSize(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]))
+                        .withEnemies(enemyCount, waveCount)
+                        .withSpawnRange(spawnRange)
+                        .withTileMix(tileMix[0], tileMix[1], tileMix[2], tileMix[3])
+                        .withSeed(seed);
+                reportLines.add(run(scenario, warmupTicks, ticks));
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-10s %8s %8s %10s %11s %9s %9s %9s %9s%n", "map", "tiles", "enemies", "avg active", "ticks/sec", "p50 ms", "p99 ms", "max ms", "build ms");
+        for (String reportLine : reportLines) {
+            System.out.println(reportLine);
+        }
+        System.out.printf("(%d measured ticks per run after %d warm up ticks, target is %d ticks/sec)%n", ticks, warmupTicks, Config.TARGET_FPS);
+    }
+
+    // runs one scenario and returns its line of the report
+    private static String run(StressScenario scenario, int warmupTicks, int ticks) throws IOException {
+        // timers left over from the last run's map (such as its next wave spawning) would otherwise go off during this one
+        GameClock.clearScheduledTimers();
+        System.gc();
+
+        long buildStartTime = System.nanoTime();
+        StressMap map = StressMap.create(scenario);
+        long buildTime = System.nanoTime() - buildStartTime;
+
+        Point playerStartPosition = map.getPlayerStartPosition();
+        Player player = new Joe(playerStartPosition.x, playerStartPosition.y);
+        player.setMap(map);
+
+        for (int i = 0; i < warmupTicks; i++) {
+            update(map, player);
+        }
+
+        int ticksPerWave = Math.max(1, ticks / scenario.getWaveCount());
+        long[] tickNanos = new long[ticks];
+        long activeEnemyTotal = 0;
+        long runStartTime = System.nanoTime();
+        for (int i = 0; i < ticks; i++) {
+            if (scenario.getWaveCount() > 1 && i > 0 && i % ticksPerWave == 0) {
+                killAllEnemies(map);
+            }
+            long tickStartTime = System.nanoTime();
+            update(map, player);
+            tickNanos[i] = System.nanoTime() - tickStartTime;
+            activeEnemyTotal += map.getActiveEnemies().size();
+        }
+        long runTime = System.nanoTime() - runStartTime;
+
+        Arrays.sort(tickNanos);
+        return String.format("%-10s %8d %8d %10.1f %11.0f %9.3f %9.3f %9.3f %9.1f",
+                scenario.getWidth() + "x" + scenario.getHeight(),
+                scenario.getWidth() * scenario.getHeight(),
+                scenario.getEnemyCount(),
+                activeEnemyTotal / (double) ticks,
+                ticks / (runTime / 1000000000.0),
+                tickNanos[(int) Math.ceil(0.50 * ticks) - 1] / 1000000.0,
+                tickNanos[(int) Math.ceil(0.99 * ticks) - 1] / 1000000.0,
+                tickNanos[ticks - 1] / 1000000.0,
+                buildTime / 1000000.0);
+    }
+
+    // the same steps a level screen takes each update
+    private static void update(StressMap map, Player player) {
+        GameClock.tick();
+        player.update();
+        map.update(player);
+    }
+
+    // kills off every wave enemy so the next wave gets spawned, and clears out the enemy projectiles still flying around
+    // enemies already marked as removed (such as projectiles that hit something) are waiting to be taken out of the map's list and are left alone
+    private static void killAllEnemies(StressMap map) {
+        for (Enemy enemy : new ArrayList<>(map.getEnemies())) {
+            if (enemy.getMapEntityStatus() == MapEntityStatus.REMOVED) {
+                continue;
+            }
+            if (enemy.isWaveEnemy()) {
+                enemy.die();
+            } else {
+                map.removeEnemy(enemy);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package Stress;
+
+import Builders.FrameBuilder;
+import Builders.MapTileBuilder;
+import GameObject.Frame;
+import Level.TileType;
+import Tilesets.CommonTileset;
+
+import java.util.ArrayList;
+
+// This class is the CommonTileset with a water tile added on the end, since none of the game's tilesets have one
+// generated stress test maps use it so that water tiles get exercised along with every other tile type
+public class StressTileset extends CommonTileset {
+    // tile indexes in the CommonTileset used by generated maps
+    public static final int SKY = 29;
+    public static final int GRASS = 32;
+    public static final int DIRT = 31;
+    public static final int WALL = 30;
+    public static final int SLOPE_DOWN = 2; // ground goes down going right
+    public static final int SLOPE_UP = 3; // ground goes up going right
+    public static final int PLATFORM_LEFT = 52;
+    public static final int PLATFORM_MIDDLE = 53;
+    public static final int PLATFORM_RIGHT = 54;
+
+    @Override
+    public ArrayList<MapTileBuilder> defineTiles() {
+        ArrayList<MapTileBuilder> mapTiles = super.defineTiles();
+
+        // water, drawn using the blue sky image
+        Frame waterFrame = new FrameBuilder(getSubImage(5, 0))
+                .withScale(tileScale)
+                .build();
+
+        MapTileBuilder waterTile = new MapTileBuilder(waterFrame)
+                .withTileType(TileType.WATER);
+        mapTiles.add(waterTile);
+
+        return mapTiles;
+    }
+
+    // the water tile comes after every CommonTileset tile, so it's always the last one
+    public int getWaterIndex() {
+        return getTileCount() - 1;
+    }
+}
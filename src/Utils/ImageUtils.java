@@ -6,28 +6,23 @@ import java.awt.image.*;
 // This class has some useful image methods that are used when loading in images to the game
 public class ImageUtils {
 	// changes desired color to be transparent (the chosen color will not be seen in game when drawn)
+	// every other pixel is made fully opaque
 	public static BufferedImage transformColorToTransparency(BufferedImage image, Color transparentColor) {
-		BufferedImage newImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
-		Graphics2D g = newImage.createGraphics();
+		int width = image.getWidth();
+		int height = image.getHeight();
+		BufferedImage newImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
 		int transparentColorIndex = transparentColor.getRGB();
 
-		// iterates through each pixel of the image
+		// the pixels are read and written a whole row at a time, since doing it pixel by pixel is very slow for large images such as texture atlas pages
 		// if pixel is equal to the transparent color, changes that pixel to be fully transparent
-		for (int i = 0; i < image.getWidth(); i++) {
-			for (int j = 0; j < image.getHeight(); j++) {
-				int rgb = image.getRGB(i, j);
-				if (rgb == transparentColorIndex) {
-					g.setColor(new Color(0, true));
-					g.setComposite(AlphaComposite.getInstance(AlphaComposite.CLEAR));
-				}
-				else {
-					g.setColor(new Color(rgb, false));
-					g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER));
-				}
-				g.drawRect(i, j, 1, 1);
+		int[] row = new int[width];
+		for (int j = 0; j < height; j++) {
+			image.getRGB(0, j, width, 1, row, 0, width);
+			for (int i = 0; i < width; i++) {
+				row[i] = row[i] == transparentColorIndex ? 0 : row[i] | 0xFF000000;
 			}
+			newImage.setRGB(0, j, width, 1, row, 0, width);
 		}
-		g.dispose();
 		return newImage;
 	}
 